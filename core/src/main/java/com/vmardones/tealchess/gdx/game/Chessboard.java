@@ -14,7 +14,6 @@ import com.badlogic.gdx.scenes.scene2d.Group;
 import com.badlogic.gdx.scenes.scene2d.InputEvent;
 import com.badlogic.gdx.scenes.scene2d.utils.ClickListener;
 import com.vmardones.tealchess.board.Board;
-import com.vmardones.tealchess.board.Mailbox;
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.io.assets.AssetLoader;
 import com.vmardones.tealchess.io.settings.SettingManager;
@@ -40,9 +39,8 @@ final class Chessboard extends Group {
 
         for (var square : Square.all()) {
             var coordinate = Coordinate.forSquare(square);
-            var mailbox = new Mailbox(board);
             var clickableSquare = new ClickableSquare(
-                    settings, assets, coordinate, board.colorOf(coordinate), mailbox.pieceAt(coordinate));
+                    settings, assets, coordinate, board.colorOf(coordinate), board.pieceAt(coordinate));
             squares.add(clickableSquare);
             addActor(clickableSquare);
         }
@@ -60,8 +58,7 @@ final class Chessboard extends Group {
         board = newBoard;
 
         for (var square : squares) {
-            var mailbox = new Mailbox(board);
-            var newPiece = mailbox.pieceAt(square.coordinate());
+            var newPiece = board.pieceAt(square.coordinate());
 
             if (!Objects.equals(newPiece, square.piece())) {
                 square.piece(newPiece);
@@ -73,8 +70,7 @@ final class Chessboard extends Group {
         board = newBoard;
 
         for (var square : squares) {
-            var mailbox = new Mailbox(board);
-            var piece = mailbox.pieceAt(square.coordinate());
+            var piece = board.pieceAt(square.coordinate());
             square.reset(piece);
         }
     }
@@ -9,6 +9,9 @@ import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import com.badlogic.gdx.*;
 import com.badlogic.gdx.graphics.GL20;
@@ -20,7 +23,8 @@ import com.vmardones.tealchess.io.assets.AssetLoader;
 import com.vmardones.tealchess.io.export.ScreenshotTaker;
 import com.vmardones.tealchess.io.settings.SettingManager;
 import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.search.NegamaxMoveChooser;
+import com.vmardones.tealchess.search.AlphaBetaMoveChooser;
+import com.vmardones.tealchess.search.SearchLimits;
 import org.jspecify.annotations.Nullable;
 
 public final class GameScreen extends ScreenAdapter {
@@ -38,6 +42,9 @@ public final class GameScreen extends ScreenAdapter {
         INITIAL_TAGS.put("Result", "\\*");
     }
 
+    // The time the AI thinks about every move, in milliseconds
+    private static final long AI_MOVE_TIME = 2000;
+
     private final AssetLoader assets;
     private final SettingManager settings;
     private final GameLogger logger;
@@ -47,6 +54,15 @@ public final class GameScreen extends ScreenAdapter {
     private final PieceAnimator animator;
     private final SquareSelector squareSelector;
     private @Nullable PromotionChooser promotionChooser;
+    private final ThinkingIndicator thinkingIndicator;
+
+    /* AI search, run in the background so the render thread never waits for it */
+    private final AlphaBetaMoveChooser ai =
+            new AlphaBetaMoveChooser(new MaterialEvaluator(), AlphaBetaMoveChooser.MAX_DEPTH);
+    private final ExecutorService aiExecutor = Executors.newSingleThreadExecutor(
+            runnable -> Thread.ofPlatform().name("ai-search").daemon().unstarted(runnable));
+    private @Nullable Future<?> aiSearch;
+    private int aiSearchId;
 
     public GameScreen(SettingManager settings, AssetLoader assets) {
         this.settings = settings;
@@ -69,6 +85,9 @@ public final class GameScreen extends ScreenAdapter {
         squareSelector = new SquareSelector(board);
         stage.addActor(squareSelector);
 
+        thinkingIndicator = new ThinkingIndicator(assets, board);
+        stage.addActor(thinkingIndicator);
+
         stage.addListener(new KeyListener(this, settings, assets, animator));
         stage.addListener(new SquareListener());
         stage.addListener(new AskPromotionListener());
@@ -90,6 +109,8 @@ public final class GameScreen extends ScreenAdapter {
 
     @Override
     public void dispose() {
+        cancelAiSearch();
+        aiExecutor.shutdownNow();
         stage.dispose();
     }
 
@@ -107,6 +128,7 @@ public final class GameScreen extends ScreenAdapter {
     }
 
     void startNewGame() {
+        cancelAiSearch();
         animator.stopAnimations();
         removePromotionSelector();
 
@@ -128,6 +150,11 @@ public final class GameScreen extends ScreenAdapter {
 
     void flipChessboard() {
         board.flip(settings.flipBoard());
+
+        // The search is cancelled and started again, so the AI doesn't play a move the user didn't see coming
+        if (aiSearch != null) {
+            playAiMove();
+        }
     }
 
     String exportFen() {
@@ -144,26 +171,64 @@ public final class GameScreen extends ScreenAdapter {
     }
 
     private Game createNewGame() {
-        var blackAi = new NegamaxMoveChooser(new MaterialEvaluator(), 3);
-        return new Game(INITIAL_TAGS).blackAi(blackAi);
+        return new Game(INITIAL_TAGS).blackAi(ai);
     }
 
+    /**
+     * Start searching the AI's move in the background.
+     * The search works on a snapshot of the game, and the chosen move is handed back to the render thread, where it's
+     * ignored if the search was cancelled in the meantime.
+     */
     private void playAiMove() {
+        cancelAiSearch();
         board.setTouchable(Touchable.disabled);
+        thinkingIndicator.setVisible(true);
 
         Gdx.app.log("AI", "The AI is choosing a move");
 
-        var startTime = System.nanoTime();
-        var aiMove = game.chooseAiMove();
-        var endTime = System.nanoTime();
+        var memento = game.memento();
+        var searchId = aiSearchId;
+
+        aiSearch = aiExecutor.submit(() -> {
+            var startTime = System.nanoTime();
+            var aiMove = ai.chooseMove(memento, SearchLimits.ofMoveTime(AI_MOVE_TIME));
+            var endTime = System.nanoTime();
+
+            var elapsedTime = (float) (endTime - startTime) / 1e9f;
+            Gdx.app.postRunnable(() -> scheduleAiMove(searchId, aiMove, elapsedTime));
+        });
+    }
+
+    /**
+     * Stop the current AI search, if any, and discard its result.
+     * A search that hasn't started yet is dropped. Stopping the AI only affects the search that is running, so it's
+     * safe even if the search has already finished.
+     */
+    private void cancelAiSearch() {
+        aiSearchId++;
+        thinkingIndicator.setVisible(false);
+
+        if (aiSearch != null) {
+            aiSearch.cancel(false);
+            ai.stop();
+        }
+
+        aiSearch = null;
+    }
+
+    private void scheduleAiMove(int searchId, Move aiMove, float elapsedTime) {
+        if (searchId != aiSearchId) {
+            return;
+        }
 
-        var elapsedTime = (float) (endTime - startTime) / 1e9f;
+        aiSearch = null;
+        thinkingIndicator.setVisible(false);
         Gdx.app.debug("AI", "Took " + elapsedTime + " seconds");
 
         var task = new Timer.Task() {
             @Override
             public void run() {
-                if (game.isAiTurn()) {
+                if (searchId == aiSearchId && game.isAiTurn()) {
                     game.makeMove(aiMove);
                     board.showMove(aiMove);
                     board.hideChecked();
@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.gdx.game;
+
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.vmardones.tealchess.io.assets.AssetLoader;
+
+/**
+ * A small animated text above the board, shown while the AI is searching in the background.
+ */
+final class ThinkingIndicator extends Actor {
+
+    private static final String TEXT = "Thinking";
+    private static final int MAX_DOTS = 3;
+    private static final float DOT_DURATION = 0.4f;
+    private static final int PADDING = 8;
+
+    private final AssetLoader assets;
+    private float elapsedTime;
+
+    ThinkingIndicator(AssetLoader assets, Chessboard board) {
+        this.assets = assets;
+
+        setPosition(board.getX(), board.getY() + board.getHeight() + PADDING);
+        setVisible(false);
+    }
+
+    @Override
+    public void act(float delta) {
+        super.act(delta);
+        elapsedTime += delta;
+    }
+
+    @Override
+    public void draw(Batch batch, float parentAlpha) {
+        var dots = (int) (elapsedTime / DOT_DURATION) % (MAX_DOTS + 1);
+        var font = assets.font("light_font");
+
+        font.draw(batch, TEXT + ".".repeat(dots), getX(), getY() + font.getCapHeight());
+    }
+
+    /* Setters */
+
+    @Override
+    public void setVisible(boolean visible) {
+        super.setVisible(visible);
+        elapsedTime = 0;
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the evaluations per second of the board evaluators that don't generate moves.
+ * Every benchmark invocation evaluates a few positions taken from the perft test suite.
+ * The NNUE evaluators use a random network, since only the speed matters here, and the make/unmake benchmark includes
+ * the accumulator updates that a search would pay for.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EvaluatorBenchmark {
+
+    private static final String[] FENS = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    };
+
+    private static final int MOVES_PER_POSITION = 6;
+    private static final int NNUE_HIDDEN_SIZE = 256;
+
+    @Param({"MATERIAL", "TAPERED", "INCREMENTAL_TAPERED", "NNUE", "NNUE_SCALAR"})
+    public String evaluatorName;
+
+    private BoardEvaluator evaluator;
+    private SearchBoard[] boards;
+    private int[][] moves;
+
+    @Setup
+    public void setup() {
+        evaluator = switch (evaluatorName) {
+            case "MATERIAL" -> new MaterialEvaluator();
+            case "TAPERED" -> new TaperedEvaluator();
+            case "INCREMENTAL_TAPERED" -> new IncrementalTaperedEvaluator();
+            case "NNUE" -> new NnueEvaluator(randomNetwork(), NnueEvaluator.VECTOR_API_AVAILABLE);
+            case "NNUE_SCALAR" -> new NnueEvaluator(randomNetwork(), false);
+            default -> throw new IllegalArgumentException("Unknown evaluator: " + evaluatorName);
+        };
+
+        boards = new SearchBoard[FENS.length];
+        moves = new int[FENS.length][MOVES_PER_POSITION];
+
+        var generator = new MaskedLegalGenerator();
+        var legalMoves = new MoveList();
+
+        for (var i = 0; i < FENS.length; i++) {
+            boards[i] = new SearchBoard(FenParser.parse(FENS[i]));
+
+            legalMoves.clear();
+            generator.generate(boards[i], legalMoves);
+
+            for (var j = 0; j < MOVES_PER_POSITION; j++) {
+                moves[i][j] = legalMoves.get(j);
+            }
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(4)
+    public int evaluate() {
+        var result = 0;
+
+        for (var board : boards) {
+            result += evaluator.evaluate(board);
+        }
+
+        return result;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(24)
+    public int makeEvaluateUnmake() {
+        var result = 0;
+
+        for (var i = 0; i < boards.length; i++) {
+            var board = boards[i];
+
+            for (var move : moves[i]) {
+                board.make(move);
+                result += evaluator.evaluate(board);
+                board.unmake();
+            }
+        }
+
+        return result;
+    }
+
+    private static NnueNetwork randomNetwork() {
+        var random = new SplittableRandom(0);
+        var featureWeights = new short[NnueNetwork.FEATURES * NNUE_HIDDEN_SIZE];
+        var hiddenBiases = new short[NNUE_HIDDEN_SIZE];
+        var outputWeights = new short[2 * NNUE_HIDDEN_SIZE];
+
+        for (var i = 0; i < featureWeights.length; i++) {
+            featureWeights[i] = (short) random.nextInt(-64, 64);
+        }
+
+        for (var i = 0; i < outputWeights.length; i++) {
+            outputWeights[i] = (short) random.nextInt(-128, 128);
+        }
+
+        return new NnueNetwork(NNUE_HIDDEN_SIZE, featureWeights, hiddenBiases, outputWeights, (short) 0);
+    }
+}
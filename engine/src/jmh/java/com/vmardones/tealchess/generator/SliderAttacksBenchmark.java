@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import java.util.concurrent.TimeUnit;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the throughput of the available slider attack calculations.
+ * Every benchmark invocation calculates diagonal and orthogonal attacks from all squares, for the occupancies of a few
+ * positions taken from the perft test suite.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SliderAttacksBenchmark {
+
+    private static final String[] FENS = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    };
+    private static final int OPERATIONS = 4 * 2 * Board.NUMBER_OF_SQUARES;
+
+    @Param({"MAGIC_BITBOARDS", "HYPERBOLA_QUINTESSENCE"})
+    public String method;
+
+    private SliderAttacks sliderAttacks;
+    private long[] occupancies;
+
+    @Setup
+    public void setup() {
+        sliderAttacks = SliderAttacks.valueOf(method);
+        occupancies = new long[FENS.length];
+
+        for (var i = 0; i < FENS.length; i++) {
+            occupancies[i] = new SearchBoard(FenParser.parse(FENS[i])).occupiedSquares();
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(OPERATIONS)
+    public long attacks() {
+        var result = 0L;
+
+        for (var occupiedSquares : occupancies) {
+            for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+                result ^= sliderAttacks.diagonalAttacks(square, occupiedSquares);
+                result ^= sliderAttacks.orthogonalAttacks(square, occupiedSquares);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import java.util.concurrent.TimeUnit;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.evaluation.MaterialEvaluator;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.generator.AttackGenerator;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import com.vmardones.tealchess.player.PlayerFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the nodes per second of the alpha-beta search scale with the number of threads.
+ * Every benchmark invocation searches a few positions taken from the perft test suite, with an empty transposition
+ * table. The "nodes" counter reports the nodes per second, which should grow close to linearly up to the number of
+ * physical cores.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LazySmpBenchmark {
+
+    private static final String[] FENS = {
+        "rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1",
+        "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+        "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+        "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1"
+    };
+    private static final int DEPTH = 6;
+    private static final int TABLE_SIZE = 64;
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    private GameMemento[] mementos;
+    private AlphaBetaMoveChooser chooser;
+
+    @Setup
+    public void setup() {
+        var playerFactory = new PlayerFactory(new AttackGenerator(), new MaskedLegalGenerator());
+        mementos = new GameMemento[FENS.length];
+
+        for (var i = 0; i < FENS.length; i++) {
+            var position = FenParser.parse(FENS[i]);
+            var whitePlayer = playerFactory.create(position, Color.WHITE);
+            var blackPlayer = playerFactory.create(position, Color.BLACK);
+            mementos[i] = new GameMemento(position, whitePlayer, blackPlayer, null);
+        }
+
+        var table = new TranspositionTable(TABLE_SIZE);
+        chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), DEPTH, table, threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void clearTable() {
+        chooser.transpositionTable().clear();
+    }
+
+    @Benchmark
+    public void search(NodeCounter counter) {
+        for (var memento : mementos) {
+            chooser.chooseMove(memento);
+            counter.nodes += chooser.nodes();
+        }
+    }
+
+    /** Reports the searched nodes as a rate, next to the benchmark's own throughput. */
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class NodeCounter {
+        public long nodes;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            nodes = 0;
+        }
+    }
+}
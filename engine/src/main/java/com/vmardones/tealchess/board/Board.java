@@ -45,6 +45,11 @@ public final class Board implements Unicode {
     // TODO: Move this comment to implementation details document
     // Arrays of bitboards: https://www.chessprogramming.org/Bitboard_Board-Definition#Array
     private final long[][] bitboards;
+    // Aggregated bitboards, which are derived from the piece bitboards and only kept to speed up queries
+    private final long[] pieces;
+    private final long occupiedSquares;
+    // Square centric representation, with a piece code per square, which is kept in sync with the bitboards
+    private final byte[] mailbox;
 
     /* Building the board */
 
@@ -62,7 +67,63 @@ public final class Board implements Unicode {
     }
 
     public static Board fromBitboards(long[][] bitboards) {
-        return new Board(bitboards);
+        var pieces = new long[Color.values().length];
+        var mailbox = new byte[NUMBER_OF_SQUARES];
+
+        for (var pieceType = 0; pieceType < bitboards.length; pieceType++) {
+            for (var side = 0; side < pieces.length; side++) {
+                var bitboard = bitboards[pieceType][side];
+                pieces[side] |= bitboard;
+
+                while (bitboard != 0) {
+                    mailbox[Long.numberOfTrailingZeros(bitboard)] = PieceCode.encode(pieceType, side);
+                    bitboard &= bitboard - 1;
+                }
+            }
+        }
+
+        return new Board(bitboards, pieces, mailbox);
+    }
+
+    /**
+     * Create a board from bitboards whose aggregated bitboards and mailbox were already calculated.
+     * @param bitboards The piece bitboards.
+     * @param pieces The bitboards with all the pieces of each color.
+     * @param mailbox The piece code of every square.
+     * @return The board.
+     */
+    static Board fromBitboards(long[][] bitboards, long[] pieces, byte[] mailbox) {
+        return new Board(bitboards, pieces, mailbox);
+    }
+
+    /* Checking the board */
+
+    /**
+     * Get the piece located at a specific coordinate.
+     * @param coordinate The coordinate to search.
+     * @return The piece found, or null if the square is empty.
+     */
+    public @Nullable Piece pieceAt(Coordinate coordinate) {
+        return pieceAt(coordinate.squareIndex());
+    }
+
+    /**
+     * Get the piece located at a specific square.
+     * This is a single array read, and the returned piece is a shared instance.
+     * @param square The square to search.
+     * @return The piece found, or null if the square is empty.
+     */
+    public @Nullable Piece pieceAt(int square) {
+        return PieceCode.decode(mailbox[square], square);
+    }
+
+    /**
+     * Check if a specific square is empty.
+     * @param square The square to check.
+     * @return True if the square doesn't have a piece.
+     */
+    public boolean isEmpty(int square) {
+        return mailbox[square] == PieceCode.EMPTY;
     }
 
     /**
@@ -87,7 +148,6 @@ public final class Board implements Unicode {
         return BitboardManipulator.isSet(LIGHT_SQUARES, square) ? WHITE : BLACK;
     }
 
-    // TODO: Move this method to mailbox
     /**
      * Represent a square using Unicode characters.
      * This returns the piece's Unicode representation or a white/black square character for empty squares.
@@ -95,8 +155,7 @@ public final class Board implements Unicode {
      * @return Unicode representation of the square.
      */
     public String squareAsUnicode(int square) {
-        var mailbox = new Mailbox(this);
-        var piece = mailbox.pieceAt(square);
+        var piece = pieceAt(square);
 
         if (piece == null) {
             return colorOf(square).unicode();
@@ -140,34 +199,20 @@ public final class Board implements Unicode {
     }
 
     public long occupiedSquares() {
-        return pawns(WHITE)
-                | pawns(BLACK)
-                | knights(WHITE)
-                | knights(BLACK)
-                | bishops(WHITE)
-                | bishops(BLACK)
-                | rooks(WHITE)
-                | rooks(BLACK)
-                | queens(WHITE)
-                | queens(BLACK)
-                | kings(WHITE)
-                | kings(BLACK);
+        return occupiedSquares;
+    }
+
+    public long pieces(Color color) {
+        return pieces[color.ordinal()];
     }
 
     public long capturablePieces(Color attacker) {
         var opposite = attacker.opposite();
-        return pawns(opposite) | knights(opposite) | bishops(opposite) | rooks(opposite) | queens(opposite);
+        return pieces[opposite.ordinal()] & ~kings(opposite);
     }
 
     public long notCapturablePieces(Color attacker) {
-        var opposite = attacker.opposite();
-        return pawns(attacker)
-                | knights(attacker)
-                | bishops(attacker)
-                | rooks(attacker)
-                | queens(attacker)
-                | kings(attacker)
-                | kings(opposite);
+        return pieces[attacker.ordinal()] | kings(attacker.opposite());
     }
 
     // TODO: Consider moving this to other class
@@ -198,6 +243,10 @@ public final class Board implements Unicode {
         return bitboards;
     }
 
+    byte[] mailbox() {
+        return mailbox;
+    }
+
     private static Board createInitialBoard() {
         var builder = Board.builder(e1, e8);
 
@@ -229,11 +278,14 @@ public final class Board implements Unicode {
     }
 
     private Board(BoardBuilder builder) {
-        bitboards = builder.bitboards;
+        this(builder.bitboards, builder.pieces.clone(), builder.mailbox.clone());
     }
 
-    private Board(long[][] bitboards) {
+    private Board(long[][] bitboards, long[] pieces, byte[] mailbox) {
         this.bitboards = bitboards;
+        this.pieces = pieces;
+        this.mailbox = mailbox;
+        occupiedSquares = pieces[WHITE.ordinal()] | pieces[BLACK.ordinal()];
     }
 
     /* equals and hashCode */
@@ -254,7 +306,7 @@ public final class Board implements Unicode {
 
     @Override
     public int hashCode() {
-        return Objects.hash(Arrays.deepHashCode(bitboards));
+        return Arrays.deepHashCode(bitboards);
     }
 
     /**
@@ -263,6 +315,8 @@ public final class Board implements Unicode {
     public static class BoardBuilder {
 
         private final long[][] bitboards;
+        private final long[] pieces;
+        private final byte[] mailbox;
         private final Piece whiteKing;
         private final Piece blackKing;
 
@@ -281,11 +335,15 @@ public final class Board implements Unicode {
 
             var typeIndex = piece.type().ordinal();
             var sideIndex = piece.color().ordinal();
+            var square = piece.square();
+
+            without(square);
 
             var bitboard = bitboards[typeIndex][sideIndex];
-            var square = piece.square();
 
             bitboards[typeIndex][sideIndex] = BitboardManipulator.set(bitboard, square);
+            pieces[sideIndex] = BitboardManipulator.set(pieces[sideIndex], square);
+            mailbox[square] = PieceCode.encode(typeIndex, sideIndex);
             return this;
         }
 
@@ -313,6 +371,13 @@ public final class Board implements Unicode {
                     bitboards[pieceType.ordinal()][color.ordinal()] = BitboardManipulator.clear(bitboard, square);
                 }
             }
+
+            for (var color : Color.values()) {
+                pieces[color.ordinal()] = BitboardManipulator.clear(pieces[color.ordinal()], square);
+            }
+
+            mailbox[square] = PieceCode.EMPTY;
+
             return this;
         }
 
@@ -329,6 +394,8 @@ public final class Board implements Unicode {
 
         private BoardBuilder(int whiteKingSquare, int blackKingSquare) {
             bitboards = new long[PieceType.values().length][Color.values().length];
+            pieces = new long[Color.values().length];
+            mailbox = new byte[NUMBER_OF_SQUARES];
             whiteKing = new Piece(KING, WHITE, whiteKingSquare);
             blackKing = new Piece(KING, BLACK, blackKingSquare);
         }
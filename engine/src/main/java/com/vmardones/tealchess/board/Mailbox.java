@@ -5,25 +5,26 @@
 
 package com.vmardones.tealchess.board;
 
-import static com.vmardones.tealchess.board.BitboardManipulator.*;
 import static java.util.Collections.unmodifiableList;
 
 import java.util.Arrays;
 import java.util.List;
 
-import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.piece.Piece;
-import com.vmardones.tealchess.piece.PieceType;
 import com.vmardones.tealchess.square.Coordinate;
 import org.jspecify.annotations.Nullable;
 
+/**
+ * A list-based view of the pieces in a board, indexed by square.
+ * Prefer {@link Board#pieceAt(int)} for single lookups, since it doesn't need to copy the whole board.
+ */
 public class Mailbox {
 
     public static final Mailbox INITIAL_MAILBOX = new Mailbox(Board.INITIAL_BOARD);
     private final List<@Nullable Piece> pieces;
 
     public Mailbox(Board board) {
-        pieces = loadMailbox(board.bitboards());
+        pieces = loadMailbox(board);
     }
 
     /* Checking the board */
@@ -64,27 +65,11 @@ public class Mailbox {
         return unmodifiableList(pieces);
     }
 
-    private List<Piece> loadMailbox(long[][] bitboards) {
+    private List<@Nullable Piece> loadMailbox(Board board) {
         var arrayMailbox = new Piece[Board.NUMBER_OF_SQUARES];
 
-        for (var pieceType : PieceType.values()) {
-            for (var color : Color.values()) {
-
-                var bitboard = bitboards[pieceType.ordinal()][color.ordinal()];
-
-                if (bitboard == 0) {
-                    continue;
-                }
-
-                var nextBit = firstBit(bitboard);
-
-                do {
-                    arrayMailbox[nextBit] = new Piece(pieceType, color, nextBit);
-
-                    bitboard = clear(bitboard, nextBit);
-                    nextBit = firstBit(bitboard);
-                } while (isSet(bitboard, nextBit));
-            }
+        for (var square = 0; square < arrayMailbox.length; square++) {
+            arrayMailbox[square] = board.pieceAt(square);
         }
 
         return Arrays.asList(arrayMailbox);
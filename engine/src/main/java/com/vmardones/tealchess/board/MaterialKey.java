@@ -0,0 +1,68 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * Material signatures, which identify the material of a position with a 64-bit key.
+ * The key packs the number of pieces of every type and color in 4 bits each, so positions share a key if and only if
+ * they have the same material. Adding or removing a piece adds or subtracts a constant, so the key can be updated
+ * incrementally when a move captures or promotes.
+ * @see <a href="https://www.chessprogramming.org/Material_Hash_Table">Material Hash Table</a>
+ */
+public final class MaterialKey {
+
+    private static final int BITS_PER_COUNT = 4;
+    private static final int COUNT_MASK = (1 << BITS_PER_COUNT) - 1;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    /**
+     * Get the amount the key changes by when a piece is added to the board, or removed from it.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @return The piece's key.
+     */
+    public static long piece(int pieceType, int color) {
+        return 1L << shift(pieceType, color);
+    }
+
+    /**
+     * Get the number of pieces of a type and color.
+     * @param key The material key.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the pieces' color.
+     * @return The number of pieces.
+     */
+    public static int count(long key, int pieceType, int color) {
+        return (int) (key >>> shift(pieceType, color)) & COUNT_MASK;
+    }
+
+    /**
+     * Calculate the material key of a search board's current position from scratch.
+     * @param board The search board.
+     * @return The position's material key.
+     */
+    public static long key(SearchBoard board) {
+        var key = 0L;
+
+        for (var pieceType : PIECE_TYPES) {
+            for (var color : COLORS) {
+                key += Long.bitCount(board.bitboard(pieceType, color)) * piece(pieceType.ordinal(), color.ordinal());
+            }
+        }
+
+        return key;
+    }
+
+    private static int shift(int pieceType, int color) {
+        return (pieceType * COLORS.length + color) * BITS_PER_COUNT;
+    }
+
+    private MaterialKey() {}
+}
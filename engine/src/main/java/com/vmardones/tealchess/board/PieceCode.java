@@ -0,0 +1,55 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.Piece;
+import com.vmardones.tealchess.piece.PieceType;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The contents of a square packed into a byte, which is what the boards store in their mailboxes.
+ * The lowest 3 bits hold the piece type's ordinal plus one, and the fourth bit holds the color's ordinal.
+ * An empty square is always 0.
+ * @see <a href="https://www.chessprogramming.org/Pieces#Piece_Coding">Piece Coding</a>
+ */
+final class PieceCode {
+
+    static final byte EMPTY = 0;
+
+    private static final int TYPE_MASK = 0b111;
+    private static final int COLOR_SHIFT = 3;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    static byte encode(int pieceType, int color) {
+        return (byte) (color << COLOR_SHIFT | (pieceType + 1));
+    }
+
+    static int pieceType(byte code) {
+        return (code & TYPE_MASK) - 1;
+    }
+
+    static int color(byte code) {
+        return code >>> COLOR_SHIFT;
+    }
+
+    /**
+     * Get the piece described by a code, taken from the shared piece instances.
+     * @param code The piece code.
+     * @param square The square where the piece stands.
+     * @return The piece, or null if the code represents an empty square.
+     */
+    static @Nullable Piece decode(byte code, int square) {
+        if (code == EMPTY) {
+            return null;
+        }
+
+        return Piece.of(PIECE_TYPES[pieceType(code)], COLORS[color(code)], square);
+    }
+
+    private PieceCode() {}
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+/**
+ * Gets notified of every piece that is added to or removed from a search board, while moves are made and unmade.
+ * Meant for state that is updated incrementally outside the board, like the accumulator of a neural network.
+ * A moved piece is removed from its source square and then added to its destination square.
+ */
+public interface PieceListener {
+    /**
+     * Called after a piece is added to the board.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The square where the piece was added.
+     */
+    void pieceAdded(int pieceType, int color, int square);
+
+    /**
+     * Called after a piece is removed from the board.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The square where the piece was removed from.
+     */
+    void pieceRemoved(int pieceType, int color, int square);
+}
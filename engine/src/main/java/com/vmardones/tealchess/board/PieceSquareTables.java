@@ -0,0 +1,185 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * Piece-square tables, which give every piece type a bonus or a penalty on every square, in centipawns.
+ * The tables are written from white's point of view, with the 8th rank first, and mirrored vertically for black.
+ * <p>
+ * There are two sets of tables: one for the middlegame and one for the endgame. They only differ for pawns, which are
+ * worth more the closer they get to promotion, and for the king, which should hide in the middlegame but move to the
+ * center in the endgame. The score of a position is a blend of both, weighted by the game phase: the non-pawn material
+ * left on the board.
+ * @see <a href="https://www.chessprogramming.org/Tapered_Eval">Tapered Eval</a>
+ * @see <a href="https://www.chessprogramming.org/Piece-Square_Tables">Piece-Square Tables</a>
+ * @see <a href="https://www.chessprogramming.org/Simplified_Evaluation_Function">Simplified Evaluation Function</a>
+ */
+public final class PieceSquareTables {
+
+    /** The phase of a position with all the pieces, or more. A phase of 0 means only kings and pawns are left. */
+    public static final int MAX_PHASE = 24;
+
+    // Flips the rank of a square, which turns a1 into a8
+    private static final int MIRROR = 56;
+    // Indexed by piece type. The king's value is left out, since both sides always have one
+    private static final int[] PIECE_VALUES = {100, 320, 330, 500, 900, 0};
+    private static final int[] PHASE_WEIGHTS = {0, 1, 1, 2, 4, 0};
+
+    private static final int[] PAWN = {
+        0, 0, 0, 0, 0, 0, 0, 0,
+        50, 50, 50, 50, 50, 50, 50, 50,
+        10, 10, 20, 30, 30, 20, 10, 10,
+        5, 5, 10, 25, 25, 10, 5, 5,
+        0, 0, 0, 20, 20, 0, 0, 0,
+        5, -5, -10, 0, 0, -10, -5, 5,
+        5, 10, 10, -20, -20, 10, 10, 5,
+        0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] PAWN_ENDGAME = {
+        0, 0, 0, 0, 0, 0, 0, 0,
+        80, 80, 80, 80, 80, 80, 80, 80,
+        50, 50, 50, 50, 50, 50, 50, 50,
+        30, 30, 30, 30, 30, 30, 30, 30,
+        20, 20, 20, 20, 20, 20, 20, 20,
+        10, 10, 10, 10, 10, 10, 10, 10,
+        0, 0, 0, 0, 0, 0, 0, 0,
+        0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    private static final int[] KNIGHT = {
+        -50, -40, -30, -30, -30, -30, -40, -50,
+        -40, -20, 0, 0, 0, 0, -20, -40,
+        -30, 0, 10, 15, 15, 10, 0, -30,
+        -30, 5, 15, 20, 20, 15, 5, -30,
+        -30, 0, 15, 20, 20, 15, 0, -30,
+        -30, 5, 10, 15, 15, 10, 5, -30,
+        -40, -20, 0, 5, 5, 0, -20, -40,
+        -50, -40, -30, -30, -30, -30, -40, -50
+    };
+
+    private static final int[] BISHOP = {
+        -20, -10, -10, -10, -10, -10, -10, -20,
+        -10, 0, 0, 0, 0, 0, 0, -10,
+        -10, 0, 5, 10, 10, 5, 0, -10,
+        -10, 5, 5, 10, 10, 5, 5, -10,
+        -10, 0, 10, 10, 10, 10, 0, -10,
+        -10, 10, 10, 10, 10, 10, 10, -10,
+        -10, 5, 0, 0, 0, 0, 5, -10,
+        -20, -10, -10, -10, -10, -10, -10, -20
+    };
+
+    private static final int[] ROOK = {
+        0, 0, 0, 0, 0, 0, 0, 0,
+        5, 10, 10, 10, 10, 10, 10, 5,
+        -5, 0, 0, 0, 0, 0, 0, -5,
+        -5, 0, 0, 0, 0, 0, 0, -5,
+        -5, 0, 0, 0, 0, 0, 0, -5,
+        -5, 0, 0, 0, 0, 0, 0, -5,
+        -5, 0, 0, 0, 0, 0, 0, -5,
+        0, 0, 0, 5, 5, 0, 0, 0
+    };
+
+    private static final int[] QUEEN = {
+        -20, -10, -10, -5, -5, -10, -10, -20,
+        -10, 0, 0, 0, 0, 0, 0, -10,
+        -10, 0, 5, 5, 5, 5, 0, -10,
+        -5, 0, 5, 5, 5, 5, 0, -5,
+        0, 0, 5, 5, 5, 5, 0, -5,
+        -10, 5, 5, 5, 5, 5, 0, -10,
+        -10, 0, 5, 0, 0, 0, 0, -10,
+        -20, -10, -10, -5, -5, -10, -10, -20
+    };
+
+    private static final int[] KING_MIDDLEGAME = {
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -30, -40, -40, -50, -50, -40, -40, -30,
+        -20, -30, -30, -40, -40, -30, -30, -20,
+        -10, -20, -20, -20, -20, -20, -20, -10,
+        20, 20, 0, 0, 0, 0, 20, 20,
+        20, 30, 10, 0, 0, 10, 30, 20
+    };
+
+    private static final int[] KING_ENDGAME = {
+        -50, -40, -30, -20, -20, -30, -40, -50,
+        -30, -20, -10, 0, 0, -10, -20, -30,
+        -30, -10, 20, 30, 30, 20, -10, -30,
+        -30, -10, 30, 40, 40, 30, -10, -30,
+        -30, -10, 30, 40, 40, 30, -10, -30,
+        -30, -10, 20, 30, 30, 20, -10, -30,
+        -30, -30, 0, 0, 0, 0, -30, -30,
+        -50, -30, -30, -30, -30, -30, -30, -50
+    };
+
+    // Indexed by piece type, color and square, with the piece's value included
+    private static final int[][][] MIDDLEGAME = createScores(PAWN, KNIGHT, BISHOP, ROOK, QUEEN, KING_MIDDLEGAME);
+    private static final int[][][] ENDGAME = createScores(PAWN_ENDGAME, KNIGHT, BISHOP, ROOK, QUEEN, KING_ENDGAME);
+
+    /**
+     * Get the middlegame score of a piece standing on a square.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The square.
+     * @return The piece's value plus its square's bonus, from the point of view of its own side.
+     */
+    public static int middlegame(int pieceType, int color, int square) {
+        return MIDDLEGAME[pieceType][color][square];
+    }
+
+    /**
+     * Get the endgame score of a piece standing on a square.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The square.
+     * @return The piece's value plus its square's bonus, from the point of view of its own side.
+     */
+    public static int endgame(int pieceType, int color, int square) {
+        return ENDGAME[pieceType][color][square];
+    }
+
+    /**
+     * Get how much a piece counts towards the game phase.
+     * @param pieceType The ordinal of the piece type.
+     * @return The piece's phase weight.
+     */
+    public static int phase(int pieceType) {
+        return PHASE_WEIGHTS[pieceType];
+    }
+
+    /**
+     * Blend a middlegame and an endgame score by the game phase.
+     * Positions with promoted pieces can exceed the maximum phase, and count as pure middlegame.
+     * @param middlegame The middlegame score.
+     * @param endgame The endgame score.
+     * @param phase The game phase.
+     * @return The tapered score.
+     */
+    public static int taper(int middlegame, int endgame, int phase) {
+        var weight = Math.min(phase, MAX_PHASE);
+        return (middlegame * weight + endgame * (MAX_PHASE - weight)) / MAX_PHASE;
+    }
+
+    private static int[][][] createScores(int[]... tables) {
+        var scores = new int[PieceType.values().length][Color.values().length][Board.NUMBER_OF_SQUARES];
+
+        for (var pieceType = 0; pieceType < tables.length; pieceType++) {
+            for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+                var value = PIECE_VALUES[pieceType];
+                scores[pieceType][Color.WHITE.ordinal()][square] = value + tables[pieceType][square ^ MIRROR];
+                scores[pieceType][Color.BLACK.ordinal()][square] = value + tables[pieceType][square];
+            }
+        }
+
+        return scores;
+    }
+
+    private PieceSquareTables() {}
+}
@@ -0,0 +1,669 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.piece.PieceType.*;
+
+import java.util.Arrays;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.piece.PieceType;
+import com.vmardones.tealchess.position.CastlingRights;
+import com.vmardones.tealchess.position.Position;
+import com.vmardones.tealchess.position.Zobrist;
+import com.vmardones.tealchess.square.Square;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * A mutable chess position, meant to be used by performance-critical code like perft and search.
+ * Moves are made and unmade in place, so traversing the game tree doesn't create new boards or positions.
+ * <p>
+ * Only the bitboards touched by a move are updated.
+ * The state that can't be recovered from the move itself (captured piece, castling rights, en passant target and halfmove clock)
+ * is pushed onto a preallocated stack, indexed by ply, and restored when the move is unmade.
+ * The Zobrist key, the pawn key, the material key, the per-color and total occupancy and the mailbox are updated
+ * incrementally in the same way.
+ * So are the material, the middlegame and endgame piece-square scores of each side and the game phase, so evaluating a
+ * position doesn't need to scan the board.
+ * @see <a href="https://www.chessprogramming.org/Make_Move">Make Move</a>
+ * @see <a href="https://www.chessprogramming.org/Unmake_Move">Unmake Move</a>
+ * @see <a href="https://www.chessprogramming.org/Irreversible_Moves">Irreversible Moves</a>
+ */
+public final class SearchBoard {
+
+    /** The maximum number of moves that can be made on top of the starting position before unmaking them. */
+    public static final int MAX_PLY = 256;
+    /** Returned as the en passant target when no en passant capture is possible. */
+    public static final int NO_EN_PASSANT_TARGET = -1;
+    /** Returned as the piece type of an empty square. */
+    public static final int NO_PIECE = -1;
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final int[] PIECE_VALUES = Arrays.stream(PIECE_TYPES).mapToInt(PieceType::value).toArray();
+    private static final int PAWN_PUSH_OFFSET = 8;
+    private static final int SHORT_ROOK_OFFSET = 1;
+    private static final int LONG_ROOK_OFFSET = -2;
+
+    private static final int WHITE_SHORT = 1;
+    private static final int WHITE_LONG = 2;
+    private static final int BLACK_SHORT = 4;
+    private static final int BLACK_LONG = 8;
+    private static final int[] CASTLING_MASKS = createCastlingMasks();
+    private static final CastlingRights[] CASTLING_RIGHTS = createCastlingRights();
+    private static final long[] CASTLING_KEYS = createCastlingKeys();
+
+    private final long[][] bitboards = new long[PIECE_TYPES.length][Color.values().length];
+    private final long[] pieces = new long[Color.values().length];
+    private long occupiedSquares;
+    private final byte[] mailbox;
+    private final int[] material = new int[Color.values().length];
+    private final int[] middlegameScores = new int[Color.values().length];
+    private final int[] endgameScores = new int[Color.values().length];
+    private int phase;
+    private Color sideToMove;
+    private int castlingRights;
+    private int enPassantTarget;
+    private int halfmoveClock;
+    private int fullmoveCounter;
+    private long hash;
+    private long pawnHash;
+    private long materialKey;
+    private @Nullable PieceListener pieceListener;
+    private int ply;
+
+    /* Undo stack */
+    private final int[] moveStack = new int[MAX_PLY];
+    private final int[] capturedStack = new int[MAX_PLY];
+    private final int[] castlingStack = new int[MAX_PLY];
+    private final int[] enPassantStack = new int[MAX_PLY];
+    private final int[] halfmoveStack = new int[MAX_PLY];
+    private final long[] hashStack = new long[MAX_PLY];
+
+    /**
+     * Create a search board with the same contents as an immutable position.
+     * @param position The starting position.
+     */
+    public SearchBoard(Position position) {
+        var board = position.board();
+
+        for (var pieceType : PIECE_TYPES) {
+            for (var color : Color.values()) {
+                bitboards[pieceType.ordinal()][color.ordinal()] = board.bitboard(pieceType, color);
+            }
+        }
+
+        for (var color : Color.values()) {
+            pieces[color.ordinal()] = board.pieces(color);
+        }
+
+        occupiedSquares = board.occupiedSquares();
+        mailbox = board.mailbox().clone();
+
+        for (var side = 0; side < material.length; side++) {
+            material[side] = countMaterial(side);
+            middlegameScores[side] = countMiddlegameScore(side);
+            endgameScores[side] = countEndgameScore(side);
+        }
+
+        phase = countPhase();
+
+        sideToMove = position.sideToMove();
+
+        var rights = position.castlingRights();
+        castlingRights = (rights.whiteShort() ? WHITE_SHORT : 0)
+                | (rights.whiteLong() ? WHITE_LONG : 0)
+                | (rights.blackShort() ? BLACK_SHORT : 0)
+                | (rights.blackLong() ? BLACK_LONG : 0);
+
+        var target = position.enPassantTarget();
+        enPassantTarget = target == null ? NO_EN_PASSANT_TARGET : target;
+
+        halfmoveClock = position.halfmoveClock();
+        fullmoveCounter = position.fullmoveCounter();
+        hash = position.hash();
+        pawnHash = Zobrist.pawnHash(this);
+        materialKey = MaterialKey.key(this);
+    }
+
+    /* Making and unmaking moves */
+
+    /**
+     * Make a move, updating this board in place.
+     * The move must be pseudo-legal for the current position.
+     * @param move The move to make.
+     */
+    public void make(Move move) {
+        make(EncodedMove.encode(move));
+    }
+
+    /**
+     * Make an encoded move, updating this board in place.
+     * The move must be pseudo-legal for the current position.
+     * @param move The encoded move to make.
+     * @see EncodedMove
+     */
+    public void make(int move) {
+        var source = EncodedMove.source(move);
+        var destination = EncodedMove.destination(move);
+        var type = EncodedMove.type(move);
+        var us = sideToMove.ordinal();
+        var them = sideToMove.opposite().ordinal();
+
+        moveStack[ply] = move;
+        castlingStack[ply] = castlingRights;
+        enPassantStack[ply] = enPassantTarget;
+        halfmoveStack[ply] = halfmoveClock;
+        hashStack[ply] = hash;
+
+        hash ^= CASTLING_KEYS[castlingRights] ^ Zobrist.enPassant(enPassantTarget);
+
+        var captureSquare = type == EN_PASSANT ? enPassantPawn(destination, sideToMove) : destination;
+        var captured = pieceAt(captureSquare, them);
+        capturedStack[ply] = captured;
+
+        if (captured != NO_PIECE) {
+            removePiece(captured, them, captureSquare);
+            hash ^= Zobrist.piece(captured, them, captureSquare);
+        }
+
+        var moved = pieceAt(source, us);
+        var placed = EncodedMove.isPromotion(move) ? EncodedMove.promotionType(move) : moved;
+
+        removePiece(moved, us, source);
+        addPiece(placed, us, destination);
+        hash ^= Zobrist.piece(moved, us, source) ^ Zobrist.piece(placed, us, destination);
+
+        if (type == SHORT_CASTLE) {
+            moveRook(us, destination + SHORT_ROOK_OFFSET, destination - 1);
+        } else if (type == LONG_CASTLE) {
+            moveRook(us, destination + LONG_ROOK_OFFSET, destination + 1);
+        }
+
+        castlingRights &= CASTLING_MASKS[source] & CASTLING_MASKS[destination];
+        enPassantTarget = type == DOUBLE_PUSH ? (source + destination) / 2 : NO_EN_PASSANT_TARGET;
+        halfmoveClock = moved == PAWN.ordinal() || captured != NO_PIECE ? 0 : halfmoveClock + 1;
+        hash ^= CASTLING_KEYS[castlingRights] ^ Zobrist.enPassant(enPassantTarget) ^ Zobrist.blackToMove();
+
+        if (sideToMove.isBlack()) {
+            fullmoveCounter++;
+        }
+
+        sideToMove = sideToMove.opposite();
+        ply++;
+
+        assert hash == Zobrist.hash(this) : "Incremental Zobrist key doesn't match the position";
+        assert aggregatesMatch() : "Incremental occupancy or mailbox doesn't match the bitboards";
+    }
+
+    /**
+     * Unmake the last move made on this board, restoring the previous position.
+     */
+    public void unmake() {
+        if (ply == 0) {
+            throw new IllegalStateException("There are no moves to unmake");
+        }
+
+        ply--;
+        sideToMove = sideToMove.opposite();
+
+        if (sideToMove.isBlack()) {
+            fullmoveCounter--;
+        }
+
+        var move = moveStack[ply];
+        var source = EncodedMove.source(move);
+        var destination = EncodedMove.destination(move);
+        var type = EncodedMove.type(move);
+        var us = sideToMove.ordinal();
+        var them = sideToMove.opposite().ordinal();
+
+        var placed = pieceAt(destination, us);
+        var moved = EncodedMove.isPromotion(move) ? PAWN.ordinal() : placed;
+
+        removePiece(placed, us, destination);
+        addPiece(moved, us, source);
+
+        if (type == SHORT_CASTLE) {
+            moveRook(us, destination - 1, destination + SHORT_ROOK_OFFSET);
+        } else if (type == LONG_CASTLE) {
+            moveRook(us, destination + 1, destination + LONG_ROOK_OFFSET);
+        }
+
+        var captured = capturedStack[ply];
+
+        if (captured != NO_PIECE) {
+            var captureSquare = type == EN_PASSANT ? enPassantPawn(destination, sideToMove) : destination;
+            addPiece(captured, them, captureSquare);
+        }
+
+        castlingRights = castlingStack[ply];
+        enPassantTarget = enPassantStack[ply];
+        halfmoveClock = halfmoveStack[ply];
+        hash = hashStack[ply];
+
+        assert aggregatesMatch() : "Incremental occupancy or mailbox doesn't match the bitboards";
+    }
+
+    /**
+     * Pass the turn to the opponent without moving, which is what null move pruning needs.
+     * Passing isn't a legal move, so this must only be used inside a search, and undone with {@link #unmakeNullMove()}.
+     * @see <a href="https://www.chessprogramming.org/Null_Move">Null Move</a>
+     */
+    public void makeNullMove() {
+        moveStack[ply] = EncodedMove.NONE;
+        capturedStack[ply] = NO_PIECE;
+        castlingStack[ply] = castlingRights;
+        enPassantStack[ply] = enPassantTarget;
+        halfmoveStack[ply] = halfmoveClock;
+        hashStack[ply] = hash;
+
+        hash ^= Zobrist.enPassant(enPassantTarget) ^ Zobrist.blackToMove();
+        enPassantTarget = NO_EN_PASSANT_TARGET;
+        halfmoveClock++;
+
+        if (sideToMove.isBlack()) {
+            fullmoveCounter++;
+        }
+
+        sideToMove = sideToMove.opposite();
+        ply++;
+
+        assert hash == Zobrist.hash(this) : "Incremental Zobrist key doesn't match the position";
+    }
+
+    /**
+     * Undo a null move, giving the turn back.
+     */
+    public void unmakeNullMove() {
+        if (ply == 0 || moveStack[ply - 1] != EncodedMove.NONE) {
+            throw new IllegalStateException("The last move wasn't a null move");
+        }
+
+        ply--;
+        sideToMove = sideToMove.opposite();
+
+        if (sideToMove.isBlack()) {
+            fullmoveCounter--;
+        }
+
+        enPassantTarget = enPassantStack[ply];
+        halfmoveClock = halfmoveStack[ply];
+        hash = hashStack[ply];
+    }
+
+    /**
+     * Create an immutable snapshot of the current position.
+     * @return The current position.
+     */
+    public Position toPosition() {
+        var copy = new long[PIECE_TYPES.length][];
+
+        for (var i = 0; i < copy.length; i++) {
+            copy[i] = bitboards[i].clone();
+        }
+
+        var target = enPassantTarget == NO_EN_PASSANT_TARGET ? null : enPassantTarget;
+        var board = Board.fromBitboards(copy, pieces.clone(), mailbox.clone());
+        return new Position(board, sideToMove, castlingRights(), target, halfmoveClock, fullmoveCounter, hash);
+    }
+
+    /* Getters */
+
+    public long bitboard(PieceType pieceType, Color color) {
+        return bitboards[pieceType.ordinal()][color.ordinal()];
+    }
+
+    public long pawns(Color color) {
+        return bitboards[PAWN.ordinal()][color.ordinal()];
+    }
+
+    public long knights(Color color) {
+        return bitboards[KNIGHT.ordinal()][color.ordinal()];
+    }
+
+    public long bishops(Color color) {
+        return bitboards[BISHOP.ordinal()][color.ordinal()];
+    }
+
+    public long rooks(Color color) {
+        return bitboards[ROOK.ordinal()][color.ordinal()];
+    }
+
+    public long queens(Color color) {
+        return bitboards[QUEEN.ordinal()][color.ordinal()];
+    }
+
+    public long kings(Color color) {
+        return bitboards[KING.ordinal()][color.ordinal()];
+    }
+
+    /**
+     * Get the type of the piece standing on a square, of any color.
+     * @param square The square to look at.
+     * @return The ordinal of the piece's type, or {@link #NO_PIECE} if the square is empty.
+     */
+    public int pieceTypeAt(int square) {
+        var code = mailbox[square];
+        return code == PieceCode.EMPTY ? NO_PIECE : PieceCode.pieceType(code);
+    }
+
+    /**
+     * Get the material of a side: the sum of the values of its pieces, king included.
+     * @param color The side.
+     * @return The side's material, in pawns.
+     * @see PieceType#value()
+     */
+    public int material(Color color) {
+        return material[color.ordinal()];
+    }
+
+    /**
+     * Get the sum of the middlegame piece-square scores of a side's pieces, piece values included.
+     * @param color The side.
+     * @return The side's middlegame score, in centipawns.
+     * @see PieceSquareTables#middlegame(int, int, int)
+     */
+    public int middlegameScore(Color color) {
+        return middlegameScores[color.ordinal()];
+    }
+
+    /**
+     * Get the sum of the endgame piece-square scores of a side's pieces, piece values included.
+     * @param color The side.
+     * @return The side's endgame score, in centipawns.
+     * @see PieceSquareTables#endgame(int, int, int)
+     */
+    public int endgameScore(Color color) {
+        return endgameScores[color.ordinal()];
+    }
+
+    /**
+     * Get the game phase, which goes down from {@link PieceSquareTables#MAX_PHASE} as pieces are traded.
+     * @return The game phase.
+     * @see PieceSquareTables#phase(int)
+     */
+    public int phase() {
+        return phase;
+    }
+
+    public Color sideToMove() {
+        return sideToMove;
+    }
+
+    public CastlingRights castlingRights() {
+        return CASTLING_RIGHTS[castlingRights];
+    }
+
+    /**
+     * Get the square that can be captured en passant.
+     * @return The en passant target, or {@link #NO_EN_PASSANT_TARGET} if there isn't one.
+     */
+    public int enPassantTarget() {
+        return enPassantTarget;
+    }
+
+    public int halfmoveClock() {
+        return halfmoveClock;
+    }
+
+    public int fullmoveCounter() {
+        return fullmoveCounter;
+    }
+
+    /**
+     * Get the Zobrist key of the current position.
+     * @return The position's key.
+     */
+    public long hash() {
+        return hash;
+    }
+
+    /**
+     * Get the pawn key of the current position, which only hashes the pawns of both sides.
+     * Positions with the same pawn structure share it, which makes it the key of the pawn hash table.
+     * @return The pawn key.
+     * @see Zobrist#pawnHash(SearchBoard)
+     */
+    public long pawnHash() {
+        return pawnHash;
+    }
+
+    /**
+     * Get the material key of the current position, which packs the number of pieces of every type and color.
+     * @return The material key.
+     * @see MaterialKey
+     */
+    public long materialKey() {
+        return materialKey;
+    }
+
+    /**
+     * Get the listener that is notified of every piece added to or removed from this board.
+     * @return The piece listener, or null if there isn't one.
+     */
+    public @Nullable PieceListener pieceListener() {
+        return pieceListener;
+    }
+
+    /**
+     * Set the listener that is notified of every piece added to or removed from this board, from now on.
+     * The listener should be initialized with the pieces that are already on the board.
+     * @param listener The piece listener, or null to stop notifying.
+     */
+    public void pieceListener(@Nullable PieceListener listener) {
+        pieceListener = listener;
+    }
+
+    /**
+     * Get the number of moves made on top of the starting position.
+     * @return The current ply.
+     */
+    public int ply() {
+        return ply;
+    }
+
+    /* Special bitboards */
+
+    public long emptySquares() {
+        return ~occupiedSquares();
+    }
+
+    public long occupiedSquares() {
+        return occupiedSquares;
+    }
+
+    public long capturablePieces(Color attacker) {
+        var opposite = attacker.opposite();
+        return pieces(opposite) & ~kings(opposite);
+    }
+
+    public long notCapturablePieces(Color attacker) {
+        return pieces(attacker) | kings(attacker.opposite());
+    }
+
+    public long pieces(Color color) {
+        return pieces[color.ordinal()];
+    }
+
+    /**
+     * Check whether a side has any piece other than pawns and its king.
+     * Positions where a side only has pawns are the typical cases of zugzwang, where passing would be the best move.
+     * @param color The side to check.
+     * @return True if the side has at least a knight, bishop, rook or queen.
+     */
+    public boolean hasNonPawnMaterial(Color color) {
+        var side = color.ordinal();
+        return (pieces[side] & ~bitboards[PAWN.ordinal()][side] & ~bitboards[KING.ordinal()][side]) != 0;
+    }
+
+    private int pieceAt(int square, int side) {
+        var code = mailbox[square];
+
+        if (code == PieceCode.EMPTY || PieceCode.color(code) != side) {
+            return NO_PIECE;
+        }
+
+        return PieceCode.pieceType(code);
+    }
+
+    private void addPiece(int pieceType, int side, int square) {
+        var bit = BitboardManipulator.singleBit(square);
+        bitboards[pieceType][side] |= bit;
+        pieces[side] |= bit;
+        occupiedSquares |= bit;
+        mailbox[square] = PieceCode.encode(pieceType, side);
+        material[side] += PIECE_VALUES[pieceType];
+        middlegameScores[side] += PieceSquareTables.middlegame(pieceType, side, square);
+        endgameScores[side] += PieceSquareTables.endgame(pieceType, side, square);
+        phase += PieceSquareTables.phase(pieceType);
+        materialKey += MaterialKey.piece(pieceType, side);
+
+        if (pieceType == PAWN.ordinal()) {
+            pawnHash ^= Zobrist.piece(pieceType, side, square);
+        }
+
+        if (pieceListener != null) {
+            pieceListener.pieceAdded(pieceType, side, square);
+        }
+    }
+
+    private void removePiece(int pieceType, int side, int square) {
+        var bit = ~BitboardManipulator.singleBit(square);
+        bitboards[pieceType][side] &= bit;
+        pieces[side] &= bit;
+        occupiedSquares &= bit;
+        mailbox[square] = PieceCode.EMPTY;
+        material[side] -= PIECE_VALUES[pieceType];
+        middlegameScores[side] -= PieceSquareTables.middlegame(pieceType, side, square);
+        endgameScores[side] -= PieceSquareTables.endgame(pieceType, side, square);
+        phase -= PieceSquareTables.phase(pieceType);
+        materialKey -= MaterialKey.piece(pieceType, side);
+
+        if (pieceType == PAWN.ordinal()) {
+            pawnHash ^= Zobrist.piece(pieceType, side, square);
+        }
+
+        if (pieceListener != null) {
+            pieceListener.pieceRemoved(pieceType, side, square);
+        }
+    }
+
+    private boolean aggregatesMatch() {
+        var expected = Board.fromBitboards(bitboards);
+
+        return Arrays.equals(pieces, new long[] {expected.pieces(Color.WHITE), expected.pieces(Color.BLACK)})
+                && occupiedSquares == expected.occupiedSquares()
+                && Arrays.equals(mailbox, expected.mailbox())
+                && material[0] == countMaterial(0)
+                && material[1] == countMaterial(1)
+                && middlegameScores[0] == countMiddlegameScore(0)
+                && middlegameScores[1] == countMiddlegameScore(1)
+                && endgameScores[0] == countEndgameScore(0)
+                && endgameScores[1] == countEndgameScore(1)
+                && phase == countPhase()
+                && pawnHash == Zobrist.pawnHash(this)
+                && materialKey == MaterialKey.key(this);
+    }
+
+    private int countMaterial(int side) {
+        var total = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            total += Long.bitCount(bitboards[pieceType][side]) * PIECE_VALUES[pieceType];
+        }
+
+        return total;
+    }
+
+    private int countMiddlegameScore(int side) {
+        var total = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            var bitboard = bitboards[pieceType][side];
+
+            while (bitboard != 0) {
+                total += PieceSquareTables.middlegame(pieceType, side, Long.numberOfTrailingZeros(bitboard));
+                bitboard &= bitboard - 1;
+            }
+        }
+
+        return total;
+    }
+
+    private int countEndgameScore(int side) {
+        var total = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            var bitboard = bitboards[pieceType][side];
+
+            while (bitboard != 0) {
+                total += PieceSquareTables.endgame(pieceType, side, Long.numberOfTrailingZeros(bitboard));
+                bitboard &= bitboard - 1;
+            }
+        }
+
+        return total;
+    }
+
+    private int countPhase() {
+        var total = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            var pieces = Long.bitCount(bitboards[pieceType][0] | bitboards[pieceType][1]);
+            total += pieces * PieceSquareTables.phase(pieceType);
+        }
+
+        return total;
+    }
+
+    private void moveRook(int side, int source, int destination) {
+        removePiece(ROOK.ordinal(), side, source);
+        addPiece(ROOK.ordinal(), side, destination);
+        hash ^= Zobrist.piece(ROOK.ordinal(), side, source) ^ Zobrist.piece(ROOK.ordinal(), side, destination);
+    }
+
+    private static int enPassantPawn(int destination, Color sideToMove) {
+        return sideToMove.isWhite() ? destination - PAWN_PUSH_OFFSET : destination + PAWN_PUSH_OFFSET;
+    }
+
+    private static int[] createCastlingMasks() {
+        var masks = new int[Board.NUMBER_OF_SQUARES];
+        Arrays.fill(masks, WHITE_SHORT | WHITE_LONG | BLACK_SHORT | BLACK_LONG);
+
+        masks[Square.e1] &= ~(WHITE_SHORT | WHITE_LONG);
+        masks[Square.h1] &= ~WHITE_SHORT;
+        masks[Square.a1] &= ~WHITE_LONG;
+        masks[Square.e8] &= ~(BLACK_SHORT | BLACK_LONG);
+        masks[Square.h8] &= ~BLACK_SHORT;
+        masks[Square.a8] &= ~BLACK_LONG;
+
+        return masks;
+    }
+
+    private static CastlingRights[] createCastlingRights() {
+        var rights = new CastlingRights[16];
+
+        for (var i = 0; i < rights.length; i++) {
+            rights[i] = new CastlingRights(
+                    (i & WHITE_SHORT) != 0, (i & WHITE_LONG) != 0, (i & BLACK_SHORT) != 0, (i & BLACK_LONG) != 0);
+        }
+
+        return rights;
+    }
+
+    private static long[] createCastlingKeys() {
+        var keys = new long[CASTLING_RIGHTS.length];
+
+        for (var i = 0; i < keys.length; i++) {
+            keys[i] = Zobrist.castlingRights(CASTLING_RIGHTS[i]);
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.book;
+
+import com.vmardones.tealchess.move.Move;
+
+/**
+ * A move stored in an opening book.
+ * @param move The legal move.
+ * @param weight How often the move should be played, relative to the other moves of the same position.
+ */
+public record BookMove(Move move, int weight) {}
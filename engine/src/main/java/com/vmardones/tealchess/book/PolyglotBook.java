@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.book;
+
+import static com.vmardones.tealchess.square.Square.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * An opening book in the Polyglot format.
+ * <p>
+ * The book is a file of 16-byte big-endian entries, sorted by key. Each entry has the Polyglot key of a position, a
+ * move, the move's weight and 4 bytes of learning data, which are ignored. The file is memory-mapped instead of read,
+ * so a book loads instantly and takes no heap space, no matter its size: only the pages touched by the binary search
+ * are read from disk.
+ * @see <a href="https://www.chessprogramming.org/Opening_Book">Opening Book</a>
+ * @see <a href="http://hgm.nubati.net/book_format.html">Polyglot book format</a>
+ */
+public final class PolyglotBook {
+
+    private static final int ENTRY_SIZE = 16;
+    private static final int MOVE_OFFSET = 8;
+    private static final int WEIGHT_OFFSET = 10;
+
+    /* Move encoding */
+    private static final int SQUARE_MASK = 0x3f;
+    private static final int DESTINATION_SHIFT = 0;
+    private static final int SOURCE_SHIFT = 6;
+    private static final int PROMOTION_SHIFT = 12;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final @Nullable PromotionChoice[] PROMOTIONS = {
+        null, PromotionChoice.KNIGHT, PromotionChoice.BISHOP, PromotionChoice.ROOK, PromotionChoice.QUEEN
+    };
+
+    private final ByteBuffer entries;
+    private final int size;
+    private final PolyglotKey key;
+
+    /**
+     * Open a book that uses the standard Polyglot keys, like every book made by other programs.
+     * @param path The book's path.
+     * @return The book.
+     * @throws IOException If the file can't be opened or mapped.
+     * @throws IllegalArgumentException If the file isn't made of whole entries, or it's too large to be mapped.
+     */
+    public static PolyglotBook open(Path path) throws IOException {
+        return open(path, PolyglotKey.STANDARD);
+    }
+
+    /**
+     * Open a book, mapping its file into memory.
+     * The file can be closed right away, since the mapping stays valid until the book is garbage collected.
+     * @param path The book's path.
+     * @param key The calculator of the keys used by the book.
+     * @return The book.
+     * @throws IOException If the file can't be opened or mapped.
+     * @throws IllegalArgumentException If the file isn't made of whole entries, or it's too large to be mapped.
+     */
+    public static PolyglotBook open(Path path, PolyglotKey key) throws IOException {
+        try (var channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            var length = channel.size();
+
+            if (length % ENTRY_SIZE != 0) {
+                throw new IllegalArgumentException("The book's size isn't a multiple of " + ENTRY_SIZE + " bytes");
+            }
+
+            if (length > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The book is too large to be mapped into memory");
+            }
+
+            return new PolyglotBook(channel.map(FileChannel.MapMode.READ_ONLY, 0, length), key);
+        }
+    }
+
+    private PolyglotBook(ByteBuffer entries, PolyglotKey key) {
+        this.entries = entries;
+        this.key = key;
+        size = entries.capacity() / ENTRY_SIZE;
+    }
+
+    /* Getters */
+
+    /**
+     * Get the amount of entries in the book.
+     * @return The book's size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /* Lookup */
+
+    /**
+     * Find the book moves of the current position.
+     * Moves that aren't legal in the position, which can only come from a broken book or a key collision, are skipped.
+     * @param state The current state of the game.
+     * @return The book moves, in the book's order.
+     */
+    public List<BookMove> moves(GameMemento state) {
+        var hash = key.hash(state.position());
+        var moves = new ArrayList<BookMove>();
+
+        for (var index = firstEntry(hash); index < size && keyAt(index) == hash; index++) {
+            var offset = index * ENTRY_SIZE;
+            var move = decode(state, Short.toUnsignedInt(entries.getShort(offset + MOVE_OFFSET)));
+
+            if (move != null) {
+                moves.add(new BookMove(move, Short.toUnsignedInt(entries.getShort(offset + WEIGHT_OFFSET))));
+            }
+        }
+
+        return moves;
+    }
+
+    /**
+     * Choose a book move for the current position, with a probability proportional to its weight.
+     * Moves with a weight of 0 are never chosen.
+     * @param state The current state of the game.
+     * @param random The source of randomness.
+     * @return The chosen move, or null if the position isn't in the book.
+     */
+    public @Nullable Move chooseMove(GameMemento state, RandomGenerator random) {
+        var moves = moves(state);
+        var totalWeight = 0L;
+
+        for (var bookMove : moves) {
+            totalWeight += bookMove.weight();
+        }
+
+        if (totalWeight == 0) {
+            return null;
+        }
+
+        var pick = random.nextLong(totalWeight);
+
+        for (var bookMove : moves) {
+            pick -= bookMove.weight();
+
+            if (pick < 0) {
+                return bookMove.move();
+            }
+        }
+
+        throw new AssertionError("The pick is always smaller than the total weight");
+    }
+
+    /**
+     * Binary search the first entry whose key isn't lower than the given one.
+     * Keys are sorted as unsigned numbers.
+     * @param hash The key to search.
+     * @return The index of the entry, or the book's size if every key is lower.
+     */
+    private int firstEntry(long hash) {
+        var low = 0;
+        var high = size;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+
+            if (Long.compareUnsigned(keyAt(middle), hash) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        return low;
+    }
+
+    private long keyAt(int index) {
+        return entries.getLong(index * ENTRY_SIZE);
+    }
+
+    /**
+     * Find the legal move that matches a Polyglot move.
+     * Polyglot encodes castling as the king capturing its own rook, so those moves are translated first.
+     * @param state The current state of the game.
+     * @param encodedMove The Polyglot move.
+     * @return The legal move, or null if there's no such move.
+     */
+    private static @Nullable Move decode(GameMemento state, int encodedMove) {
+        var source = encodedMove >>> SOURCE_SHIFT & SQUARE_MASK;
+        var destination = encodedMove >>> DESTINATION_SHIFT & SQUARE_MASK;
+        var promotionIndex = encodedMove >>> PROMOTION_SHIFT & PROMOTION_MASK;
+
+        if (promotionIndex >= PROMOTIONS.length) {
+            return null;
+        }
+
+        var promotionChoice = PROMOTIONS[promotionIndex];
+        destination = castlingDestination(state.position().board(), source, destination);
+
+        for (var legal : state.player().legals()) {
+            if (legal.source() == source
+                    && legal.destination() == destination
+                    && legal.promotionChoice() == promotionChoice) {
+                return legal;
+            }
+        }
+
+        return null;
+    }
+
+    private static int castlingDestination(Board board, int source, int destination) {
+        var piece = board.pieceAt(source);
+
+        if (piece == null || !piece.isKing()) {
+            return destination;
+        }
+
+        if (source == e1 && destination == h1) {
+            return g1;
+        }
+
+        if (source == e1 && destination == a1) {
+            return c1;
+        }
+
+        if (source == e8 && destination == h8) {
+            return g8;
+        }
+
+        if (source == e8 && destination == a8) {
+            return c8;
+        }
+
+        return destination;
+    }
+}
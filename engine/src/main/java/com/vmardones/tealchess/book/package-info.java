@@ -0,0 +1,4 @@
+@NullMarked
+package com.vmardones.tealchess.book;
+
+import org.jspecify.annotations.NullMarked;
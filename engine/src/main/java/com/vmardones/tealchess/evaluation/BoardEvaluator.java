@@ -5,8 +5,19 @@
 
 package com.vmardones.tealchess.evaluation;
 
-import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.board.SearchBoard;
 
-public sealed interface BoardEvaluator permits MaterialEvaluator, MobilityEvaluator {
-    int evaluate(GameMemento state);
+public sealed interface BoardEvaluator
+        permits CachedEvaluator,
+                IncrementalTaperedEvaluator,
+                MaterialEvaluator,
+                MobilityEvaluator,
+                NnueEvaluator,
+                TaperedEvaluator {
+    /**
+     * Evaluate the current position of a search board, from the point of view of the side to move.
+     * @param board The search board to evaluate.
+     * @return The position's score.
+     */
+    int evaluate(SearchBoard board);
 }
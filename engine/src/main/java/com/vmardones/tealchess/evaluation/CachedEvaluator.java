@@ -0,0 +1,108 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vmardones.tealchess.board.SearchBoard;
+
+/**
+ * Puts a fixed-size, direct-mapped cache in front of another evaluator, indexed by Zobrist key.
+ * The search reaches the same positions through different move orders, and this avoids evaluating them again.
+ * <p>
+ * Every entry is a single long: the upper 48 bits of the position's key, followed by the score in the lower 16 bits.
+ * The table index comes from the lower bits of the key, so together they verify most of the key.
+ * Plain reads and writes of a long may be split in two halves by the JVM, so entries are read and written with opaque
+ * accesses instead, which are always atomic. This way an entry can't be torn by two threads writing at the same time,
+ * and many search threads can share the cache without locks.
+ * Scores that don't fit in 16 bits are never cached.
+ * @see <a href="https://www.chessprogramming.org/Evaluation_Hash_Table">Evaluation Hash Table</a>
+ */
+public final class CachedEvaluator implements BoardEvaluator {
+
+    private static final int MAX_MEGABYTES = 1024;
+    private static final int SCORE_BITS = 16;
+    private static final long SCORE_MASK = (1L << SCORE_BITS) - 1;
+    private static final long EMPTY = 0L;
+    private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final BoardEvaluator evaluator;
+    private final long[] slots;
+    private final int indexMask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Create a cached evaluator.
+     * The number of entries is rounded down to a power of two, so the cache may use less memory than asked for.
+     * @param evaluator The evaluator whose scores are cached.
+     * @param megabytes The maximum size of the cache, in megabytes.
+     */
+    public CachedEvaluator(BoardEvaluator evaluator, int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException(
+                    "The cache size must be between 1 and " + MAX_MEGABYTES + " MB, got " + megabytes);
+        }
+
+        this.evaluator = evaluator;
+
+        var entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / Long.BYTES);
+        slots = new long[(int) entries];
+        indexMask = (int) entries - 1;
+    }
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        var key = board.hash();
+        var index = (int) key & indexMask;
+        var entry = (long) SLOTS.getOpaque(slots, index);
+        probes.increment();
+
+        if (entry != EMPTY && (entry & ~SCORE_MASK) == (key & ~SCORE_MASK)) {
+            hits.increment();
+            return (short) entry;
+        }
+
+        var score = evaluator.evaluate(board);
+
+        if (score == (short) score) {
+            SLOTS.setOpaque(slots, index, (key & ~SCORE_MASK) | (score & SCORE_MASK));
+        }
+
+        return score;
+    }
+
+    /**
+     * Remove all the entries and reset the statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, EMPTY);
+        probes.reset();
+        hits.reset();
+    }
+
+    /* Statistics */
+
+    /**
+     * Get the number of entries of this cache.
+     * @return The cache's capacity.
+     */
+    public int capacity() {
+        return slots.length;
+    }
+
+    /**
+     * Get the fraction of evaluations that were found in the cache, since it was created or cleared.
+     * @return The hit rate, between 0 and 1.
+     */
+    public double hitRate() {
+        var probeCount = probes.sum();
+        return probeCount == 0 ? 0 : (double) hits.sum() / probeCount;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.square.AlgebraicConverter;
+
+/**
+ * The kinds of material configurations that get a specialised scorer instead of the general evaluation.
+ * The kind of a position only depends on its material, so it's picked once per material key by the
+ * {@link MaterialTable}.
+ * @see <a href="https://www.chessprogramming.org/Endgame_Evaluation">Endgame Evaluation</a>
+ */
+public enum Endgame {
+    /** There isn't any specialised knowledge for this material, so the general evaluation is used as is. */
+    NONE,
+    /** There are no pawns, and neither side has enough material to win in practice. */
+    DRAW,
+    /** White has a rook or a queen against the bare black king, so it should drive the king to the edge. */
+    WHITE_MATES,
+    /** Black has a rook or a queen against the bare white king, so it should drive the king to the edge. */
+    BLACK_MATES;
+
+    private static final int EDGE_BONUS = 10;
+    private static final int PROXIMITY_BONUS = 4;
+    private static final int MAX_KING_DISTANCE = 14;
+
+    /**
+     * Apply this endgame's scorer to a position.
+     * @param board The search board.
+     * @param score The general evaluation, from the point of view of the side to move.
+     * @return The specialised evaluation, from the point of view of the side to move.
+     * @see <a href="https://www.chessprogramming.org/Mop-up_Evaluation">Mop-up Evaluation</a>
+     */
+    public int score(SearchBoard board, int score) {
+        return switch (this) {
+            case NONE -> score;
+            case DRAW -> 0;
+            case WHITE_MATES -> score + mopUp(board, Color.WHITE);
+            case BLACK_MATES -> score + mopUp(board, Color.BLACK);
+        };
+    }
+
+    private static int mopUp(SearchBoard board, Color winner) {
+        var winnerKing = Long.numberOfTrailingZeros(board.kings(winner));
+        var loserKing = Long.numberOfTrailingZeros(board.kings(winner.opposite()));
+
+        var bonus = EDGE_BONUS * centerDistance(loserKing)
+                + PROXIMITY_BONUS * (MAX_KING_DISTANCE - manhattanDistance(winnerKing, loserKing));
+
+        return board.sideToMove() == winner ? bonus : -bonus;
+    }
+
+    private static int centerDistance(int square) {
+        var file = AlgebraicConverter.fileIndex(square);
+        var rank = AlgebraicConverter.rankIndex(square);
+        return Math.max(3 - file, file - 4) + Math.max(3 - rank, rank - 4);
+    }
+
+    private static int manhattanDistance(int first, int second) {
+        var fileDistance = Math.abs(AlgebraicConverter.fileIndex(first) - AlgebraicConverter.fileIndex(second));
+        var rankDistance = Math.abs(AlgebraicConverter.rankIndex(first) - AlgebraicConverter.rankIndex(second));
+        return fileDistance + rankDistance;
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.PieceSquareTables;
+import com.vmardones.tealchess.board.SearchBoard;
+
+/**
+ * Gives the same evaluation as {@link TaperedEvaluator}, but reads the scores and the game phase that the search board
+ * keeps up to date as moves are made and unmade, so an evaluation doesn't touch the bitboards at all.
+ * The pawn structure is looked up in a pawn hash table, and only analyzed when the pawns change. In the same way, the
+ * material imbalance, the game phase and the endgame scorer are looked up in a material table.
+ */
+public final class IncrementalTaperedEvaluator implements BoardEvaluator {
+
+    // 512 KB per thread, which is enough to hold the pawn structures of a long search
+    private static final int DEFAULT_PAWN_TABLE_ENTRIES = 1 << 14;
+    // 16 KB per thread, since only a few material configurations can be reached from any position
+    private static final int DEFAULT_MATERIAL_TABLE_ENTRIES = 1 << 10;
+
+    // Every thread gets its own tables, so the same evaluator can be shared by parallel searches
+    private final ThreadLocal<PawnHashTable> pawnTables;
+    private final ThreadLocal<MaterialTable> materialTables;
+
+    public IncrementalTaperedEvaluator() {
+        this(DEFAULT_PAWN_TABLE_ENTRIES, DEFAULT_MATERIAL_TABLE_ENTRIES);
+    }
+
+    /**
+     * Create an evaluator with custom table sizes.
+     * @param pawnTableEntries The maximum number of entries of every thread's pawn hash table.
+     * @param materialTableEntries The maximum number of entries of every thread's material table.
+     */
+    public IncrementalTaperedEvaluator(int pawnTableEntries, int materialTableEntries) {
+        pawnTables = ThreadLocal.withInitial(() -> new PawnHashTable(pawnTableEntries));
+        materialTables = ThreadLocal.withInitial(() -> new MaterialTable(materialTableEntries));
+    }
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        var us = board.sideToMove();
+        var them = us.opposite();
+
+        var middlegame = board.middlegameScore(us) - board.middlegameScore(them);
+        var endgame = board.endgameScore(us) - board.endgameScore(them);
+
+        var pawnTable = pawnTables.get();
+        var entry = pawnTable.probe(board);
+        var materialEntry = materialTables.get().probe(board);
+        var imbalance = us.isWhite() ? MaterialTable.score(materialEntry) : -MaterialTable.score(materialEntry);
+        var structureScore = pawnTable.score(entry, us) - pawnTable.score(entry, them) + imbalance;
+
+        var occupiedSquares = board.occupiedSquares();
+        var ourPassed = pawnTable.passedPawns(entry, us);
+        var theirPassed = pawnTable.passedPawns(entry, them);
+        var passerBonus = PawnStructure.unblockedPasserBonus(ourPassed, occupiedSquares, us.ordinal())
+                - PawnStructure.unblockedPasserBonus(theirPassed, occupiedSquares, them.ordinal());
+
+        middlegame += PawnStructure.middlegame(structureScore);
+        endgame += PawnStructure.endgame(structureScore) + passerBonus;
+
+        var score = PieceSquareTables.taper(middlegame, endgame, MaterialTable.phase(materialEntry));
+        return MaterialTable.endgame(materialEntry).score(board, score);
+    }
+
+    /**
+     * Get the pawn hash table of the current thread.
+     * @return The pawn hash table used by this thread's evaluations.
+     */
+    public PawnHashTable pawnTable() {
+        return pawnTables.get();
+    }
+
+    /**
+     * Get the material table of the current thread.
+     * @return The material table used by this thread's evaluations.
+     */
+    public MaterialTable materialTable() {
+        return materialTables.get();
+    }
+}
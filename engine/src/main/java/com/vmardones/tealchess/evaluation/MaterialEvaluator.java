@@ -5,32 +5,17 @@
 
 package com.vmardones.tealchess.evaluation;
 
-import java.util.List;
-import java.util.Objects;
-
-import com.vmardones.tealchess.board.Mailbox;
-import com.vmardones.tealchess.color.Color;
-import com.vmardones.tealchess.game.GameMemento;
-import com.vmardones.tealchess.piece.Piece;
-import org.jspecify.annotations.Nullable;
+import com.vmardones.tealchess.board.SearchBoard;
 
+/**
+ * Evaluates positions by material alone.
+ * The search board keeps the material of both sides up to date as moves are made, so an evaluation is a subtraction.
+ */
 public final class MaterialEvaluator implements BoardEvaluator {
-    @Override
-    public int evaluate(GameMemento state) {
-        var position = state.position();
-        var mailbox = new Mailbox(position.board());
-        var pieces = mailbox.pieces();
 
-        return materialValue(pieces, position.sideToMove())
-                - materialValue(pieces, position.sideToMove().opposite());
-    }
-
-    // TODO: Possibly add a method that returns all the pieces of a specific color to the mailbox
-    private int materialValue(List<@Nullable Piece> pieces, Color side) {
-        return pieces.stream()
-                .filter(Objects::nonNull)
-                .filter(piece -> piece.color() == side)
-                .mapToInt(Piece::value)
-                .sum();
+    @Override
+    public int evaluate(SearchBoard board) {
+        var sideToMove = board.sideToMove();
+        return board.material(sideToMove) - board.material(sideToMove.opposite());
     }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.piece.PieceType.*;
+
+import java.util.Arrays;
+
+import com.vmardones.tealchess.board.MaterialKey;
+import com.vmardones.tealchess.board.PieceSquareTables;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * A small hash table that caches everything that only depends on the material of a position, indexed by its
+ * {@link MaterialKey}: the imbalance score, the game phase and the specialised endgame scorer, if any.
+ * Captures and promotions are rare compared to the rest of the moves, so almost every probe is a hit.
+ * <p>
+ * Every entry takes two longs of a flat array: the material key and the data, which packs the imbalance score of white
+ * (in the same format as {@link PawnStructure}), the phase and the endgame.
+ * Colliding entries are always replaced.
+ * <p>
+ * The table isn't thread-safe. Every search thread should have its own.
+ * @see <a href="https://www.chessprogramming.org/Material_Hash_Table">Material Hash Table</a>
+ * @see <a href="https://www.chessprogramming.org/Material#Imbalance">Material Imbalance</a>
+ */
+public final class MaterialTable {
+
+    private static final int LONGS_PER_ENTRY = 2;
+    private static final int MAX_ENTRIES = 1 << 20;
+    // Spreads the keys over the table, since their lowest bits are pawn counts that barely change
+    private static final long HASH_MULTIPLIER = 0x9e37_79b9_7f4a_7c15L;
+
+    private static final int PHASE_SHIFT = 32;
+    private static final int PHASE_MASK = 0xff;
+    private static final int ENDGAME_SHIFT = 40;
+    private static final int ENDGAME_MASK = 0xff;
+    private static final Endgame[] ENDGAMES = Endgame.values();
+
+    private static final int WHITE = Color.WHITE.ordinal();
+    private static final int BLACK = Color.BLACK.ordinal();
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+
+    private static final int BISHOP_PAIR = PawnStructure.pack(30, 50);
+    // Knights get better and rooks get worse as pawns are added, counted from this many pawns
+    private static final int PAWN_ADJUSTMENT_BASE = 5;
+    private static final int KNIGHT_ADJUSTMENT = 6;
+    private static final int ROOK_ADJUSTMENT = -12;
+
+    private final long[] slots;
+    private final int indexMask;
+    private long probes;
+    private long hits;
+
+    /**
+     * Create a material table.
+     * The number of entries is rounded down to a power of two.
+     * @param entries The maximum number of entries.
+     */
+    public MaterialTable(int entries) {
+        if (entries < 1 || entries > MAX_ENTRIES) {
+            throw new IllegalArgumentException(
+                    "The number of entries must be between 1 and " + MAX_ENTRIES + ", got " + entries);
+        }
+
+        var capacity = Integer.highestOneBit(entries);
+        slots = new long[capacity * LONGS_PER_ENTRY];
+        indexMask = capacity - 1;
+    }
+
+    /* Using the table */
+
+    /**
+     * Look up the material of the board, analyzing and storing it first if it isn't in the table.
+     * An empty entry is never confused with a position, since every position has two kings.
+     * @param board The search board.
+     * @return The entry's data, which can be read with the static methods of this class.
+     */
+    public long probe(SearchBoard board) {
+        var key = board.materialKey();
+        var index = ((int) (key * HASH_MULTIPLIER >>> Integer.SIZE) & indexMask) * LONGS_PER_ENTRY;
+        probes++;
+
+        if (slots[index] == key) {
+            hits++;
+            return slots[index + 1];
+        }
+
+        var data = analyze(key);
+        slots[index] = key;
+        slots[index + 1] = data;
+
+        return data;
+    }
+
+    /**
+     * Remove all the entries and reset the statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0L);
+        probes = 0;
+        hits = 0;
+    }
+
+    /**
+     * Analyze a material configuration from scratch, without using the table.
+     * @param key The material key.
+     * @return The entry's data, which can be read with the static methods of this class.
+     */
+    public static long analyze(long key) {
+        var score = imbalance(key, WHITE) - imbalance(key, BLACK);
+        var phase = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            var pieces = MaterialKey.count(key, pieceType, WHITE) + MaterialKey.count(key, pieceType, BLACK);
+            phase += pieces * PieceSquareTables.phase(pieceType);
+        }
+
+        return Integer.toUnsignedLong(score)
+                | (long) Math.min(phase, PHASE_MASK) << PHASE_SHIFT
+                | (long) findEndgame(key).ordinal() << ENDGAME_SHIFT;
+    }
+
+    /* Reading entries */
+
+    /**
+     * Get the imbalance score of an entry, from white's point of view.
+     * @param entry The entry's data.
+     * @return The packed score.
+     * @see PawnStructure#middlegame(int)
+     * @see PawnStructure#endgame(int)
+     */
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static int phase(long entry) {
+        return (int) (entry >>> PHASE_SHIFT) & PHASE_MASK;
+    }
+
+    public static Endgame endgame(long entry) {
+        return ENDGAMES[(int) (entry >>> ENDGAME_SHIFT) & ENDGAME_MASK];
+    }
+
+    /* Statistics */
+
+    /**
+     * Get the number of entries of this table.
+     * @return The table's capacity.
+     */
+    public int capacity() {
+        return slots.length / LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Get the fraction of probes that found their material, since the table was created or cleared.
+     * @return The hit rate, between 0 and 1.
+     */
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+
+    /* Analysis */
+
+    private static int imbalance(long key, int side) {
+        var pawns = MaterialKey.count(key, PAWN.ordinal(), side);
+        var extraPawns = pawns - PAWN_ADJUSTMENT_BASE;
+        var adjustment = MaterialKey.count(key, KNIGHT.ordinal(), side) * extraPawns * KNIGHT_ADJUSTMENT
+                + MaterialKey.count(key, ROOK.ordinal(), side) * extraPawns * ROOK_ADJUSTMENT;
+
+        var score = PawnStructure.pack(adjustment, adjustment);
+
+        if (MaterialKey.count(key, BISHOP.ordinal(), side) >= 2) {
+            score += BISHOP_PAIR;
+        }
+
+        return score;
+    }
+
+    private static Endgame findEndgame(long key) {
+        var white = Side.of(key, WHITE);
+        var black = Side.of(key, BLACK);
+
+        if (white.pawns() == 0 && black.pawns() == 0) {
+            if (white.hasAtMostOneMinor() && black.hasAtMostOneMinor()
+                    || white.hasOnlyTwoKnights() && black.isBareKing()
+                    || black.hasOnlyTwoKnights() && white.isBareKing()) {
+                return Endgame.DRAW;
+            }
+        }
+
+        if (black.isBareKing() && white.majors() > 0) {
+            return Endgame.WHITE_MATES;
+        }
+
+        if (white.isBareKing() && black.majors() > 0) {
+            return Endgame.BLACK_MATES;
+        }
+
+        return Endgame.NONE;
+    }
+
+    private record Side(int pawns, int knights, int bishops, int majors) {
+
+        private static Side of(long key, int side) {
+            return new Side(
+                    MaterialKey.count(key, PAWN.ordinal(), side),
+                    MaterialKey.count(key, KNIGHT.ordinal(), side),
+                    MaterialKey.count(key, BISHOP.ordinal(), side),
+                    MaterialKey.count(key, ROOK.ordinal(), side) + MaterialKey.count(key, QUEEN.ordinal(), side));
+        }
+
+        private boolean isBareKing() {
+            return pawns + knights + bishops + majors == 0;
+        }
+
+        private boolean hasAtMostOneMinor() {
+            return majors == 0 && knights + bishops <= 1;
+        }
+
+        private boolean hasOnlyTwoKnights() {
+            return majors == 0 && bishops == 0 && knights == 2;
+        }
+    }
+}
@@ -5,11 +5,22 @@
 
 package com.vmardones.tealchess.evaluation;
 
-import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.generator.MoveGenerator;
+import com.vmardones.tealchess.move.MoveList;
 
 public final class MobilityEvaluator implements BoardEvaluator {
+
+    private final MoveGenerator moveGenerator = new MaskedLegalGenerator();
+    // Every thread gets its own scratch list, so the same evaluator can be shared by parallel searches
+    private final ThreadLocal<MoveList> scratch = ThreadLocal.withInitial(MoveList::new);
+
     @Override
-    public int evaluate(GameMemento state) {
-        return state.player().legals().size();
+    public int evaluate(SearchBoard board) {
+        var moves = scratch.get();
+        moves.clear();
+        moveGenerator.generate(board, moves);
+        return moves.size();
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.PieceListener;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * The hidden layer of an NNUE network before activation, for both perspectives, attached to a search board.
+ * It's updated incrementally as pieces are added to and removed from the board, by adding or subtracting the weight
+ * column of the piece's feature, so evaluating a position only needs the output layer.
+ * <p>
+ * The hidden layer uses 16-bit arithmetic, which wraps around on overflow in the same way in both directions, so
+ * making and unmaking moves always restores the exact same values.
+ * @see <a href="https://www.chessprogramming.org/NNUE#Accumulator">NNUE Accumulator</a>
+ */
+final class NnueAccumulator implements PieceListener {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    private final NnueNetwork network;
+    private final boolean vectorized;
+    private final short[] featureWeights;
+    // Indexed by perspective
+    private final short[][] hiddenLayers;
+
+    NnueAccumulator(NnueNetwork network, boolean vectorized) {
+        this.network = network;
+        this.vectorized = vectorized;
+        featureWeights = network.featureWeights();
+        hiddenLayers = new short[COLORS.length][network.hiddenSize()];
+    }
+
+    /**
+     * Recalculate the hidden layer from scratch, with the pieces on a board.
+     * @param board The search board.
+     */
+    void refresh(SearchBoard board) {
+        for (var hiddenLayer : hiddenLayers) {
+            System.arraycopy(network.hiddenBiases(), 0, hiddenLayer, 0, hiddenLayer.length);
+        }
+
+        for (var pieceType : PIECE_TYPES) {
+            for (var color : COLORS) {
+                var bitboard = board.bitboard(pieceType, color);
+
+                while (bitboard != 0) {
+                    pieceAdded(pieceType.ordinal(), color.ordinal(), Long.numberOfTrailingZeros(bitboard));
+                    bitboard &= bitboard - 1;
+                }
+            }
+        }
+    }
+
+    @Override
+    public void pieceAdded(int pieceType, int color, int square) {
+        for (var perspective = 0; perspective < hiddenLayers.length; perspective++) {
+            var offset = network.featureOffset(perspective, pieceType, color, square);
+
+            if (vectorized) {
+                NnueVectors.add(hiddenLayers[perspective], featureWeights, offset);
+            } else {
+                add(hiddenLayers[perspective], featureWeights, offset);
+            }
+        }
+    }
+
+    @Override
+    public void pieceRemoved(int pieceType, int color, int square) {
+        for (var perspective = 0; perspective < hiddenLayers.length; perspective++) {
+            var offset = network.featureOffset(perspective, pieceType, color, square);
+
+            if (vectorized) {
+                NnueVectors.subtract(hiddenLayers[perspective], featureWeights, offset);
+            } else {
+                subtract(hiddenLayers[perspective], featureWeights, offset);
+            }
+        }
+    }
+
+    /**
+     * Run the output layer.
+     * @param sideToMove The side to move.
+     * @return The evaluation, in centipawns, from the point of view of the side to move.
+     */
+    int evaluate(Color sideToMove) {
+        var us = hiddenLayers[sideToMove.ordinal()];
+        var them = hiddenLayers[sideToMove.opposite().ordinal()];
+        var outputWeights = network.outputWeights();
+        var hiddenSize = network.hiddenSize();
+
+        var output = vectorized
+                ? NnueVectors.dot(us, outputWeights, 0) + NnueVectors.dot(them, outputWeights, hiddenSize)
+                : dot(us, outputWeights, 0) + dot(them, outputWeights, hiddenSize);
+
+        return (output + network.outputBias())
+                * NnueNetwork.EVALUATION_SCALE
+                / (NnueNetwork.HIDDEN_SCALE * NnueNetwork.OUTPUT_SCALE);
+    }
+
+    NnueNetwork network() {
+        return network;
+    }
+
+    /**
+     * Get the hidden layer of a perspective, before activation.
+     * @param perspective The side whose perspective is used.
+     * @return A copy of the hidden layer.
+     */
+    short[] hiddenLayer(Color perspective) {
+        return hiddenLayers[perspective.ordinal()].clone();
+    }
+
+    static int activate(short value) {
+        return Math.clamp(value, 0, NnueNetwork.HIDDEN_SCALE);
+    }
+
+    private static void add(short[] accumulator, short[] weights, int offset) {
+        for (var i = 0; i < accumulator.length; i++) {
+            accumulator[i] += weights[offset + i];
+        }
+    }
+
+    private static void subtract(short[] accumulator, short[] weights, int offset) {
+        for (var i = 0; i < accumulator.length; i++) {
+            accumulator[i] -= weights[offset + i];
+        }
+    }
+
+    private static int dot(short[] accumulator, short[] weights, int offset) {
+        var sum = 0;
+
+        for (var i = 0; i < accumulator.length; i++) {
+            sum += activate(accumulator[i]) * weights[offset + i];
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.SearchBoard;
+
+/**
+ * Evaluates positions with an efficiently updatable neural network.
+ * <p>
+ * The first time a search board is evaluated, an accumulator is attached to it as its piece listener, and from then on
+ * the hidden layer follows every move made and unmade on the board. Search boards belong to a single thread, so the
+ * same evaluator can be shared by parallel searches.
+ * <p>
+ * The accumulator uses the Vector API when the incubating jdk.incubator.vector module is available, which needs the
+ * JVM to be started with {@code --add-modules jdk.incubator.vector}, and plain loops otherwise.
+ * @see NnueNetwork
+ * @see <a href="https://www.chessprogramming.org/NNUE">NNUE</a>
+ */
+public final class NnueEvaluator implements BoardEvaluator {
+
+    /** Whether the Vector API can be used in this JVM. */
+    public static final boolean VECTOR_API_AVAILABLE =
+            ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+
+    private final NnueNetwork network;
+    private final boolean vectorized;
+
+    /**
+     * Create an evaluator that uses the Vector API if it's available.
+     * @param network The network.
+     */
+    public NnueEvaluator(NnueNetwork network) {
+        this(network, VECTOR_API_AVAILABLE);
+    }
+
+    /**
+     * Create an evaluator, choosing whether to use the Vector API.
+     * @param network The network.
+     * @param vectorized Whether the accumulator should use the Vector API.
+     * @throws IllegalArgumentException If the Vector API is asked for, but it isn't available.
+     */
+    public NnueEvaluator(NnueNetwork network, boolean vectorized) {
+        if (vectorized && !VECTOR_API_AVAILABLE) {
+            throw new IllegalArgumentException("The Vector API isn't available, add the jdk.incubator.vector module");
+        }
+
+        this.network = network;
+        this.vectorized = vectorized;
+    }
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        return accumulator(board).evaluate(board.sideToMove());
+    }
+
+    public boolean vectorized() {
+        return vectorized;
+    }
+
+    /**
+     * Get the accumulator attached to a board, attaching a new one first if needed.
+     * @param board The search board.
+     * @return The board's accumulator.
+     */
+    NnueAccumulator accumulator(SearchBoard board) {
+        if (board.pieceListener() instanceof NnueAccumulator accumulator && accumulator.network() == network) {
+            return accumulator;
+        }
+
+        var accumulator = new NnueAccumulator(network, vectorized);
+        accumulator.refresh(board);
+        board.pieceListener(accumulator);
+
+        return accumulator;
+    }
+}
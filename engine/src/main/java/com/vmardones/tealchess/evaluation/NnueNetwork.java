@@ -0,0 +1,155 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * The weights of an efficiently updatable neural network, with the (768 → N)x2 → 1 architecture.
+ * <p>
+ * There are 768 inputs, one for every piece type, color and square, seen from the perspective of each side: the board
+ * is flipped vertically for black, and the pieces are split into "ours" and "theirs". Both perspectives share the
+ * feature weights, and feed a hidden layer of N neurons each, with a clipped ReLU activation. The output neuron reads
+ * the hidden layer of the side to move first, followed by the other side's.
+ * <p>
+ * All weights are quantized to 16-bit integers: the hidden layer by {@link #HIDDEN_SCALE} and the output layer by
+ * {@link #OUTPUT_SCALE}. The weights file is a little-endian array of 16-bit integers, in the layout written by the
+ * bullet trainer: the feature weights (one column of N weights per feature), the hidden biases, the output weights and
+ * the output bias. It may be padded with zeros to a multiple of 64 bytes.
+ * @see <a href="https://www.chessprogramming.org/NNUE">NNUE</a>
+ * @see <a href="https://github.com/jw1912/bullet">bullet</a>
+ */
+public final class NnueNetwork {
+
+    /** The number of inputs of each perspective. */
+    public static final int FEATURES = 2 * PieceType.values().length * Board.NUMBER_OF_SQUARES;
+    /** The factor of the quantized hidden layer, which is also the maximum of the clipped ReLU. */
+    public static final int HIDDEN_SCALE = 255;
+    /** The factor of the quantized output layer. */
+    public static final int OUTPUT_SCALE = 64;
+    /** Converts the network's output to centipawns. */
+    public static final int EVALUATION_SCALE = 400;
+
+    private static final int PADDING = 64;
+    private static final int THEIRS_OFFSET = FEATURES / 2;
+    // Flips the rank of a square, which turns a1 into a8
+    private static final int MIRROR = 56;
+
+    private final int hiddenSize;
+    private final short[] featureWeights;
+    private final short[] hiddenBiases;
+    private final short[] outputWeights;
+    private final short outputBias;
+
+    /**
+     * Read a network from a weights file. The hidden layer size is deduced from the file's size.
+     * @param path The file's path.
+     * @return The network.
+     * @throws IOException If the file can't be read.
+     * @throws IllegalArgumentException If the file's size doesn't match any hidden layer size.
+     */
+    public static NnueNetwork read(Path path) throws IOException {
+        var bytes = Files.readAllBytes(path);
+
+        // Every neuron has a column of feature weights, a bias and two output weights, and there's one output bias
+        var weightsPerNeuron = FEATURES + 3;
+        var hiddenSize = (bytes.length / Short.BYTES - 1) / weightsPerNeuron;
+        var weightCount = hiddenSize * weightsPerNeuron + 1;
+        var padding = bytes.length - weightCount * Short.BYTES;
+
+        if (hiddenSize == 0 || padding >= PADDING || bytes.length % Short.BYTES != 0) {
+            throw new IllegalArgumentException("The file's size doesn't match any network: " + bytes.length + " bytes");
+        }
+
+        var weights = new short[weightCount];
+        ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN).asShortBuffer().get(weights);
+
+        var featureWeights = new short[FEATURES * hiddenSize];
+        var hiddenBiases = new short[hiddenSize];
+        var outputWeights = new short[2 * hiddenSize];
+
+        System.arraycopy(weights, 0, featureWeights, 0, featureWeights.length);
+        System.arraycopy(weights, featureWeights.length, hiddenBiases, 0, hiddenSize);
+        System.arraycopy(weights, featureWeights.length + hiddenSize, outputWeights, 0, outputWeights.length);
+
+        return new NnueNetwork(hiddenSize, featureWeights, hiddenBiases, outputWeights, weights[weightCount - 1]);
+    }
+
+    /**
+     * Create a network from its quantized weights.
+     * @param hiddenSize The number of neurons of each perspective's hidden layer.
+     * @param featureWeights The feature weights, with the N weights of every feature next to each other.
+     * @param hiddenBiases The N biases of the hidden layer.
+     * @param outputWeights The 2N output weights, for the side to move first.
+     * @param outputBias The output bias.
+     */
+    public NnueNetwork(
+            int hiddenSize, short[] featureWeights, short[] hiddenBiases, short[] outputWeights, short outputBias) {
+        if (hiddenSize < 1) {
+            throw new IllegalArgumentException("The hidden layer must have at least one neuron, got " + hiddenSize);
+        }
+
+        if (featureWeights.length != FEATURES * hiddenSize
+                || hiddenBiases.length != hiddenSize
+                || outputWeights.length != 2 * hiddenSize) {
+            throw new IllegalArgumentException("The weights don't match a hidden layer of " + hiddenSize + " neurons");
+        }
+
+        this.hiddenSize = hiddenSize;
+        this.featureWeights = featureWeights.clone();
+        this.hiddenBiases = hiddenBiases.clone();
+        this.outputWeights = outputWeights.clone();
+        this.outputBias = outputBias;
+    }
+
+    /* Getters */
+
+    public int hiddenSize() {
+        return hiddenSize;
+    }
+
+    /**
+     * Get the index of the first weight of a feature's column, for one of the perspectives.
+     * @param perspective The ordinal of the side whose perspective is used.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The piece's square.
+     * @return The index of the feature's column in the feature weights.
+     */
+    public int featureOffset(int perspective, int pieceType, int color, int square) {
+        var white = perspective == Color.WHITE.ordinal();
+        var relativeSquare = white ? square : square ^ MIRROR;
+        var side = color == perspective ? 0 : THEIRS_OFFSET;
+
+        return (side + pieceType * Board.NUMBER_OF_SQUARES + relativeSquare) * hiddenSize;
+    }
+
+    /* Package-private access to the weights, which the accumulator reads without copying */
+
+    short[] featureWeights() {
+        return featureWeights;
+    }
+
+    short[] hiddenBiases() {
+        return hiddenBiases;
+    }
+
+    short[] outputWeights() {
+        return outputWeights;
+    }
+
+    short outputBias() {
+        return outputBias;
+    }
+}
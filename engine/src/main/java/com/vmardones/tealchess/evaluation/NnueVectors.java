@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.ShortVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * The NNUE accumulator operations, written with the Vector API so they use the widest SIMD registers of the CPU.
+ * The API is still incubating, so this class must only be loaded when the jdk.incubator.vector module is present.
+ * @see NnueAccumulator
+ */
+final class NnueVectors {
+
+    private static final VectorSpecies<Short> SHORTS = ShortVector.SPECIES_PREFERRED;
+    // The same vector size with int lanes, which holds half of a short vector
+    private static final VectorSpecies<Integer> INTS = SHORTS.withLanes(int.class).check(int.class);
+    private static final int PARTS = SHORTS.length() / INTS.length();
+
+    static void add(short[] accumulator, short[] weights, int offset) {
+        var bound = SHORTS.loopBound(accumulator.length);
+        var i = 0;
+
+        for (; i < bound; i += SHORTS.length()) {
+            var column = ShortVector.fromArray(SHORTS, weights, offset + i);
+            ShortVector.fromArray(SHORTS, accumulator, i).add(column).intoArray(accumulator, i);
+        }
+
+        for (; i < accumulator.length; i++) {
+            accumulator[i] += weights[offset + i];
+        }
+    }
+
+    static void subtract(short[] accumulator, short[] weights, int offset) {
+        var bound = SHORTS.loopBound(accumulator.length);
+        var i = 0;
+
+        for (; i < bound; i += SHORTS.length()) {
+            var column = ShortVector.fromArray(SHORTS, weights, offset + i);
+            ShortVector.fromArray(SHORTS, accumulator, i).sub(column).intoArray(accumulator, i);
+        }
+
+        for (; i < accumulator.length; i++) {
+            accumulator[i] -= weights[offset + i];
+        }
+    }
+
+    /**
+     * Multiply the activated hidden layer of one perspective by its output weights.
+     * The products don't fit in 16 bits, so both vectors are widened to ints first.
+     */
+    static int dot(short[] accumulator, short[] weights, int offset) {
+        var bound = SHORTS.loopBound(accumulator.length);
+        var sums = IntVector.zero(INTS);
+        var i = 0;
+
+        for (; i < bound; i += SHORTS.length()) {
+            var activated = ShortVector.fromArray(SHORTS, accumulator, i)
+                    .max((short) 0)
+                    .min((short) NnueNetwork.HIDDEN_SCALE);
+            var outputWeights = ShortVector.fromArray(SHORTS, weights, offset + i);
+
+            for (var part = 0; part < PARTS; part++) {
+                var wideActivated = (IntVector) activated.convertShape(VectorOperators.S2I, INTS, part);
+                var wideWeights = (IntVector) outputWeights.convertShape(VectorOperators.S2I, INTS, part);
+                sums = sums.add(wideActivated.mul(wideWeights));
+            }
+        }
+
+        var sum = sums.reduceLanes(VectorOperators.ADD);
+
+        for (; i < accumulator.length; i++) {
+            sum += NnueAccumulator.activate(accumulator[i]) * weights[offset + i];
+        }
+
+        return sum;
+    }
+
+    private NnueVectors() {}
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+
+/**
+ * A fixed-size hash table that caches the pawn structure evaluation, indexed by the pawn key of the position.
+ * The pawns rarely move, so most positions of a search share their pawn structure with many others, and the analysis
+ * can be skipped almost always.
+ * <p>
+ * Every entry takes four consecutive longs of a flat array, 32 bytes, so reading one usually touches a single cache
+ * line: the pawn key, the passed pawns of white and black, and the packed scores of both sides.
+ * Colliding entries are always replaced.
+ * <p>
+ * The table isn't thread-safe. Every search thread should have its own, which also keeps them in the thread's cache.
+ * @see <a href="https://www.chessprogramming.org/Pawn_Hash_Table">Pawn Hash Table</a>
+ * @see PawnStructure
+ */
+public final class PawnHashTable {
+
+    private static final int LONGS_PER_ENTRY = 4;
+    private static final int PASSED_OFFSET = 1;
+    private static final int SCORES_OFFSET = 3;
+    private static final int MAX_ENTRIES = 1 << 24;
+
+    private final long[] slots;
+    private final int indexMask;
+    private long probes;
+    private long hits;
+
+    /**
+     * Create a pawn hash table.
+     * The number of entries is rounded down to a power of two.
+     * @param entries The maximum number of entries.
+     */
+    public PawnHashTable(int entries) {
+        if (entries < 1 || entries > MAX_ENTRIES) {
+            throw new IllegalArgumentException(
+                    "The number of entries must be between 1 and " + MAX_ENTRIES + ", got " + entries);
+        }
+
+        var capacity = Integer.highestOneBit(entries);
+        slots = new long[capacity * LONGS_PER_ENTRY];
+        indexMask = capacity - 1;
+
+        // A position without pawns has a pawn key of 0, which is also the key of the empty entries
+        for (var i = 0; i < slots.length; i += LONGS_PER_ENTRY) {
+            slots[i] = ~0L;
+        }
+    }
+
+    /* Using the table */
+
+    /**
+     * Find the entry of the board's pawn structure, evaluating and storing it first if it isn't in the table.
+     * The returned entry is valid until the next call.
+     * @param board The search board.
+     * @return The index of the entry, which can be read with the other methods of this class.
+     */
+    public int probe(SearchBoard board) {
+        var key = board.pawnHash();
+        var index = ((int) key & indexMask) * LONGS_PER_ENTRY;
+        probes++;
+
+        if (slots[index] == key) {
+            hits++;
+            return index;
+        }
+
+        var whitePawns = board.pawns(Color.WHITE);
+        var blackPawns = board.pawns(Color.BLACK);
+        var white = Color.WHITE.ordinal();
+        var black = Color.BLACK.ordinal();
+
+        slots[index] = key;
+        slots[index + PASSED_OFFSET + white] = PawnStructure.passedPawns(whitePawns, blackPawns, white);
+        slots[index + PASSED_OFFSET + black] = PawnStructure.passedPawns(blackPawns, whitePawns, black);
+        slots[index + SCORES_OFFSET] = Integer.toUnsignedLong(PawnStructure.score(whitePawns, blackPawns, white))
+                | (long) PawnStructure.score(blackPawns, whitePawns, black) << Integer.SIZE;
+
+        return index;
+    }
+
+    /**
+     * Remove all the entries and reset the statistics.
+     */
+    public void clear() {
+        for (var i = 0; i < slots.length; i += LONGS_PER_ENTRY) {
+            slots[i] = ~0L;
+        }
+
+        probes = 0;
+        hits = 0;
+    }
+
+    /* Reading entries */
+
+    /**
+     * Get the pawn structure score of a side.
+     * @param entry The entry's index.
+     * @param color The side.
+     * @return The packed score.
+     * @see PawnStructure#score(long, long, int)
+     */
+    public int score(int entry, Color color) {
+        return (int) (slots[entry + SCORES_OFFSET] >> (Integer.SIZE * color.ordinal()));
+    }
+
+    /**
+     * Get the passed pawns of a side.
+     * @param entry The entry's index.
+     * @param color The side.
+     * @return The passed pawns.
+     */
+    public long passedPawns(int entry, Color color) {
+        return slots[entry + PASSED_OFFSET + color.ordinal()];
+    }
+
+    /* Statistics */
+
+    /**
+     * Get the number of entries of this table.
+     * @return The table's capacity.
+     */
+    public int capacity() {
+        return slots.length / LONGS_PER_ENTRY;
+    }
+
+    /**
+     * Get the fraction of probes that found their pawn structure, since the table was created or cleared.
+     * @return The hit rate, between 0 and 1.
+     */
+    public double hitRate() {
+        return probes == 0 ? 0 : (double) hits / probes;
+    }
+}
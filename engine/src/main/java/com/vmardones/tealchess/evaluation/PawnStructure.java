@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.Board;
+
+/**
+ * Pawn structure evaluation: penalties for doubled, isolated and backward pawns, and bonuses for passed pawns.
+ * Every term only depends on the pawns of both sides, so the results can be cached in a {@link PawnHashTable}.
+ * <p>
+ * Scores are packed into a single int, with the middlegame score in the upper 16 bits and the endgame score in the
+ * lower 16 bits, so both can be added and subtracted at once.
+ * @see <a href="https://www.chessprogramming.org/Pawn_Structure">Pawn Structure</a>
+ */
+public final class PawnStructure {
+
+    private static final long FILE_A = 0x01_01_01_01_01_01_01_01L;
+    private static final long FILE_H = 0x80_80_80_80_80_80_80_80L;
+    private static final int WHITE = 0;
+
+    private static final int DOUBLED = pack(-10, -25);
+    private static final int ISOLATED = pack(-10, -15);
+    private static final int BACKWARD = pack(-8, -10);
+    // Indexed by the pawn's rank, counted from its own side
+    private static final int[] PASSED = {
+        0, pack(0, 10), pack(5, 15), pack(10, 25), pack(20, 45), pack(35, 75), pack(60, 120), 0
+    };
+    // Given in the endgame to every passed pawn whose path isn't blocked, which depends on the other pieces
+    private static final int UNBLOCKED_PASSER_BONUS = 10;
+
+    /**
+     * Evaluate the pawns of one side.
+     * @param ours The side's pawns.
+     * @param theirs The opponent's pawns.
+     * @param side The ordinal of the side's color.
+     * @return The packed score of the side's pawn structure.
+     */
+    public static int score(long ours, long theirs, int side) {
+        var score = 0;
+
+        var doubled = ours & behind(ours, side);
+        score += Long.bitCount(doubled) * DOUBLED;
+
+        var isolated = ours & ~adjacentFiles(fileFill(ours));
+        score += Long.bitCount(isolated) * ISOLATED;
+
+        // A pawn is backward if its stop square is attacked by an enemy pawn, and no friendly pawn can ever defend it
+        var stops = forward(ours, side);
+        var defendableSquares = frontFill(pawnAttacks(ours, side), side);
+        var backward = backward(stops & pawnAttacks(theirs, 1 - side) & ~defendableSquares, side) & ~isolated;
+        score += Long.bitCount(backward) * BACKWARD;
+
+        var passed = passedPawns(ours, theirs, side);
+
+        while (passed != 0) {
+            var square = Long.numberOfTrailingZeros(passed);
+            score += PASSED[relativeRank(square, side)];
+            passed &= passed - 1;
+        }
+
+        return score;
+    }
+
+    /**
+     * Find the passed pawns of one side: pawns with no enemy pawns in front of them, on their file or the adjacent
+     * ones. When two friendly pawns share a file, only the front one can be passed.
+     * @param ours The side's pawns.
+     * @param theirs The opponent's pawns.
+     * @param side The ordinal of the side's color.
+     * @return The passed pawns.
+     * @see <a href="https://www.chessprogramming.org/Passed_Pawn">Passed Pawn</a>
+     */
+    public static long passedPawns(long ours, long theirs, int side) {
+        var enemyFrontSpans = frontFill(forward(theirs, 1 - side), 1 - side);
+        var blockedSquares = enemyFrontSpans | adjacentFiles(enemyFrontSpans);
+
+        return ours & ~blockedSquares & ~behind(ours, side);
+    }
+
+    /**
+     * Get the endgame bonus of the passed pawns that can advance, because their stop square is empty.
+     * Unlike the rest of the pawn structure, this depends on the other pieces, so it can't be cached.
+     * @param passed The side's passed pawns.
+     * @param occupiedSquares The occupied squares of the board.
+     * @param side The ordinal of the side's color.
+     * @return The endgame bonus.
+     */
+    public static int unblockedPasserBonus(long passed, long occupiedSquares, int side) {
+        var unblocked = passed & backward(~occupiedSquares, side);
+        return Long.bitCount(unblocked) * UNBLOCKED_PASSER_BONUS;
+    }
+
+    /* Packed scores */
+
+    public static int middlegame(int score) {
+        return (score + 0x8000) >> 16;
+    }
+
+    public static int endgame(int score) {
+        return (short) score;
+    }
+
+    static int pack(int middlegame, int endgame) {
+        return (middlegame << 16) + endgame;
+    }
+
+    /* Bitboard operations */
+
+    private static long forward(long bitboard, int side) {
+        return side == WHITE ? bitboard << Board.SIDE_LENGTH : bitboard >>> Board.SIDE_LENGTH;
+    }
+
+    private static long backward(long bitboard, int side) {
+        return forward(bitboard, 1 - side);
+    }
+
+    private static long frontFill(long bitboard, int side) {
+        return side == WHITE ? northFill(bitboard) : southFill(bitboard);
+    }
+
+    private static long behind(long bitboard, int side) {
+        return frontFill(backward(bitboard, side), 1 - side);
+    }
+
+    private static long northFill(long bitboard) {
+        bitboard |= bitboard << 8;
+        bitboard |= bitboard << 16;
+        return bitboard | bitboard << 32;
+    }
+
+    private static long southFill(long bitboard) {
+        bitboard |= bitboard >>> 8;
+        bitboard |= bitboard >>> 16;
+        return bitboard | bitboard >>> 32;
+    }
+
+    private static long fileFill(long bitboard) {
+        return northFill(bitboard) | southFill(bitboard);
+    }
+
+    private static long adjacentFiles(long bitboard) {
+        return (bitboard << 1 & ~FILE_A) | (bitboard >>> 1 & ~FILE_H);
+    }
+
+    private static long pawnAttacks(long pawns, int side) {
+        return adjacentFiles(forward(pawns, side));
+    }
+
+    private static int relativeRank(int square, int side) {
+        var rank = square / Board.SIDE_LENGTH;
+        return side == WHITE ? rank : Board.SIDE_LENGTH - 1 - rank;
+    }
+
+    private PawnStructure() {}
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import com.vmardones.tealchess.board.MaterialKey;
+import com.vmardones.tealchess.board.PieceSquareTables;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * Evaluates positions by material and piece-square tables, blending the middlegame and endgame scores by the game
+ * phase.
+ * The pawn structure and the material imbalance are evaluated too, and some endgames get a specialised scorer.
+ * The scores are computed from scratch on every call, by walking the bitboard of every piece type one square at a time.
+ * @see IncrementalTaperedEvaluator
+ * @see PieceSquareTables
+ */
+public final class TaperedEvaluator implements BoardEvaluator {
+
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    @Override
+    public int evaluate(SearchBoard board) {
+        var middlegame = 0;
+        var endgame = 0;
+        var phase = 0;
+
+        for (var pieceType = 0; pieceType < PIECE_TYPES.length; pieceType++) {
+            for (var side = 0; side < COLORS.length; side++) {
+                var sign = COLORS[side] == board.sideToMove() ? 1 : -1;
+                var bitboard = board.bitboard(PIECE_TYPES[pieceType], COLORS[side]);
+
+                while (bitboard != 0) {
+                    var square = Long.numberOfTrailingZeros(bitboard);
+                    middlegame += sign * PieceSquareTables.middlegame(pieceType, side, square);
+                    endgame += sign * PieceSquareTables.endgame(pieceType, side, square);
+                    phase += PieceSquareTables.phase(pieceType);
+                    bitboard &= bitboard - 1;
+                }
+            }
+        }
+
+        var whitePawns = board.pawns(Color.WHITE);
+        var blackPawns = board.pawns(Color.BLACK);
+        var white = Color.WHITE.ordinal();
+        var black = Color.BLACK.ordinal();
+
+        var materialEntry = MaterialTable.analyze(MaterialKey.key(board));
+        var structureScore = PawnStructure.score(whitePawns, blackPawns, white)
+                - PawnStructure.score(blackPawns, whitePawns, black)
+                + MaterialTable.score(materialEntry);
+
+        var occupiedSquares = board.occupiedSquares();
+        var whitePassed = PawnStructure.passedPawns(whitePawns, blackPawns, white);
+        var blackPassed = PawnStructure.passedPawns(blackPawns, whitePawns, black);
+        var passerBonus = PawnStructure.unblockedPasserBonus(whitePassed, occupiedSquares, white)
+                - PawnStructure.unblockedPasserBonus(blackPassed, occupiedSquares, black);
+
+        var sign = board.sideToMove().isWhite() ? 1 : -1;
+        middlegame += sign * PawnStructure.middlegame(structureScore);
+        endgame += sign * (PawnStructure.endgame(structureScore) + passerBonus);
+
+        var score = PieceSquareTables.taper(middlegame, endgame, phase);
+        return MaterialTable.endgame(materialEntry).score(board, score);
+    }
+}
@@ -15,7 +15,7 @@ import com.vmardones.tealchess.board.BitboardManipulator;
 import com.vmardones.tealchess.board.Board;
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.generator.AttackGenerator;
-import com.vmardones.tealchess.generator.LegalGenerator;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
 import com.vmardones.tealchess.generator.MoveGenerator;
 import com.vmardones.tealchess.move.Move;
 import com.vmardones.tealchess.move.MoveFinder;
@@ -57,11 +57,11 @@ public final class Game implements Fen, Pgn {
      * @param tags Map containing the PGN tag-value pairs.
      */
     public Game(Map<String, String> tags) {
-        this(new MoveMaker(), new MoveFinder(), new AttackGenerator(), new LegalGenerator(), tags);
+        this(new MoveMaker(), new MoveFinder(), new AttackGenerator(), new MaskedLegalGenerator(), tags);
     }
 
     public Game(Map<String, String> tags, Position initialPosition) {
-        this(new MoveMaker(), new MoveFinder(), new AttackGenerator(), new LegalGenerator(), tags, initialPosition);
+        this(new MoveMaker(), new MoveFinder(), new AttackGenerator(), new MaskedLegalGenerator(), tags, initialPosition);
     }
 
     /**
@@ -138,6 +138,14 @@ public final class Game implements Fen, Pgn {
         return tags;
     }
 
+    /**
+     * Get a snapshot of the current state, which is what move choosers receive.
+     * @return The last saved state.
+     */
+    public GameMemento memento() {
+        return history.lastSave();
+    }
+
     public String playerInfo() {
         return player().toString();
     }
@@ -7,21 +7,14 @@ package com.vmardones.tealchess.generator;
 
 import static com.vmardones.tealchess.board.BitboardManipulator.*;
 
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.position.Position;
-import com.vmardones.tealchess.square.AlgebraicConverter;
-import com.vmardones.tealchess.square.Square;
 
 public final class AttackGenerator implements DiagonalGenerator, LookupGenerator, OrthogonalGenerator {
 
     private static final long FILE_A = 0x01_01_01_01_01_01_01_01L;
     private static final long FILE_H = 0x80_80_80_80_80_80_80_80L;
-    private static final long FILES_AB = 0x03_03_03_03_03_03_03_03L;
-    private static final long FILES_GH = 0xc0_c0_c0_c0_c0_c0_c0_c0L;
-    private static final long KNIGHT_PATTERN = 0x0a_11_00_11_0aL;
-    private static final int KNIGHT_PATTERN_CENTER = Square.c3;
-    private static final long KING_PATTERN = 0x07_05_07L;
-    private static final int KING_PATTERN_CENTER = Square.b2;
     private static final int LEFT_PAWN_CAPTURE_OFFSET = 7;
     private static final int RIGHT_PAWN_CAPTURE_OFFSET = 9;
 
@@ -32,8 +25,16 @@ public final class AttackGenerator implements DiagonalGenerator, LookupGenerator
      * @return Attacked squares bitboard.
      */
     public long generate(Position position, Color attacker) {
-        var board = position.board();
+        return generate(new SearchBoard(position), attacker);
+    }
 
+    /**
+     * Generate a bitboard with all the squares attacked by one of the sides.
+     * @param board The search board to analyze.
+     * @param attacker The side to calculate attacks for.
+     * @return Attacked squares bitboard.
+     */
+    public long generate(SearchBoard board, Color attacker) {
         var attacks = 0L;
 
         var pawns = board.pawns(attacker);
@@ -59,13 +60,42 @@ public final class AttackGenerator implements DiagonalGenerator, LookupGenerator
     }
 
     public boolean isKingAttacked(Position position, Color kingColor) {
-        var board = position.board();
-        var king = board.kings(kingColor);
-        var attacker = kingColor.opposite();
+        return isKingAttacked(new SearchBoard(position), kingColor);
+    }
 
-        var attacks = generate(position, attacker);
+    public boolean isKingAttacked(SearchBoard board, Color kingColor) {
+        var kingSquare = firstBit(board.kings(kingColor));
+        return isSquareAttacked(board, kingSquare, kingColor.opposite());
+    }
+
+    /**
+     * Check whether a single square is attacked by one of the sides.
+     * Instead of generating all the attacks, this looks up the attacks of every piece type from the square itself,
+     * and checks if they reach an attacker's piece of the same type.
+     * @param board The search board to analyze.
+     * @param square The square to check.
+     * @param attacker The side to check attacks for.
+     * @return True if any of the attacker's pieces attacks the square.
+     * @see <a href="https://www.chessprogramming.org/Square_Attacked_By">Square Attacked By</a>
+     */
+    public boolean isSquareAttacked(SearchBoard board, int square, Color attacker) {
+        if ((PAWN_ATTACKS[attacker.opposite().ordinal()][square] & board.pawns(attacker)) != 0) {
+            return true;
+        }
+
+        if ((KNIGHT_ATTACKS[square] & board.knights(attacker)) != 0) {
+            return true;
+        }
 
-        return (king & attacks) != 0;
+        if ((KING_ATTACKS[square] & board.kings(attacker)) != 0) {
+            return true;
+        }
+
+        var occupiedSquares = board.occupiedSquares();
+        var queens = board.queens(attacker);
+
+        return (diagonalMoves(square, occupiedSquares) & (board.bishops(attacker) | queens)) != 0
+                || (orthogonalMoves(square, occupiedSquares) & (board.rooks(attacker) | queens)) != 0;
     }
 
     private long addWhitePawnAttacks(long attacks, long pawns) {
@@ -104,16 +134,7 @@ public final class AttackGenerator implements DiagonalGenerator, LookupGenerator
         var nextKnight = firstBit(knights);
 
         do {
-            var attacksToAdd = shiftPattern(KNIGHT_PATTERN, KNIGHT_PATTERN_CENTER, nextKnight);
-
-            var fileIndex = AlgebraicConverter.fileIndex(nextKnight);
-            if (fileIndex < 4) {
-                attacksToAdd = attacksToAdd & ~FILES_GH;
-            } else {
-                attacksToAdd = attacksToAdd & ~FILES_AB;
-            }
-
-            attacks |= attacksToAdd;
+            attacks |= KNIGHT_ATTACKS[nextKnight];
 
             knights = clear(knights, nextKnight);
             nextKnight = firstBit(knights);
@@ -161,19 +182,7 @@ public final class AttackGenerator implements DiagonalGenerator, LookupGenerator
     }
 
     private long addKingAttacks(long attacks, long king) {
-
-        var kingSquare = firstBit(king);
-        var attacksToAdd = shiftPattern(KING_PATTERN, KING_PATTERN_CENTER, kingSquare);
-
-        var fileIndex = AlgebraicConverter.fileIndex(kingSquare);
-        if (fileIndex < 4) {
-            attacksToAdd = attacksToAdd & ~FILE_H;
-        } else {
-            attacksToAdd = attacksToAdd & ~FILE_A;
-        }
-
-        attacks |= attacksToAdd;
-        return attacks;
+        return attacks | KING_ATTACKS[firstBit(king)];
     }
 
     public AttackGenerator() {}
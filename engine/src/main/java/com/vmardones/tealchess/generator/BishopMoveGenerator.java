@@ -7,31 +7,25 @@ package com.vmardones.tealchess.generator;
 
 import static com.vmardones.tealchess.board.BitboardManipulator.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.MoveList;
 import com.vmardones.tealchess.move.MoveType;
-import com.vmardones.tealchess.position.Position;
 
 final class BishopMoveGenerator implements MoveGenerator, DiagonalGenerator {
 
     @Override
-    public List<Move> generate(Position position) {
-        var board = position.board();
-        var sideToMove = position.sideToMove();
+    public void generate(SearchBoard board, MoveList moves) {
+        var sideToMove = board.sideToMove();
         var bishops = board.bishops(sideToMove);
 
         if (bishops == 0) {
-            return new ArrayList<>();
+            return;
         }
 
         var emptySquares = board.emptySquares();
         var occupiedSquares = board.occupiedSquares();
         var capturablePieces = board.capturablePieces(sideToMove);
 
-        var moves = new ArrayList<Move>();
-
         var nextBishop = firstBit(bishops);
 
         do {
@@ -42,8 +36,6 @@ final class BishopMoveGenerator implements MoveGenerator, DiagonalGenerator {
             bishops = clear(bishops, nextBishop);
             nextBishop = firstBit(bishops);
         } while (isSet(bishops, nextBishop));
-
-        return moves;
     }
 
     BishopMoveGenerator() {}
@@ -0,0 +1,120 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import static com.vmardones.tealchess.board.BitboardManipulator.singleBit;
+
+import com.vmardones.tealchess.square.AlgebraicConverter;
+
+/**
+ * Slider attacks calculated at runtime with the hyperbola quintessence, which uses the o^(o-2r) trick on each line.
+ * It only needs a mask per line, but every lookup has to reverse bitboards.
+ * @see <a href="https://www.chessprogramming.org/Hyperbola_Quintessence">Hyperbola Quintessence</a>
+ */
+final class HyperbolaQuintessence {
+
+    private static final long[] DIAGONAL_MASKS = {
+        0x01L,
+        0x01_02L,
+        0x01_02_04L,
+        0x01_02_04_08L,
+        0x01_02_04_08_10L,
+        0x01_02_04_08_10_20L,
+        0x01_02_04_08_10_20_40L,
+        0x01_02_04_08_10_20_40_80L,
+        0x02_04_08_10_20_40_80_00L,
+        0x04_08_10_20_40_80_00_00L,
+        0x08_10_20_40_80_00_00_00L,
+        0x10_20_40_80_00_00_00_00L,
+        0x20_40_80_00_00_00_00_00L,
+        0x40_80_00_00_00_00_00_00L,
+        0x80_00_00_00_00_00_00_00L
+    };
+
+    private static final long[] ANTI_DIAGONAL_MASKS = {
+        0x80L,
+        0x80_40L,
+        0x80_40_20L,
+        0x80_40_20_10L,
+        0x80_40_20_10_08L,
+        0x80_40_20_10_08_04L,
+        0x80_40_20_10_08_04_02L,
+        0x80_40_20_10_08_04_02_01L,
+        0x40_20_10_08_04_02_01_00L,
+        0x20_10_08_04_02_01_00_00L,
+        0x10_08_04_02_01_00_00_00L,
+        0x08_04_02_01_00_00_00_00L,
+        0x04_02_01_00_00_00_00_00L,
+        0x02_01_00_00_00_00_00_00L,
+        0x01_00_00_00_00_00_00_00L
+    };
+
+    private static final long[] RANK_MASKS = {
+        0xFFL,
+        0xFF_00L,
+        0xFF_00_00L,
+        0xFF_00_00_00L,
+        0xFF_00_00_00_00L,
+        0xFF_00_00_00_00_00L,
+        0xFF_00_00_00_00_00_00L,
+        0xFF_00_00_00_00_00_00_00L
+    };
+
+    private static final long[] FILE_MASKS = {
+        0x01_01_01_01_01_01_01_01L,
+        0x02_02_02_02_02_02_02_02L,
+        0x04_04_04_04_04_04_04_04L,
+        0x08_08_08_08_08_08_08_08L,
+        0x10_10_10_10_10_10_10_10L,
+        0x20_20_20_20_20_20_20_20L,
+        0x40_40_40_40_40_40_40_40L,
+        0x80_80_80_80_80_80_80_80L
+    };
+
+    static long diagonalAttacks(int square, long occupiedSquares) {
+        var slider = singleBit(square);
+
+        var diagonalMask = DIAGONAL_MASKS[AlgebraicConverter.diagonalIndex(square)];
+        var diagonalMoves = lineAttacks(slider, occupiedSquares, diagonalMask);
+
+        var antiDiagonalMask = ANTI_DIAGONAL_MASKS[AlgebraicConverter.antiDiagonalIndex(square)];
+        var antiDiagonalMoves = lineAttacks(slider, occupiedSquares, antiDiagonalMask);
+
+        return diagonalMoves | antiDiagonalMoves;
+    }
+
+    static long orthogonalAttacks(int square, long occupiedSquares) {
+        var slider = singleBit(square);
+
+        var horizontalMask = RANK_MASKS[AlgebraicConverter.rankIndex(square)];
+        var horizontalMoves = rankAttacks(slider, occupiedSquares, horizontalMask);
+
+        var verticalMask = FILE_MASKS[AlgebraicConverter.fileIndex(square)];
+        var verticalMoves = lineAttacks(slider, occupiedSquares, verticalMask);
+
+        return horizontalMoves | verticalMoves;
+    }
+
+    private static long rankAttacks(long slider, long occupiedSquares, long mask) {
+        var leftAttacks = occupiedSquares - 2 * slider;
+        var reversedRightAttacks = Long.reverse(occupiedSquares) - 2 * Long.reverse(slider);
+        var rightAttacks = Long.reverse(reversedRightAttacks);
+
+        return (leftAttacks ^ rightAttacks) & mask;
+    }
+
+    private static long lineAttacks(long slider, long occupiedSquares, long mask) {
+        var occupiedLine = occupiedSquares & mask;
+
+        var leftAttacks = occupiedLine - 2 * slider;
+        var reversedRightAttacks = Long.reverse(occupiedLine) - 2 * Long.reverse(slider);
+        var rightAttacks = Long.reverse(reversedRightAttacks);
+
+        return (leftAttacks ^ rightAttacks) & mask;
+    }
+
+    private HyperbolaQuintessence() {}
+}
@@ -5,46 +5,40 @@
 
 package com.vmardones.tealchess.generator;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.move.MoveMaker;
-import com.vmardones.tealchess.position.Position;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.MoveList;
 
 public final class LegalGenerator implements MoveGenerator {
 
     private final MoveGenerator pseudoLegalGenerator;
-    private final MoveMaker moveMaker;
     private final AttackGenerator attackGenerator;
 
     @Override
-    public List<Move> generate(Position position) {
-        var moves = new ArrayList<Move>();
-
-        var pseudoLegals = pseudoLegalGenerator.generate(position);
+    public void generate(SearchBoard board, MoveList moves) {
+        var player = board.sideToMove();
+        var start = moves.size();
+        pseudoLegalGenerator.generate(board, moves);
 
-        for (var pseudoLegal : pseudoLegals) {
-            var postMove = moveMaker.make(position, pseudoLegal);
+        // Pseudo-legal moves are filtered in place, so no extra buffer is needed
+        var end = moves.size();
+        var legalCount = start;
 
-            var opponent = postMove.sideToMove();
-            var attacks = attackGenerator.generate(postMove, opponent);
+        for (var i = start; i < end; i++) {
+            var pseudoLegal = moves.get(i);
+            board.make(pseudoLegal);
 
-            var player = opponent.opposite();
-            var board = postMove.board();
-            var playerKing = board.kings(player);
-
-            if ((playerKing & attacks) == 0) {
-                moves.add(pseudoLegal);
+            if (!attackGenerator.isKingAttacked(board, player)) {
+                moves.set(legalCount++, pseudoLegal);
             }
+
+            board.unmake();
         }
 
-        return moves;
+        moves.truncate(legalCount);
     }
 
     public LegalGenerator() {
         pseudoLegalGenerator = new PseudoLegalGenerator();
-        moveMaker = new MoveMaker();
         attackGenerator = new AttackGenerator();
     }
 }
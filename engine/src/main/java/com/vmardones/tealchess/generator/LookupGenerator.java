@@ -5,13 +5,64 @@
 
 package com.vmardones.tealchess.generator;
 
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.square.AlgebraicConverter;
+import com.vmardones.tealchess.square.Square;
+
+/**
+ * Generates moves for pieces that always follow the same pattern, regardless of the other pieces on the board.
+ * The attacks from every square are precomputed once, so each lookup is a single array read.
+ * @see <a href="https://www.chessprogramming.org/Knight_Pattern">Knight Pattern</a>
+ * @see <a href="https://www.chessprogramming.org/King_Pattern">King Pattern</a>
+ * @see <a href="https://www.chessprogramming.org/Pawn_Attacks_(Bitboards)">Pawn Attacks (Bitboards)</a>
+ */
 interface LookupGenerator {
 
-    default long shiftPattern(long pattern, int patternCenter, int newCenter) {
-        if (newCenter > patternCenter) {
-            return pattern << (newCenter - patternCenter);
+    /** Knight attacks, indexed by square. */
+    long[] KNIGHT_ATTACKS = createAttacks(0x0a_11_00_11_0aL, Square.c3, 0x03_03_03_03_03_03_03_03L);
+
+    /** King attacks, indexed by square. */
+    long[] KING_ATTACKS = createAttacks(0x07_05_07L, Square.b2, 0x01_01_01_01_01_01_01_01L);
+
+    /** Pawn capture attacks, indexed first by the pawn's color and then by square. */
+    long[][] PAWN_ATTACKS = createPawnAttacks();
+
+    /**
+     * Shift a pattern to every square, removing the squares that wrap around the edge of the board.
+     * @param pattern The pattern, centered on a certain square.
+     * @param patternCenter The pattern's center.
+     * @param westFiles The files that the pattern reaches at the west of the board.
+     *     Pieces on the west half can't reach the mirrored east files, and vice versa.
+     * @return The attacks from every square.
+     */
+    private static long[] createAttacks(long pattern, int patternCenter, long westFiles) {
+        var eastFiles = Long.reverse(Long.reverseBytes(westFiles));
+        var attacks = new long[Board.NUMBER_OF_SQUARES];
+
+        for (var square = 0; square < attacks.length; square++) {
+            var shifted =
+                    square > patternCenter ? pattern << (square - patternCenter) : pattern >>> (patternCenter - square);
+            var wrapped = AlgebraicConverter.fileIndex(square) < Board.SIDE_LENGTH / 2 ? eastFiles : westFiles;
+
+            attacks[square] = shifted & ~wrapped;
+        }
+
+        return attacks;
+    }
+
+    private static long[][] createPawnAttacks() {
+        var fileA = 0x01_01_01_01_01_01_01_01L;
+        var fileH = 0x80_80_80_80_80_80_80_80L;
+        var attacks = new long[Color.values().length][Board.NUMBER_OF_SQUARES];
+
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            var pawn = 1L << square;
+
+            attacks[Color.WHITE.ordinal()][square] = pawn << 7 & ~fileH | pawn << 9 & ~fileA;
+            attacks[Color.BLACK.ordinal()][square] = pawn >>> 9 & ~fileH | pawn >>> 7 & ~fileA;
         }
 
-        return pattern >> (patternCenter - newCenter);
+        return attacks;
     }
 }
@@ -0,0 +1,172 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import com.vmardones.tealchess.board.Board;
+
+/**
+ * Slider attacks looked up from precomputed tables, using fancy magic bitboards.
+ * The occupied squares that can block a slider (its relevant occupancy) are multiplied by a magic number,
+ * and the top bits of the product are used as an index into a table with the attacks for that occupancy.
+ * <p>
+ * The magic numbers were found by trial and error with a fixed seed, and the attack tables are filled once when this
+ * class is initialized. Each square has its own slice of a single shared table, sized according to its relevant occupancy.
+ * @see <a href="https://www.chessprogramming.org/Magic_Bitboards">Magic Bitboards</a>
+ */
+final class MagicBitboards {
+
+    private static final int[][] DIAGONAL_DIRECTIONS = {{1, 1}, {1, -1}, {-1, 1}, {-1, -1}};
+    private static final int[][] ORTHOGONAL_DIRECTIONS = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    private static final long[] BISHOP_MAGICS = {
+        0x1002_2008_2101_0820L, 0x0804_0112_0202_1901L, 0x0044_0410_a602_0b00L, 0x0804_051a_0003_1941L,
+        0x0024_0308_0000_8000L, 0x0018_2210_1000_1210L, 0x0180_9890_0821_0000L, 0x000c_1208_0424_1414L,
+        0x0500_0a48_0800_9404L, 0x4100_0808_0800_a020L, 0x0020_1000_80a9_0800L, 0x0821_0424_0280_0002L,
+        0x4024_0110_4000_0000L, 0x0200_4101_6011_20c0L, 0xc210_0201_0120_1000L, 0x0000_0207_01c8_0449L,
+        0x1010_8004_3092_8800L, 0x5009_6010_0121_0400L, 0x9202_0101_0404_0080L, 0x0004_0002_4102_0002L,
+        0x0009_0108_2008_0006L, 0x0004_4000_8820_1001L, 0x0011_0008_8890_1104L, 0x1040_8202_0084_0100L,
+        0x0010_4280_0802_0404L, 0x0044_2020_0242_1400L, 0x0010_2410_0808_0020L, 0x4044_0101_2020_0880L,
+        0x0041_0200_0400_8420L, 0x0030_2080_0040_5000L, 0x1001_0208_0100_9004L, 0x0942_0182_0244_00c2L,
+        0x10d0_8220_40d0_0400L, 0x0401_0490_0020_0140L, 0x0018_8445_0010_0404L, 0x0208_0200_8068_0082L,
+        0x1100_4100_4064_0040L, 0x3000_8800_8033_1000L, 0x0031_020c_2043_8400L, 0x4000_c880_8002_0200L,
+        0x2298_8820_1000_0900L, 0x1200_8450_0202_4820L, 0x0801_2500_4045_0800L, 0x0000_4040_1040_2200L,
+        0x2110_3020_1240_0600L, 0x2220_4810_0040_a420L, 0x0220_04a4_2080_0040L, 0x4001_0c08_8080_020cL,
+        0x0000_5802_0822_0620L, 0x0801_4244_3028_0800L, 0x8000_2284_0888_4500L, 0x0400_004c_4202_2020L,
+        0x0400_1008_1024_0180L, 0xc100_4022_2441_0200L, 0x4044_4410_0405_0404L, 0x0120_0200_8204_8182L,
+        0x0402_0084_08c2_1000L, 0x0026_0a02_0084_8400L, 0x0200_0a00_8048_4800L, 0x4800_0010_9020_8800L,
+        0x8801_2000_4485_0404L, 0x2840_0020_0409_0609L, 0xa0a8_a020_8202_3044L, 0x8002_0801_0104_0103L
+    };
+
+    private static final long[] ROOK_MAGICS = {
+        0x5080_0112_4008_8160L, 0x0200_2082_1043_0200L, 0x0100_0900_1020_0041L, 0x4200_1008_2006_0040L,
+        0x0a80_0304_0008_0080L, 0x8500_0208_0400_0100L, 0x4200_0200_1108_408cL, 0x0100_0100_0085_2c46L,
+        0x1011_8000_4001_2080L, 0x0010_4010_0040_2001L, 0x0088_8080_2000_1000L, 0x4001_0021_000c_1000L,
+        0x0109_0014_b100_1800L, 0x0008_8004_0080_0200L, 0x0004_0001_0248_9024L, 0x0130_8001_0000_4080L,
+        0x0880_0040_2000_4000L, 0x0000_4440_0420_1000L, 0x082c_8080_1000_2000L, 0x2080_8480_0800_1000L,
+        0x0a60_8080_0800_0400L, 0x0000_8080_0400_0200L, 0x0000_0400_4148_1002L, 0x0812_0200_0040_812cL,
+        0x0241_4001_8000_2090L, 0x0020_0284_8040_0028L, 0x0010_0800_2020_0400L, 0x0800_0800_8010_0080L,
+        0x0001_0005_0008_0010L, 0x0020_0200_8080_0400L, 0x2002_122c_0008_1001L, 0x0005_0412_0000_5081L,
+        0x0062_8040_0280_00a0L, 0x0000_8100_2300_4004L, 0x0080_8010_0080_2000L, 0x0130_0800_8080_1000L,
+        0x0000_0400_8080_0800L, 0x2004_8002_0080_0400L, 0x0804_4801_0400_0230L, 0x9802_0081_2200_1044L,
+        0x1020_4000_8020_8000L, 0x0020_2010_0040_c000L, 0x1020_0010_0020_8080L, 0x0804_1000_0901_0020L,
+        0x0021_0008_0013_0004L, 0x8926_0004_1002_0009L, 0x0028_0208_8144_0010L, 0x1800_0040_8112_0014L,
+        0x0000_4000_8000_2080L, 0x0000_4000_2010_0140L, 0x0104_1205_2440_8200L, 0x8800_0800_1000_8080L,
+        0x0002_1008_0005_0100L, 0x4010_0400_8002_0080L, 0x8081_0004_4200_1100L, 0x1000_0421_9106_4200L,
+        0x0008_1020_8841_0202L, 0x0a10_1081_0020_4001L, 0x0000_a002_0841_0013L, 0x6201_0010_0020_0409L,
+        0x0021_0002_1004_0801L, 0x0002_0008_1081_0402L, 0x0020_0210_0108_0084L, 0x00a0_0080_2401_0042L
+    };
+
+    private static final long[] BISHOP_MASKS = new long[Board.NUMBER_OF_SQUARES];
+    private static final long[] ROOK_MASKS = new long[Board.NUMBER_OF_SQUARES];
+    private static final int[] BISHOP_SHIFTS = new int[Board.NUMBER_OF_SQUARES];
+    private static final int[] ROOK_SHIFTS = new int[Board.NUMBER_OF_SQUARES];
+    private static final int[] BISHOP_OFFSETS = new int[Board.NUMBER_OF_SQUARES];
+    private static final int[] ROOK_OFFSETS = new int[Board.NUMBER_OF_SQUARES];
+    private static final long[] ATTACKS;
+
+    static {
+        var size = 0;
+
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            BISHOP_MASKS[square] = relevantOccupancy(square, DIAGONAL_DIRECTIONS);
+            BISHOP_SHIFTS[square] = Long.SIZE - Long.bitCount(BISHOP_MASKS[square]);
+            BISHOP_OFFSETS[square] = size;
+            size += 1 << Long.bitCount(BISHOP_MASKS[square]);
+        }
+
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            ROOK_MASKS[square] = relevantOccupancy(square, ORTHOGONAL_DIRECTIONS);
+            ROOK_SHIFTS[square] = Long.SIZE - Long.bitCount(ROOK_MASKS[square]);
+            ROOK_OFFSETS[square] = size;
+            size += 1 << Long.bitCount(ROOK_MASKS[square]);
+        }
+
+        ATTACKS = new long[size];
+
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            fillAttacks(square, BISHOP_MASKS, BISHOP_MAGICS, BISHOP_SHIFTS, BISHOP_OFFSETS, DIAGONAL_DIRECTIONS);
+            fillAttacks(square, ROOK_MASKS, ROOK_MAGICS, ROOK_SHIFTS, ROOK_OFFSETS, ORTHOGONAL_DIRECTIONS);
+        }
+    }
+
+    static long bishopAttacks(int square, long occupiedSquares) {
+        var index = (occupiedSquares & BISHOP_MASKS[square]) * BISHOP_MAGICS[square] >>> BISHOP_SHIFTS[square];
+        return ATTACKS[BISHOP_OFFSETS[square] + (int) index];
+    }
+
+    static long rookAttacks(int square, long occupiedSquares) {
+        var index = (occupiedSquares & ROOK_MASKS[square]) * ROOK_MAGICS[square] >>> ROOK_SHIFTS[square];
+        return ATTACKS[ROOK_OFFSETS[square] + (int) index];
+    }
+
+    /**
+     * Calculate the squares that can block a slider, which excludes the last square of every ray.
+     * Pieces on those squares don't change the attacks, since the slider reaches them anyway.
+     */
+    private static long relevantOccupancy(int square, int[][] directions) {
+        var mask = 0L;
+
+        for (var direction : directions) {
+            var file = square % Board.SIDE_LENGTH + direction[0];
+            var rank = square / Board.SIDE_LENGTH + direction[1];
+
+            while (isInside(file + direction[0], rank + direction[1])) {
+                mask |= 1L << (rank * Board.SIDE_LENGTH + file);
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+
+        return mask;
+    }
+
+    private static long slowAttacks(int square, long occupiedSquares, int[][] directions) {
+        var attacks = 0L;
+
+        for (var direction : directions) {
+            var file = square % Board.SIDE_LENGTH + direction[0];
+            var rank = square / Board.SIDE_LENGTH + direction[1];
+
+            while (isInside(file, rank)) {
+                var bit = 1L << (rank * Board.SIDE_LENGTH + file);
+                attacks |= bit;
+
+                if ((occupiedSquares & bit) != 0) {
+                    break;
+                }
+
+                file += direction[0];
+                rank += direction[1];
+            }
+        }
+
+        return attacks;
+    }
+
+    private static void fillAttacks(
+            int square, long[] masks, long[] magics, int[] shifts, int[] offsets, int[][] directions) {
+        var mask = masks[square];
+        var occupancy = 0L;
+
+        // Carry-Rippler trick, which enumerates all the subsets of the mask
+        do {
+            var index = (int) (occupancy * magics[square] >>> shifts[square]);
+            var attacks = slowAttacks(square, occupancy, directions);
+            var slot = offsets[square] + index;
+
+            assert ATTACKS[slot] == 0 || ATTACKS[slot] == attacks : "Magic number collision";
+            ATTACKS[slot] = attacks;
+
+            occupancy = (occupancy - mask) & mask;
+        } while (occupancy != 0);
+    }
+
+    private static boolean isInside(int file, int rank) {
+        return file >= 0 && file < Board.SIDE_LENGTH && rank >= 0 && rank < Board.SIDE_LENGTH;
+    }
+
+    private MagicBitboards() {}
+}
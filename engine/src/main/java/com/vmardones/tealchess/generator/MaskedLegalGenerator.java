@@ -0,0 +1,389 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import static com.vmardones.tealchess.board.BitboardManipulator.*;
+import static com.vmardones.tealchess.move.Move.*;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.move.MoveType;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import com.vmardones.tealchess.square.Square;
+
+/**
+ * Generates strictly legal moves, without making them to check if they leave the king in check.
+ * <p>
+ * The pieces giving check and the pieces pinned to the king are found once per position.
+ * When the king is in check, the other pieces can only capture the checker or block its ray (check mask).
+ * Pinned pieces can only move along the line that goes through the king and themselves (pin mask).
+ * Only king moves and en passant captures need an additional test to know if the king would be attacked afterward.
+ * @see <a href="https://www.chessprogramming.org/Move_Generation#Legal">Legal Move Generation</a>
+ * @see <a href="https://www.chessprogramming.org/Checks_and_Pinned_Pieces_(Bitboards)">Checks and Pinned Pieces</a>
+ */
+public final class MaskedLegalGenerator
+        implements MoveGenerator, DiagonalGenerator, LookupGenerator, OrthogonalGenerator {
+
+    private static final long RANK_1 = 0xffL;
+    private static final long RANK_8 = 0xff_00_00_00_00_00_00_00L;
+    private static final long ALL_SQUARES = -1L;
+    private static final long NO_SQUARES = 0L;
+    private static final int PUSH_OFFSET = 8;
+    private static final PromotionChoice[] PROMOTION_CHOICES = PromotionChoice.values();
+
+    private static final int WHITE_SHORT_CASTLE = EncodedMove.encode(WHITE_SHORT_CASTLE_STEPS.getFirst());
+    private static final int WHITE_LONG_CASTLE = EncodedMove.encode(WHITE_LONG_CASTLE_STEPS.getFirst());
+    private static final int BLACK_SHORT_CASTLE = EncodedMove.encode(BLACK_SHORT_CASTLE_STEPS.getFirst());
+    private static final int BLACK_LONG_CASTLE = EncodedMove.encode(BLACK_LONG_CASTLE_STEPS.getFirst());
+
+    /** Squares strictly between two squares on the same line, or 0 if they're not aligned. */
+    private static final long[][] BETWEEN = new long[Board.NUMBER_OF_SQUARES][Board.NUMBER_OF_SQUARES];
+
+    /** The whole line that goes through two squares, or 0 if they're not aligned. */
+    private static final long[][] LINE = new long[Board.NUMBER_OF_SQUARES][Board.NUMBER_OF_SQUARES];
+
+    static {
+        for (var first = 0; first < Board.NUMBER_OF_SQUARES; first++) {
+            for (var second = 0; second < Board.NUMBER_OF_SQUARES; second++) {
+                if (first == second) {
+                    continue;
+                }
+
+                var bits = singleBit(first) | singleBit(second);
+                var firstRays = SliderAttacks.SELECTED.diagonalAttacks(first, 0);
+                var secondRays = SliderAttacks.SELECTED.diagonalAttacks(second, 0);
+
+                if (isCleared(firstRays, second)) {
+                    firstRays = SliderAttacks.SELECTED.orthogonalAttacks(first, 0);
+                    secondRays = SliderAttacks.SELECTED.orthogonalAttacks(second, 0);
+                }
+
+                if (isSet(firstRays, second)) {
+                    LINE[first][second] = firstRays & secondRays | bits;
+                    BETWEEN[first][second] = firstRays & secondRays & betweenRays(first, second);
+                }
+            }
+        }
+    }
+
+    private final AttackGenerator attackGenerator;
+
+    @Override
+    public void generate(SearchBoard board, MoveList moves) {
+        generate(board, moves, ALL_SQUARES);
+    }
+
+    /**
+     * Generate captures and promotions only. Quiet moves are removed from the target bitboards before any move is
+     * encoded, so this is much cheaper than filtering the full move list.
+     */
+    @Override
+    public void generateCaptures(SearchBoard board, MoveList moves) {
+        generate(board, moves, NO_SQUARES);
+    }
+
+    public MaskedLegalGenerator() {
+        attackGenerator = new AttackGenerator();
+    }
+
+    /**
+     * Generate legal moves, keeping only the quiet moves that land on some squares.
+     * Captures and promotions are always generated.
+     * @param quietTargets The squares where quiet moves can land, all of them for full generation or none of them for
+     *     captures only.
+     */
+    private void generate(SearchBoard board, MoveList moves, long quietTargets) {
+        var us = board.sideToMove();
+        var them = us.opposite();
+        var kingSquare = firstBit(board.kings(us));
+        var occupiedSquares = board.occupiedSquares();
+        var ourPieces = board.pieces(us);
+        var theirPieces = board.pieces(them);
+
+        var checkers = attackers(board, kingSquare, them, occupiedSquares);
+
+        addKingMoves(moves, board, kingSquare, ourPieces, theirPieces, quietTargets);
+
+        // In double check, only the king can move
+        if (Long.bitCount(checkers) > 1) {
+            return;
+        }
+
+        var checkMask = checkers == 0 ? ALL_SQUARES : checkers | BETWEEN[kingSquare][firstBit(checkers)];
+        var pinned = pinnedPieces(board, kingSquare, us, ourPieces, theirPieces);
+
+        addPawnMoves(moves, board, kingSquare, checkMask, pinned, quietTargets);
+        addKnightMoves(moves, board, checkMask, pinned, ourPieces, theirPieces, quietTargets);
+        addSliderMoves(moves, board, kingSquare, checkMask, pinned, ourPieces, theirPieces, quietTargets);
+
+        if (checkers == 0 && quietTargets != NO_SQUARES) {
+            addCastles(moves, board, us);
+        }
+    }
+
+    private long attackers(SearchBoard board, int square, Color attacker, long occupiedSquares) {
+        var queens = board.queens(attacker);
+
+        return PAWN_ATTACKS[attacker.opposite().ordinal()][square] & board.pawns(attacker)
+                | KNIGHT_ATTACKS[square] & board.knights(attacker)
+                | KING_ATTACKS[square] & board.kings(attacker)
+                | diagonalMoves(square, occupiedSquares) & (board.bishops(attacker) | queens)
+                | orthogonalMoves(square, occupiedSquares) & (board.rooks(attacker) | queens);
+    }
+
+    /**
+     * Find the pieces that can't leave the line between their king and an enemy slider.
+     * Sliders are found by looking from the king through our own pieces, and a piece is pinned if it's the only one
+     * standing between the king and the slider.
+     */
+    private long pinnedPieces(SearchBoard board, int kingSquare, Color us, long ourPieces, long theirPieces) {
+        var them = us.opposite();
+        var queens = board.queens(them);
+
+        var snipers = diagonalMoves(kingSquare, theirPieces) & (board.bishops(them) | queens)
+                | orthogonalMoves(kingSquare, theirPieces) & (board.rooks(them) | queens);
+        var pinned = 0L;
+
+        while (snipers != 0) {
+            var sniper = firstBit(snipers);
+            var blockers = BETWEEN[kingSquare][sniper] & (ourPieces | theirPieces);
+
+            if (Long.bitCount(blockers) == 1 && (blockers & ourPieces) != 0) {
+                pinned |= blockers;
+            }
+
+            snipers &= snipers - 1;
+        }
+
+        return pinned;
+    }
+
+    private void addKingMoves(
+            MoveList moves, SearchBoard board, int kingSquare, long ourPieces, long theirPieces, long quietTargets) {
+        var them = board.sideToMove().opposite();
+        var capturablePieces = theirPieces & ~board.kings(them);
+
+        // The king is removed, so it can't hide from a slider behind itself
+        var occupiedSquares = (ourPieces | theirPieces) & ~singleBit(kingSquare);
+        var targets = KING_ATTACKS[kingSquare] & (capturablePieces | ~theirPieces & quietTargets) & ~ourPieces;
+
+        while (targets != 0) {
+            var destination = firstBit(targets);
+
+            if (attackers(board, destination, them, occupiedSquares) == 0) {
+                var type = isSet(capturablePieces, destination) ? MoveType.CAPTURE : MoveType.NORMAL;
+                moves.add(EncodedMove.encode(type, kingSquare, destination));
+            }
+
+            targets &= targets - 1;
+        }
+    }
+
+    private void addKnightMoves(
+            MoveList moves,
+            SearchBoard board,
+            long checkMask,
+            long pinned,
+            long ourPieces,
+            long theirPieces,
+            long quietTargets) {
+        // A pinned knight can never stay on the pin line
+        var knights = board.knights(board.sideToMove()) & ~pinned;
+        var emptySquares = ~(ourPieces | theirPieces) & quietTargets;
+        var capturablePieces = board.capturablePieces(board.sideToMove());
+
+        while (knights != 0) {
+            var source = firstBit(knights);
+            var targets = KNIGHT_ATTACKS[source] & checkMask;
+
+            addMoves(moves, MoveType.NORMAL, targets & emptySquares, source);
+            addMoves(moves, MoveType.CAPTURE, targets & capturablePieces, source);
+
+            knights &= knights - 1;
+        }
+    }
+
+    private void addSliderMoves(
+            MoveList moves,
+            SearchBoard board,
+            int kingSquare,
+            long checkMask,
+            long pinned,
+            long ourPieces,
+            long theirPieces,
+            long quietTargets) {
+        var us = board.sideToMove();
+        var occupiedSquares = ourPieces | theirPieces;
+        var emptySquares = ~occupiedSquares & quietTargets;
+        var capturablePieces = board.capturablePieces(us);
+        var queens = board.queens(us);
+
+        var diagonalSliders = board.bishops(us) | queens;
+
+        while (diagonalSliders != 0) {
+            var source = firstBit(diagonalSliders);
+            var targets = diagonalMoves(source, occupiedSquares) & checkMask & pinMask(kingSquare, source, pinned);
+
+            addMoves(moves, MoveType.NORMAL, targets & emptySquares, source);
+            addMoves(moves, MoveType.CAPTURE, targets & capturablePieces, source);
+
+            diagonalSliders &= diagonalSliders - 1;
+        }
+
+        var orthogonalSliders = board.rooks(us) | queens;
+
+        while (orthogonalSliders != 0) {
+            var source = firstBit(orthogonalSliders);
+            var targets = orthogonalMoves(source, occupiedSquares) & checkMask & pinMask(kingSquare, source, pinned);
+
+            addMoves(moves, MoveType.NORMAL, targets & emptySquares, source);
+            addMoves(moves, MoveType.CAPTURE, targets & capturablePieces, source);
+
+            orthogonalSliders &= orthogonalSliders - 1;
+        }
+    }
+
+    private void addPawnMoves(
+            MoveList moves, SearchBoard board, int kingSquare, long checkMask, long pinned, long quietTargets) {
+        var us = board.sideToMove();
+        var pawns = board.pawns(us);
+        var emptySquares = board.emptySquares();
+        // Pushes to the last rank are promotions, so they're never quiet
+        var pushTargets = quietTargets | RANK_1 | RANK_8;
+        var capturablePieces = board.capturablePieces(us);
+        var push = us.isWhite() ? PUSH_OFFSET : -PUSH_OFFSET;
+        var doublePushRank = us.isWhite() ? 0xff_00_00_00L : 0xff_00_00_00_00L;
+
+        while (pawns != 0) {
+            var source = firstBit(pawns);
+            var mask = checkMask & pinMask(kingSquare, source, pinned);
+
+            var singlePush = singleBit(source + push) & emptySquares;
+            addPawnMoves(moves, MoveType.PAWN_PUSH, source, singlePush & pushTargets & mask);
+
+            if (singlePush != 0) {
+                var doublePush = singleBit(source + 2 * push) & emptySquares & doublePushRank & quietTargets & mask;
+                addPawnMoves(moves, MoveType.DOUBLE_PUSH, source, doublePush);
+            }
+
+            var captures = PAWN_ATTACKS[us.ordinal()][source] & capturablePieces & mask;
+            addPawnMoves(moves, MoveType.PAWN_CAPTURE, source, captures);
+
+            pawns &= pawns - 1;
+        }
+
+        addEnPassantMoves(moves, board, kingSquare, checkMask);
+    }
+
+    private void addPawnMoves(MoveList moves, MoveType type, int source, long targets) {
+        while (targets != 0) {
+            var destination = firstBit(targets);
+
+            if (isSet(RANK_1 | RANK_8, destination)) {
+                for (var choice : PROMOTION_CHOICES) {
+                    moves.add(EncodedMove.encode(type, source, destination, choice));
+                }
+            } else {
+                moves.add(EncodedMove.encode(type, source, destination));
+            }
+
+            targets &= targets - 1;
+        }
+    }
+
+    /**
+     * En passant removes two pieces from the same rank, which can expose the king to a slider in a way pin masks don't
+     * detect. Instead, the capture is simulated on the occupancy bitboard, and the king is checked for slider attacks.
+     */
+    private void addEnPassantMoves(MoveList moves, SearchBoard board, int kingSquare, long checkMask) {
+        var target = board.enPassantTarget();
+
+        if (target == SearchBoard.NO_EN_PASSANT_TARGET) {
+            return;
+        }
+
+        var us = board.sideToMove();
+        var them = us.opposite();
+        var capturedPawn = us.isWhite() ? target - PUSH_OFFSET : target + PUSH_OFFSET;
+
+        // The capture must either block a check, or remove the pawn that is giving check
+        if (isCleared(checkMask, target) && isCleared(checkMask, capturedPawn)) {
+            return;
+        }
+
+        var capturers = PAWN_ATTACKS[them.ordinal()][target] & board.pawns(us);
+        var queens = board.queens(them);
+
+        while (capturers != 0) {
+            var source = firstBit(capturers);
+            var occupiedSquares =
+                    board.occupiedSquares() & ~singleBit(source) & ~singleBit(capturedPawn) | singleBit(target);
+
+            var exposed = diagonalMoves(kingSquare, occupiedSquares) & (board.bishops(them) | queens)
+                    | orthogonalMoves(kingSquare, occupiedSquares) & (board.rooks(them) | queens);
+
+            if (exposed == 0) {
+                moves.add(EncodedMove.encode(MoveType.EN_PASSANT, source, target));
+            }
+
+            capturers &= capturers - 1;
+        }
+    }
+
+    private void addCastles(MoveList moves, SearchBoard board, Color us) {
+        var rights = board.castlingRights();
+        var emptySquares = board.emptySquares();
+        var them = us.opposite();
+
+        if (us.isWhite()) {
+            if (rights.whiteShort() && isShortCastlePossible(board, Square.e1, emptySquares, them)) {
+                moves.add(WHITE_SHORT_CASTLE);
+            }
+
+            if (rights.whiteLong() && isLongCastlePossible(board, Square.e1, emptySquares, them)) {
+                moves.add(WHITE_LONG_CASTLE);
+            }
+        } else {
+            if (rights.blackShort() && isShortCastlePossible(board, Square.e8, emptySquares, them)) {
+                moves.add(BLACK_SHORT_CASTLE);
+            }
+
+            if (rights.blackLong() && isLongCastlePossible(board, Square.e8, emptySquares, them)) {
+                moves.add(BLACK_LONG_CASTLE);
+            }
+        }
+    }
+
+    private boolean isShortCastlePossible(SearchBoard board, int kingSquare, long emptySquares, Color opponent) {
+        return isSet(emptySquares, kingSquare + 1)
+                && isSet(emptySquares, kingSquare + 2)
+                && !attackGenerator.isSquareAttacked(board, kingSquare + 1, opponent)
+                && !attackGenerator.isSquareAttacked(board, kingSquare + 2, opponent);
+    }
+
+    private boolean isLongCastlePossible(SearchBoard board, int kingSquare, long emptySquares, Color opponent) {
+        return isSet(emptySquares, kingSquare - 1)
+                && isSet(emptySquares, kingSquare - 2)
+                && isSet(emptySquares, kingSquare - 3)
+                && !attackGenerator.isSquareAttacked(board, kingSquare - 1, opponent)
+                && !attackGenerator.isSquareAttacked(board, kingSquare - 2, opponent);
+    }
+
+    private static long pinMask(int kingSquare, int source, long pinned) {
+        return isSet(pinned, source) ? LINE[kingSquare][source] : ALL_SQUARES;
+    }
+
+    private static long betweenRays(int first, int second) {
+        var low = Math.min(first, second);
+        var high = Math.max(first, second);
+
+        // All the bits strictly between the two squares, in LERF order
+        return (ALL_SQUARES << low + 1) & (ALL_SQUARES >>> Long.SIZE - high);
+    }
+}
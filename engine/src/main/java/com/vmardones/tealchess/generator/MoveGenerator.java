@@ -9,7 +9,10 @@ import static com.vmardones.tealchess.board.BitboardManipulator.*;
 
 import java.util.List;
 
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.EncodedMove;
 import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.move.MoveList;
 import com.vmardones.tealchess.move.MoveType;
 import com.vmardones.tealchess.position.Position;
 
@@ -18,13 +21,66 @@ public sealed interface MoveGenerator
                 KingMoveGenerator,
                 KnightMoveGenerator,
                 LegalGenerator,
+                MaskedLegalGenerator,
                 PawnMoveGenerator,
                 PseudoLegalGenerator,
                 QueenMoveGenerator,
                 RookMoveGenerator {
-    List<Move> generate(Position position);
+    /**
+     * Generate moves for the current position of a search board, appending them to a move list as encoded moves.
+     * This is the method that performance-critical code should use, since it doesn't create any objects.
+     * @param board The search board to analyze.
+     * @param moves The list where the generated moves are added.
+     */
+    void generate(SearchBoard board, MoveList moves);
 
-    default void addMoves(List<Move> moves, MoveType type, long movesToAdd, int source) {
+    /**
+     * Generate only the captures (including en passant) and the promotions of a search board, which are the moves
+     * searched by quiescence search.
+     * By default, the full move list is generated and then filtered. Generators that can restrict their target squares
+     * should override this method, so quiet moves are never generated.
+     * @param board The search board to analyze.
+     * @param moves The list where the generated moves are added.
+     */
+    default void generateCaptures(SearchBoard board, MoveList moves) {
+        var start = moves.size();
+        generate(board, moves);
+
+        var end = start;
+
+        for (var i = start; i < moves.size(); i++) {
+            var move = moves.get(i);
+
+            if (EncodedMove.isCapture(move) || EncodedMove.isPromotion(move)) {
+                moves.set(end++, move);
+            }
+        }
+
+        moves.truncate(end);
+    }
+
+    /**
+     * Generate moves for the current position of a search board, decoding them into {@link Move} records.
+     * @param board The search board to analyze.
+     * @return The generated moves.
+     */
+    default List<Move> generate(SearchBoard board) {
+        var moves = new MoveList();
+        generate(board, moves);
+        return moves.toList();
+    }
+
+    /**
+     * Generate moves for an immutable position.
+     * This copies the position into a new search board, so it shouldn't be used in performance-critical code.
+     * @param position The position to analyze.
+     * @return The generated moves.
+     */
+    default List<Move> generate(Position position) {
+        return generate(new SearchBoard(position));
+    }
+
+    default void addMoves(MoveList moves, MoveType type, long movesToAdd, int source) {
         if (movesToAdd == 0) {
             return;
         }
@@ -32,7 +88,7 @@ public sealed interface MoveGenerator
         var destination = firstBit(movesToAdd);
 
         do {
-            moves.add(new Move(type, source, destination));
+            moves.add(EncodedMove.encode(type, source, destination));
 
             movesToAdd = clear(movesToAdd, destination);
             destination = firstBit(movesToAdd);
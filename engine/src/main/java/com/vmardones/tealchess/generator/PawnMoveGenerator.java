@@ -7,15 +7,12 @@ package com.vmardones.tealchess.generator;
 
 import static com.vmardones.tealchess.board.BitboardManipulator.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.color.Color;
-import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.MoveList;
 import com.vmardones.tealchess.move.MoveType;
 import com.vmardones.tealchess.piece.PromotionChoice;
-import com.vmardones.tealchess.position.Position;
-import com.vmardones.tealchess.square.AlgebraicConverter;
 
 final class PawnMoveGenerator implements MoveGenerator {
 
@@ -30,98 +27,132 @@ final class PawnMoveGenerator implements MoveGenerator {
     private static final int DOUBLE_PUSH_OFFSET = 16;
     private static final int LEFT_CAPTURE_OFFSET = 7;
     private static final int RIGHT_CAPTURE_OFFSET = 9;
+    private static final PromotionChoice[] PROMOTION_CHOICES = PromotionChoice.values();
 
     @Override
-    public List<Move> generate(Position position) {
-        var sideToMove = position.sideToMove();
-        return sideToMove.isWhite() ? generateWhiteMoves(position) : generateBlackMoves(position);
+    public void generate(SearchBoard board, MoveList moves) {
+        if (board.sideToMove().isWhite()) {
+            generateWhiteMoves(board, moves);
+        } else {
+            generateBlackMoves(board, moves);
+        }
     }
 
     PawnMoveGenerator() {}
 
-    private List<Move> generateWhiteMoves(Position position) {
-        var board = position.board();
+    private void generateWhiteMoves(SearchBoard board, MoveList moves) {
         var pawns = board.pawns(Color.WHITE);
 
         if (pawns == 0) {
-            return new ArrayList<>();
+            return;
         }
 
         var emptySquares = board.emptySquares();
         var capturablePieces = board.capturablePieces(Color.WHITE);
 
-        var moves = new ArrayList<Move>();
-
         var pushedPawns = pawns << PUSH_OFFSET;
-        addMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & ~RANK_8, 0, 1);
+        addPawnMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & ~RANK_8, PUSH_OFFSET);
 
         var doublePushedPawns = pawns << DOUBLE_PUSH_OFFSET;
         var skippedEmptySquares = emptySquares << PUSH_OFFSET;
-        addMoves(moves, MoveType.DOUBLE_PUSH, doublePushedPawns & emptySquares & skippedEmptySquares & RANK_4, 0, 2);
+        addPawnMoves(
+                moves,
+                MoveType.DOUBLE_PUSH,
+                doublePushedPawns & emptySquares & skippedEmptySquares & RANK_4,
+                DOUBLE_PUSH_OFFSET);
 
         var leftCapturePawns = pawns << LEFT_CAPTURE_OFFSET;
-        addMoves(moves, MoveType.PAWN_CAPTURE, leftCapturePawns & capturablePieces & ~RANK_8 & ~FILE_H, -1, 1);
+        addPawnMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                leftCapturePawns & capturablePieces & ~RANK_8 & ~FILE_H,
+                LEFT_CAPTURE_OFFSET);
 
         var rightCapturePawns = pawns << RIGHT_CAPTURE_OFFSET;
-        addMoves(moves, MoveType.PAWN_CAPTURE, rightCapturePawns & capturablePieces & ~RANK_8 & ~FILE_A, 1, 1);
-
-        var enPassantTarget = position.enPassantTarget();
-        if (enPassantTarget != null) {
+        addPawnMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                rightCapturePawns & capturablePieces & ~RANK_8 & ~FILE_A,
+                RIGHT_CAPTURE_OFFSET);
+
+        var enPassantTarget = board.enPassantTarget();
+        if (enPassantTarget != SearchBoard.NO_EN_PASSANT_TARGET) {
             var enPassantBitboard = singleBit(enPassantTarget);
 
-            addEnPassantMove(moves, leftCapturePawns & enPassantBitboard & ~FILE_H, -1, 1);
-            addEnPassantMove(moves, rightCapturePawns & enPassantBitboard & ~FILE_A, 1, 1);
+            addEnPassantMove(moves, leftCapturePawns & enPassantBitboard & ~FILE_H, LEFT_CAPTURE_OFFSET);
+            addEnPassantMove(moves, rightCapturePawns & enPassantBitboard & ~FILE_A, RIGHT_CAPTURE_OFFSET);
         }
 
-        addPromotionMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & RANK_8, 0, 1);
-        addPromotionMoves(moves, MoveType.PAWN_CAPTURE, leftCapturePawns & capturablePieces & RANK_8 & ~FILE_H, -1, 1);
-        addPromotionMoves(moves, MoveType.PAWN_CAPTURE, rightCapturePawns & capturablePieces & RANK_8 & ~FILE_A, 1, 1);
-
-        return moves;
+        addPromotionMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & RANK_8, PUSH_OFFSET);
+        addPromotionMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                leftCapturePawns & capturablePieces & RANK_8 & ~FILE_H,
+                LEFT_CAPTURE_OFFSET);
+        addPromotionMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                rightCapturePawns & capturablePieces & RANK_8 & ~FILE_A,
+                RIGHT_CAPTURE_OFFSET);
     }
 
-    private List<Move> generateBlackMoves(Position position) {
-        var board = position.board();
+    private void generateBlackMoves(SearchBoard board, MoveList moves) {
         var pawns = board.pawns(Color.BLACK);
 
         if (pawns == 0) {
-            return new ArrayList<>();
+            return;
         }
 
         var emptySquares = board.emptySquares();
         var capturablePieces = board.capturablePieces(Color.BLACK);
 
-        var moves = new ArrayList<Move>();
-
         var pushedPawns = pawns >> PUSH_OFFSET;
-        addMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & ~RANK_1, 0, -1);
+        addPawnMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & ~RANK_1, -PUSH_OFFSET);
 
         var doublePushedPawns = pawns >> DOUBLE_PUSH_OFFSET;
         var skippedEmptySquares = emptySquares >> PUSH_OFFSET;
-        addMoves(moves, MoveType.DOUBLE_PUSH, doublePushedPawns & emptySquares & skippedEmptySquares & RANK_5, 0, -2);
+        addPawnMoves(
+                moves,
+                MoveType.DOUBLE_PUSH,
+                doublePushedPawns & emptySquares & skippedEmptySquares & RANK_5,
+                -DOUBLE_PUSH_OFFSET);
 
         var leftCapturePawns = pawns >> RIGHT_CAPTURE_OFFSET;
-        addMoves(moves, MoveType.PAWN_CAPTURE, leftCapturePawns & capturablePieces & ~RANK_1 & ~FILE_H, -1, -1);
+        addPawnMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                leftCapturePawns & capturablePieces & ~RANK_1 & ~FILE_H,
+                -RIGHT_CAPTURE_OFFSET);
 
         var rightCapturePawns = pawns >> LEFT_CAPTURE_OFFSET;
-        addMoves(moves, MoveType.PAWN_CAPTURE, rightCapturePawns & capturablePieces & ~RANK_1 & ~FILE_A, 1, -1);
-
-        var enPassantTarget = position.enPassantTarget();
-        if (enPassantTarget != null) {
+        addPawnMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                rightCapturePawns & capturablePieces & ~RANK_1 & ~FILE_A,
+                -LEFT_CAPTURE_OFFSET);
+
+        var enPassantTarget = board.enPassantTarget();
+        if (enPassantTarget != SearchBoard.NO_EN_PASSANT_TARGET) {
             var enPassantBitboard = singleBit(enPassantTarget);
 
-            addEnPassantMove(moves, leftCapturePawns & enPassantBitboard & ~FILE_H, -1, -1);
-            addEnPassantMove(moves, rightCapturePawns & enPassantBitboard & ~FILE_A, 1, -1);
+            addEnPassantMove(moves, leftCapturePawns & enPassantBitboard & ~FILE_H, -RIGHT_CAPTURE_OFFSET);
+            addEnPassantMove(moves, rightCapturePawns & enPassantBitboard & ~FILE_A, -LEFT_CAPTURE_OFFSET);
         }
 
-        addPromotionMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & RANK_1, 0, -1);
-        addPromotionMoves(moves, MoveType.PAWN_CAPTURE, leftCapturePawns & capturablePieces & RANK_1 & ~FILE_H, -1, -1);
-        addPromotionMoves(moves, MoveType.PAWN_CAPTURE, rightCapturePawns & capturablePieces & RANK_1 & ~FILE_A, 1, -1);
-
-        return moves;
+        addPromotionMoves(moves, MoveType.PAWN_PUSH, pushedPawns & emptySquares & RANK_1, -PUSH_OFFSET);
+        addPromotionMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                leftCapturePawns & capturablePieces & RANK_1 & ~FILE_H,
+                -RIGHT_CAPTURE_OFFSET);
+        addPromotionMoves(
+                moves,
+                MoveType.PAWN_CAPTURE,
+                rightCapturePawns & capturablePieces & RANK_1 & ~FILE_A,
+                -LEFT_CAPTURE_OFFSET);
     }
 
-    private void addMoves(List<Move> moves, MoveType type, long movesToAdd, int fileDelta, int rankDelta) {
+    private void addPawnMoves(MoveList moves, MoveType type, long movesToAdd, int offset) {
         if (movesToAdd == 0) {
             return;
         }
@@ -129,32 +160,23 @@ final class PawnMoveGenerator implements MoveGenerator {
         var destination = firstBit(movesToAdd);
 
         do {
-            var fileIndex = AlgebraicConverter.fileIndex(destination);
-            var rankIndex = AlgebraicConverter.rankIndex(destination);
-            var source = AlgebraicConverter.toSquare(fileIndex - fileDelta, rankIndex - rankDelta);
-
-            moves.add(new Move(type, source, destination));
+            moves.add(EncodedMove.encode(type, destination - offset, destination));
 
             movesToAdd = clear(movesToAdd, destination);
             destination = firstBit(movesToAdd);
         } while (isSet(movesToAdd, destination));
     }
 
-    private void addEnPassantMove(List<Move> moves, long movesToAdd, int fileDelta, int rankDelta) {
+    private void addEnPassantMove(MoveList moves, long movesToAdd, int offset) {
         if (movesToAdd == 0) {
             return;
         }
 
         var destination = firstBit(movesToAdd);
-
-        var fileIndex = AlgebraicConverter.fileIndex(destination);
-        var rankIndex = AlgebraicConverter.rankIndex(destination);
-        var source = AlgebraicConverter.toSquare(fileIndex - fileDelta, rankIndex - rankDelta);
-
-        moves.add(new Move(MoveType.EN_PASSANT, source, destination));
+        moves.add(EncodedMove.encode(MoveType.EN_PASSANT, destination - offset, destination));
     }
 
-    private void addPromotionMoves(List<Move> moves, MoveType type, long movesToAdd, int fileDelta, int rankDelta) {
+    private void addPromotionMoves(MoveList moves, MoveType type, long movesToAdd, int offset) {
         if (movesToAdd == 0) {
             return;
         }
@@ -162,12 +184,10 @@ final class PawnMoveGenerator implements MoveGenerator {
         var destination = firstBit(movesToAdd);
 
         do {
-            var fileIndex = AlgebraicConverter.fileIndex(destination);
-            var rankIndex = AlgebraicConverter.rankIndex(destination);
-            var source = AlgebraicConverter.toSquare(fileIndex - fileDelta, rankIndex - rankDelta);
+            var source = destination - offset;
 
-            for (var choice : PromotionChoice.values()) {
-                moves.add(new Move(type, source, destination, choice));
+            for (var choice : PROMOTION_CHOICES) {
+                moves.add(EncodedMove.encode(type, source, destination, choice));
             }
 
             movesToAdd = clear(movesToAdd, destination);
@@ -5,11 +5,8 @@
 
 package com.vmardones.tealchess.generator;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.position.Position;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.MoveList;
 
 final class PseudoLegalGenerator implements MoveGenerator {
 
@@ -21,17 +18,13 @@ final class PseudoLegalGenerator implements MoveGenerator {
     private final MoveGenerator kingMoveGenerator;
 
     @Override
-    public List<Move> generate(Position position) {
-        var moves = new ArrayList<Move>();
-
-        moves.addAll(pawnMoveGenerator.generate(position));
-        moves.addAll(knightMoveGenerator.generate(position));
-        moves.addAll(bishopMoveGenerator.generate(position));
-        moves.addAll(rookMoveGenerator.generate(position));
-        moves.addAll(queenMoveGenerator.generate(position));
-        moves.addAll(kingMoveGenerator.generate(position));
-
-        return moves;
+    public void generate(SearchBoard board, MoveList moves) {
+        pawnMoveGenerator.generate(board, moves);
+        knightMoveGenerator.generate(board, moves);
+        bishopMoveGenerator.generate(board, moves);
+        rookMoveGenerator.generate(board, moves);
+        queenMoveGenerator.generate(board, moves);
+        kingMoveGenerator.generate(board, moves);
     }
 
     PseudoLegalGenerator() {
@@ -7,31 +7,25 @@ package com.vmardones.tealchess.generator;
 
 import static com.vmardones.tealchess.board.BitboardManipulator.*;
 
-import java.util.ArrayList;
-import java.util.List;
-
-import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.MoveList;
 import com.vmardones.tealchess.move.MoveType;
-import com.vmardones.tealchess.position.Position;
 
 final class QueenMoveGenerator implements MoveGenerator, OrthogonalGenerator, DiagonalGenerator {
 
     @Override
-    public List<Move> generate(Position position) {
-        var board = position.board();
-        var sideToMove = position.sideToMove();
+    public void generate(SearchBoard board, MoveList moves) {
+        var sideToMove = board.sideToMove();
         var queens = board.queens(sideToMove);
 
         if (queens == 0) {
-            return new ArrayList<>();
+            return;
         }
 
         var emptySquares = board.emptySquares();
         var occupiedSquares = board.occupiedSquares();
         var capturablePieces = board.capturablePieces(sideToMove);
 
-        var moves = new ArrayList<Move>();
-
         var nextQueen = firstBit(queens);
 
         do {
@@ -46,8 +40,6 @@ final class QueenMoveGenerator implements MoveGenerator, OrthogonalGenerator, Di
             queens = clear(queens, nextQueen);
             nextQueen = firstBit(queens);
         } while (isSet(queens, nextQueen));
-
-        return moves;
     }
 
     QueenMoveGenerator() {}
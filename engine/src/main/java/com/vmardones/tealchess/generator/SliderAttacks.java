@@ -0,0 +1,62 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The available ways of calculating slider attacks.
+ * Every generator uses the same one, which can be chosen with the {@value #PROPERTY} system property.
+ * Magic bitboards are used by default, and when the property's value is unknown.
+ * The hyperbola quintessence is kept for comparison.
+ * @see <a href="https://www.chessprogramming.org/Sliding_Piece_Attacks">Sliding Piece Attacks</a>
+ */
+enum SliderAttacks {
+    MAGIC_BITBOARDS {
+        @Override
+        long diagonalAttacks(int square, long occupiedSquares) {
+            return MagicBitboards.bishopAttacks(square, occupiedSquares);
+        }
+
+        @Override
+        long orthogonalAttacks(int square, long occupiedSquares) {
+            return MagicBitboards.rookAttacks(square, occupiedSquares);
+        }
+    },
+    HYPERBOLA_QUINTESSENCE {
+        @Override
+        long diagonalAttacks(int square, long occupiedSquares) {
+            return HyperbolaQuintessence.diagonalAttacks(square, occupiedSquares);
+        }
+
+        @Override
+        long orthogonalAttacks(int square, long occupiedSquares) {
+            return HyperbolaQuintessence.orthogonalAttacks(square, occupiedSquares);
+        }
+    };
+
+    static final String PROPERTY = "tealchess.sliderAttacks";
+    static final SliderAttacks SELECTED = fromName(System.getProperty(PROPERTY));
+
+    /**
+     * Find the way of calculating slider attacks with the given name, ignoring case.
+     * @param name The name, or null if it wasn't chosen.
+     * @return The slider attacks with that name, or magic bitboards if there are none.
+     */
+    static SliderAttacks fromName(@Nullable String name) {
+        for (var sliderAttacks : values()) {
+            if (sliderAttacks.name().equalsIgnoreCase(name)) {
+                return sliderAttacks;
+            }
+        }
+
+        return MAGIC_BITBOARDS;
+    }
+
+    abstract long diagonalAttacks(int square, long occupiedSquares);
+
+    abstract long orthogonalAttacks(int square, long occupiedSquares);
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.move;
+
+import com.vmardones.tealchess.piece.PieceType;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Packs a move into a single int, so performance-critical code can store moves in primitive arrays.
+ * Encoded moves are converted to {@link Move} records only when they leave the engine.
+ * <p>
+ * The layout of an encoded move is the following:
+ * <ul>
+ *     <li>Bits 0-5: Source square.</li>
+ *     <li>Bits 6-11: Destination square.</li>
+ *     <li>Bits 12-14: Ordinal of the {@link MoveType}.</li>
+ *     <li>Bits 15-17: Ordinal of the promoted {@link PieceType}, or 0 if the move isn't a promotion.</li>
+ * </ul>
+ * @see <a href="https://www.chessprogramming.org/Encoding_Moves">Encoding Moves</a>
+ */
+public final class EncodedMove {
+
+    /** A value that never represents a real move, because its source and destination are the same square. */
+    public static final int NONE = 0;
+
+    private static final int SQUARE_MASK = 0x3f;
+    private static final int TYPE_MASK = 0x7;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int TYPE_SHIFT = 12;
+    private static final int PROMOTION_SHIFT = 15;
+    private static final int NO_PROMOTION = 0;
+
+    private static final MoveType[] MOVE_TYPES = MoveType.values();
+    private static final @Nullable PromotionChoice[] PROMOTION_CHOICES = createPromotionChoices();
+
+    public static int encode(MoveType type, int source, int destination) {
+        return source | destination << DESTINATION_SHIFT | type.ordinal() << TYPE_SHIFT;
+    }
+
+    public static int encode(MoveType type, int source, int destination, PromotionChoice promotionChoice) {
+        return encode(type, source, destination) | promotionChoice.type().ordinal() << PROMOTION_SHIFT;
+    }
+
+    public static int encode(Move move) {
+        var promotionChoice = move.promotionChoice();
+
+        if (promotionChoice == null) {
+            return encode(move.type(), move.source(), move.destination());
+        }
+
+        return encode(move.type(), move.source(), move.destination(), promotionChoice);
+    }
+
+    public static Move decode(int move) {
+        return new Move(type(move), source(move), destination(move), promotionChoice(move));
+    }
+
+    /* Getters */
+
+    public static int source(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int destination(int move) {
+        return move >>> DESTINATION_SHIFT & SQUARE_MASK;
+    }
+
+    public static MoveType type(int move) {
+        return MOVE_TYPES[move >>> TYPE_SHIFT & TYPE_MASK];
+    }
+
+    public static boolean isCapture(int move) {
+        var type = type(move);
+        return type == MoveType.CAPTURE || type == MoveType.PAWN_CAPTURE || type == MoveType.EN_PASSANT;
+    }
+
+    public static boolean isPromotion(int move) {
+        return promotionType(move) != NO_PROMOTION;
+    }
+
+    /**
+     * Get the piece type a pawn is promoted to.
+     * @param move The encoded move.
+     * @return The ordinal of the promoted piece type, or 0 if the move isn't a promotion.
+     */
+    public static int promotionType(int move) {
+        return move >>> PROMOTION_SHIFT & PROMOTION_MASK;
+    }
+
+    public static @Nullable PromotionChoice promotionChoice(int move) {
+        return PROMOTION_CHOICES[promotionType(move)];
+    }
+
+    private static @Nullable PromotionChoice[] createPromotionChoices() {
+        var choices = new PromotionChoice[PieceType.values().length];
+
+        for (var choice : PromotionChoice.values()) {
+            choices[choice.type().ordinal()] = choice;
+        }
+
+        return choices;
+    }
+
+    private EncodedMove() {}
+}
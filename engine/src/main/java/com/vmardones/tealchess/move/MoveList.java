@@ -0,0 +1,73 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.move;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A reusable list of encoded moves, backed by a primitive array.
+ * Move generators write into it directly, so it can be cleared and filled again for every node without creating garbage.
+ * @see EncodedMove
+ * @see <a href="https://www.chessprogramming.org/Move_List">Move List</a>
+ */
+public final class MoveList {
+
+    /** The capacity of a move list, which is larger than the number of moves in any reachable position. */
+    public static final int MAX_MOVES = 256;
+
+    private final int[] moves = new int[MAX_MOVES];
+    private int size;
+
+    public MoveList() {}
+
+    public void add(int move) {
+        moves[size++] = move;
+    }
+
+    public int get(int index) {
+        return moves[index];
+    }
+
+    public void set(int index, int move) {
+        moves[index] = move;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Discard every move after a specific index.
+     * @param newSize The number of moves to keep.
+     */
+    public void truncate(int newSize) {
+        size = newSize;
+    }
+
+    /**
+     * Decode all the moves in this list.
+     * Meant to be used when moves leave the engine, for example when they're sent to the frontend.
+     * @return The decoded moves.
+     */
+    public List<Move> toList() {
+        var result = new ArrayList<Move>(size);
+
+        for (var i = 0; i < size; i++) {
+            result.add(EncodedMove.decode(moves[i]));
+        }
+
+        return result;
+    }
+}
@@ -6,7 +6,6 @@
 package com.vmardones.tealchess.parser.fen;
 
 import com.vmardones.tealchess.board.Board;
-import com.vmardones.tealchess.board.Mailbox;
 import com.vmardones.tealchess.position.Position;
 import com.vmardones.tealchess.square.AlgebraicConverter;
 import org.jspecify.annotations.Nullable;
@@ -31,14 +30,13 @@ public final class FenSerializer {
 
         var result = new StringBuilder();
 
-        var pieces = new Mailbox(board).pieces();
         var emptyCounter = 0;
 
         for (var rank = Board.SIDE_LENGTH - 1; rank >= 0; rank--) {
             for (var file = 0; file < Board.SIDE_LENGTH; file++) {
 
                 var square = AlgebraicConverter.toSquare(file, rank);
-                var piece = pieces.get(square);
+                var piece = board.pieceAt(square);
 
                 if (piece == null) {
                     emptyCounter++;
@@ -9,9 +9,11 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
 
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.generator.MoveGenerator;
+import com.vmardones.tealchess.move.EncodedMove;
 import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.move.MoveMaker;
+import com.vmardones.tealchess.move.MoveList;
 import com.vmardones.tealchess.move.MoveType;
 import com.vmardones.tealchess.player.PlayerFactory;
 import com.vmardones.tealchess.player.PlayerStatus;
@@ -20,29 +22,16 @@ import com.vmardones.tealchess.position.Position;
 public final class Perft {
 
     private final MoveGenerator moveGenerator;
-    private final MoveMaker moveMaker;
     private final PlayerFactory playerFactory;
+    private final MoveList[] moveLists = new MoveList[SearchBoard.MAX_PLY];
 
-    public Perft(MoveGenerator moveGenerator, MoveMaker moveMaker, PlayerFactory playerFactory) {
+    public Perft(MoveGenerator moveGenerator, PlayerFactory playerFactory) {
         this.moveGenerator = moveGenerator;
-        this.moveMaker = moveMaker;
         this.playerFactory = playerFactory;
     }
 
     public long execute(Position position, int depth) {
-        if (depth == 0) {
-            return 1L;
-        }
-
-        var nodes = 0L;
-        var moves = moveGenerator.generate(position);
-
-        for (var move : moves) {
-            var postMove = moveMaker.make(position, move);
-            nodes += execute(postMove, depth - 1);
-        }
-
-        return nodes;
+        return execute(new SearchBoard(position), depth);
     }
 
     public Map<Move, Long> divide(Position position, int depth) {
@@ -50,12 +39,15 @@ public final class Perft {
             return new HashMap<>();
         }
 
+        var board = new SearchBoard(position);
         var nodesPerMove = new HashMap<Move, Long>();
-        var moves = moveGenerator.generate(position);
+        var moves = generateMoves(board);
 
-        for (var move : moves) {
-            var postMove = moveMaker.make(position, move);
-            nodesPerMove.put(move, execute(postMove, depth - 1));
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+            board.make(move);
+            nodesPerMove.put(EncodedMove.decode(move), execute(board, depth - 1));
+            board.unmake();
         }
 
         return nodesPerMove;
@@ -82,15 +74,56 @@ public final class Perft {
     }
 
     public PerftResults detailedExecute(Position position, int depth) {
+        return detailedExecute(new SearchBoard(position), depth);
+    }
+
+    public Map<Move, PerftResults> detailedDivide(Position position, int depth) {
+        if (depth == 0) {
+            return new HashMap<>();
+        }
+
+        var board = new SearchBoard(position);
+        var resultsPerMove = new HashMap<Move, PerftResults>();
+        var moves = generateMoves(board);
+
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+            board.make(move);
+            resultsPerMove.put(EncodedMove.decode(move), detailedExecute(board, depth - 1));
+            board.unmake();
+        }
+
+        return resultsPerMove;
+    }
+
+    private long execute(SearchBoard board, int depth) {
+        if (depth == 0) {
+            return 1L;
+        }
+
+        var nodes = 0L;
+        var moves = generateMoves(board);
+
+        for (var i = 0; i < moves.size(); i++) {
+            board.make(moves.get(i));
+            nodes += execute(board, depth - 1);
+            board.unmake();
+        }
+
+        return nodes;
+    }
+
+    private PerftResults detailedExecute(SearchBoard board, int depth) {
         if (depth == 0) {
             return new PerftResults(1, 0, 0, 0, 0, 0, 0);
         }
 
         var results = new PerftResults();
-        var moves = moveGenerator.generate(position);
+        var moves = generateMoves(board);
 
-        for (var move : moves) {
-            var type = move.type();
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+            var type = EncodedMove.type(move);
 
             if (type == MoveType.CAPTURE || type == MoveType.PAWN_CAPTURE) {
                 results.captures++;
@@ -104,14 +137,14 @@ public final class Perft {
                 results.castles++;
             }
 
-            if (move.promotionChoice() != null) {
+            if (EncodedMove.isPromotion(move)) {
                 results.promotions++;
             }
 
-            var postMove = moveMaker.make(position, move);
-            var nextSideToMove = postMove.sideToMove();
+            board.make(move);
+            var nextSideToMove = board.sideToMove();
 
-            var nextPlayer = playerFactory.create(postMove, nextSideToMove);
+            var nextPlayer = playerFactory.create(board, nextSideToMove);
             var status = nextPlayer.status();
 
             if (status == PlayerStatus.CHECKED) {
@@ -122,26 +155,25 @@ public final class Perft {
                 results.checkmates++;
             }
 
-            results.add(detailedExecute(postMove, depth - 1));
+            results.add(detailedExecute(board, depth - 1));
+            board.unmake();
         }
 
         return results;
     }
 
-    public Map<Move, PerftResults> detailedDivide(Position position, int depth) {
-        if (depth == 0) {
-            return new HashMap<>();
-        }
-
-        var resultsPerMove = new HashMap<Move, PerftResults>();
-        var moves = moveGenerator.generate(position);
+    private MoveList generateMoves(SearchBoard board) {
+        var ply = board.ply();
 
-        for (var move : moves) {
-            var postMove = moveMaker.make(position, move);
-            resultsPerMove.put(move, detailedExecute(postMove, depth - 1));
+        if (moveLists[ply] == null) {
+            moveLists[ply] = new MoveList();
         }
 
-        return resultsPerMove;
+        var moves = moveLists[ply];
+        moves.clear();
+        moveGenerator.generate(board, moves);
+
+        return moves;
     }
 
     public static class PerftResults {
@@ -5,22 +5,38 @@
 
 package com.vmardones.tealchess.piece;
 
+import com.vmardones.tealchess.board.Board;
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.parser.Unicode;
 import com.vmardones.tealchess.parser.fen.Fen;
 import com.vmardones.tealchess.parser.pgn.San;
 import com.vmardones.tealchess.square.AlgebraicConverter;
 
-// TODO: Add a piece cache
 // TODO: Add a "coordinate" method, which is meant to be used by the frontend
 /**
  * A chess piece, which players can move in the board.
+ * Pieces are immutable, so every possible piece is created once and shared through {@link #of(PieceType, Color, int)}.
  * @see <a href="https://www.chessprogramming.org/Pieces">Pieces</a>
  */
 public record Piece(PieceType type, Color color, int square) implements Fen, San, Unicode {
 
+    private static final Piece[][][] CACHE = createCache();
+
     /* Static factory methods */
 
+    /**
+     * Get the shared instance of a piece, without allocating a new one.
+     * Prefer this method to the canonical constructor in code that runs often.
+     *
+     * @param type The piece type.
+     * @param color The piece's color.
+     * @param square The square the piece stands on.
+     * @return The cached piece.
+     */
+    public static Piece of(PieceType type, Color color, int square) {
+        return CACHE[type.ordinal()][color.ordinal()][square];
+    }
+
     /**
      * Alternative method to build a piece, useful for parsing.
      * Only valid symbols are "PNBRQK" for white pieces and "pnbrqk" for black pieces;
@@ -33,7 +49,7 @@ public record Piece(PieceType type, Color color, int square) implements Fen, San
     public static Piece fromSymbol(String symbol, int square) {
         var color = Character.isUpperCase(symbol.charAt(0)) ? Color.WHITE : Color.BLACK;
 
-        return new Piece(PieceType.fromSymbol(symbol), color, square);
+        return of(PieceType.fromSymbol(symbol), color, square);
     }
 
     /* Getters */
@@ -95,4 +111,20 @@ public record Piece(PieceType type, Color color, int square) implements Fen, San
     public String toString() {
         return unicode() + AlgebraicConverter.toAlgebraic(square);
     }
+
+    private static Piece[][][] createCache() {
+        var types = PieceType.values();
+        var colors = Color.values();
+        var cache = new Piece[types.length][colors.length][Board.NUMBER_OF_SQUARES];
+
+        for (var type : types) {
+            for (var color : colors) {
+                for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+                    cache[type.ordinal()][color.ordinal()][square] = new Piece(type, color, square);
+                }
+            }
+        }
+
+        return cache;
+    }
 }
@@ -62,7 +62,7 @@ public enum PieceType {
 
     /* Getters */
 
-    int value() {
+    public int value() {
         return value;
     }
 
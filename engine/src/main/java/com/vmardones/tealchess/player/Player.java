@@ -5,28 +5,116 @@
 
 package com.vmardones.tealchess.player;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.unmodifiableList;
 
 import java.util.List;
+import java.util.Objects;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.move.*;
+import org.jspecify.annotations.Nullable;
 
 /**
  * The entity that controls the pieces in one side of the board. It can be controlled either by a
  * human or an AI.
- *
- * @param color  The player's side of the board.
- * @param legals The legal moves of the player.
- * @param status The state of the player, which may limit their moves.
+ * <p>
+ * The legal moves and the status are calculated the first time they are asked for, and then memoized.
+ * Many players are created and never inspected (like the ones in old game states), so they never pay for move
+ * generation. Racing threads may calculate them more than once, but they always reach the same result.
+ * <p>
+ * Players are compared by value, like game mementos expect, so comparing two players calculates their legal moves.
  */
-public record Player(Color color, List<Move> legals, PlayerStatus status) {
+public final class Player {
+
+    private final Color color;
+    private final Supplier<List<Move>> legalsSupplier;
+    private final BooleanSupplier kingAttackedSupplier;
+    private volatile @Nullable List<Move> legals;
+    private volatile @Nullable PlayerStatus status;
+
+    /**
+     * Create a player whose legal moves and status are calculated on first access.
+     * @param color The player's side of the board.
+     * @param legalsSupplier Generates the legal moves of the player.
+     * @param kingAttackedSupplier Checks whether the player's king is attacked.
+     */
+    Player(Color color, Supplier<List<Move>> legalsSupplier, BooleanSupplier kingAttackedSupplier) {
+        this.color = color;
+        this.legalsSupplier = legalsSupplier;
+        this.kingAttackedSupplier = kingAttackedSupplier;
+    }
+
+    /**
+     * Create a player whose legal moves and status are already known.
+     * @param color The player's side of the board.
+     * @param legals The legal moves of the player.
+     * @param status The state of the player, which may limit their moves.
+     */
+    Player(Color color, List<Move> legals, PlayerStatus status) {
+        this(color, () -> legals, () -> status == PlayerStatus.CHECKED || status == PlayerStatus.CHECKMATED);
+        this.legals = legals;
+        this.status = status;
+    }
+
+    /**
+     * Create a player who is waiting for the opponent to move, so they don't have legal moves yet.
+     * @param color The player's side of the board.
+     * @return The waiting player.
+     */
+    static Player waiting(Color color) {
+        return new Player(color, emptyList(), PlayerStatus.OK);
+    }
 
     /* Getters */
 
-    @Override
+    public Color color() {
+        return color;
+    }
+
     public List<Move> legals() {
-        return unmodifiableList(legals);
+        var result = legals;
+
+        if (result == null) {
+            result = legalsSupplier.get();
+            legals = result;
+        }
+
+        return unmodifiableList(result);
+    }
+
+    public PlayerStatus status() {
+        var result = status;
+
+        if (result == null) {
+            result = calculateStatus();
+            status = result;
+        }
+
+        return result;
+    }
+
+    /* equals and hashCode */
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        var other = (Player) o;
+        return color == other.color && legals().equals(other.legals()) && status() == other.status();
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(color, legals(), status());
     }
 
     /* toString */
@@ -34,7 +122,7 @@ public record Player(Color color, List<Move> legals, PlayerStatus status) {
     @Override
     public String toString() {
         var template =
-                switch (status) {
+                switch (status()) {
                     case CHECKMATED -> "%s player, in checkmate!";
                     case STALEMATED -> "%s player, in stalemate!";
                     case CHECKED -> "%s player, in check!";
@@ -43,4 +131,24 @@ public record Player(Color color, List<Move> legals, PlayerStatus status) {
 
         return String.format(template, color);
     }
+
+    private PlayerStatus calculateStatus() {
+
+        var attacked = kingAttackedSupplier.getAsBoolean();
+        var cantMove = legals().isEmpty();
+
+        if (attacked && cantMove) {
+            return PlayerStatus.CHECKMATED;
+        }
+
+        if (!attacked && cantMove) {
+            return PlayerStatus.STALEMATED;
+        }
+
+        if (attacked) {
+            return PlayerStatus.CHECKED;
+        }
+
+        return PlayerStatus.OK;
+    }
 }
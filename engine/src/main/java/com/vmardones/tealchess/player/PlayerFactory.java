@@ -5,14 +5,10 @@
 
 package com.vmardones.tealchess.player;
 
-import static java.util.Collections.emptyList;
-
-import java.util.List;
-
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.generator.AttackGenerator;
 import com.vmardones.tealchess.generator.MoveGenerator;
-import com.vmardones.tealchess.move.Move;
 import com.vmardones.tealchess.position.Position;
 
 /**
@@ -31,37 +27,38 @@ public final class PlayerFactory {
     /**
      * Create a player for a new position, which includes all their legal moves if it's their turn to move.
      * Otherwise, the player won't have legal moves.
-     * This method also calculates the player's status after the move is done.
+     * The legal moves and the player's status are calculated lazily, the first time they are needed.
      * @param position The position to analyze. Generally, this will be used after a move is made.
      * @param color The player's color.
      * @return The requested player.
      */
     public Player create(Position position, Color color) {
-        if (color == position.sideToMove()) {
-            var legals = moveGenerator.generate(position);
-            return new Player(color, legals, calculateStatus(position, color, legals));
+        if (color != position.sideToMove()) {
+            return Player.waiting(color);
         }
 
-        return new Player(color, emptyList(), PlayerStatus.OK);
+        return new Player(
+                color, () -> moveGenerator.generate(position), () -> attackGenerator.isKingAttacked(position, color));
     }
 
-    private PlayerStatus calculateStatus(Position position, Color color, List<Move> legals) {
-
-        var attacked = attackGenerator.isKingAttacked(position, color);
-        var cantMove = legals.isEmpty();
-
-        if (attacked && cantMove) {
-            return PlayerStatus.CHECKMATED;
-        }
-
-        if (!attacked && cantMove) {
-            return PlayerStatus.STALEMATED;
+    /**
+     * Create a player for the current position of a search board.
+     * Search boards are mutable, so unlike {@link #create(Position, Color)}, the legal moves and status are calculated
+     * right away.
+     * @param board The search board to analyze.
+     * @param color The player's color.
+     * @return The requested player.
+     * @see #create(Position, Color)
+     */
+    public Player create(SearchBoard board, Color color) {
+        if (color != board.sideToMove()) {
+            return Player.waiting(color);
         }
 
-        if (attacked) {
-            return PlayerStatus.CHECKED;
-        }
+        var legals = moveGenerator.generate(board);
+        var player = new Player(color, () -> legals, () -> attackGenerator.isKingAttacked(board, color));
+        player.status();
 
-        return PlayerStatus.OK;
+        return player;
     }
 }
@@ -11,9 +11,11 @@ import org.jspecify.annotations.Nullable;
 
 /**
  * A chess position. The position of the game at a specific point in time.
+ * Every position carries its Zobrist key, which is usually updated incrementally when a move is made.
  * @see <a href="https://www.chessprogramming.org/Chess_Position">Chess Position</a>
  * @see <a href="https://www.chessprogramming.org/Side_to_move">Side to move</a>
  * @see <a href="https://www.chessprogramming.org/Halfmove_Clock">Halfmove Clock</a>
+ * @see Zobrist
  */
 public record Position(
         Board board,
@@ -21,7 +23,8 @@ public record Position(
         CastlingRights castlingRights,
         @Nullable Integer enPassantTarget,
         int halfmoveClock,
-        int fullmoveCounter) {
+        int fullmoveCounter,
+        long hash) {
 
     /**
      * The initial position of a chess game.
@@ -30,6 +33,38 @@ public record Position(
      */
     public static final Position INITIAL_POSITION = createInitialPosition();
 
+    public Position {
+        assert hash == Zobrist.hash(board, sideToMove, castlingRights, enPassantTarget)
+                : "Zobrist key doesn't match the position";
+    }
+
+    /**
+     * Create a position, calculating its Zobrist key from scratch.
+     */
+    public Position(
+            Board board,
+            Color sideToMove,
+            CastlingRights castlingRights,
+            @Nullable Integer enPassantTarget,
+            int halfmoveClock,
+            int fullmoveCounter) {
+        this(
+                board,
+                sideToMove,
+                castlingRights,
+                enPassantTarget,
+                halfmoveClock,
+                fullmoveCounter,
+                Zobrist.hash(board, sideToMove, castlingRights, enPassantTarget));
+    }
+
+    /* hashCode */
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(hash);
+    }
+
     private static Position createInitialPosition() {
         return new Position(Board.INITIAL_BOARD, Color.WHITE, new CastlingRights(true, true, true, true), null, 0, 1);
     }
@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.position;
+
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.piece.PieceType;
+import com.vmardones.tealchess.square.AlgebraicConverter;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Zobrist hashing, which identifies a position with a 64-bit key.
+ * Every piece on every square, the side to move, each castling right and each en passant file has a random key.
+ * A position's key is the XOR of the keys of all its features, so it can be updated incrementally when a move is made.
+ * @see <a href="https://www.chessprogramming.org/Zobrist_Hashing">Zobrist Hashing</a>
+ */
+public final class Zobrist {
+
+    private static final long SEED = 0x7ea1_c4e5_5L;
+    private static final PieceType[] PIECE_TYPES = PieceType.values();
+    private static final Color[] COLORS = Color.values();
+
+    private static final long[][][] PIECE_KEYS = new long[PIECE_TYPES.length][COLORS.length][Board.NUMBER_OF_SQUARES];
+    private static final long BLACK_TO_MOVE_KEY;
+    private static final long WHITE_SHORT_KEY;
+    private static final long WHITE_LONG_KEY;
+    private static final long BLACK_SHORT_KEY;
+    private static final long BLACK_LONG_KEY;
+    private static final long[] EN_PASSANT_KEYS = new long[Board.SIDE_LENGTH];
+
+    static {
+        var random = new SplittableRandom(SEED);
+
+        for (var pieceKeys : PIECE_KEYS) {
+            for (var colorKeys : pieceKeys) {
+                for (var square = 0; square < colorKeys.length; square++) {
+                    colorKeys[square] = random.nextLong();
+                }
+            }
+        }
+
+        BLACK_TO_MOVE_KEY = random.nextLong();
+        WHITE_SHORT_KEY = random.nextLong();
+        WHITE_LONG_KEY = random.nextLong();
+        BLACK_SHORT_KEY = random.nextLong();
+        BLACK_LONG_KEY = random.nextLong();
+
+        for (var file = 0; file < EN_PASSANT_KEYS.length; file++) {
+            EN_PASSANT_KEYS[file] = random.nextLong();
+        }
+    }
+
+    /* Feature keys */
+
+    /**
+     * Get the key of a piece standing on a square.
+     * @param pieceType The ordinal of the piece type.
+     * @param color The ordinal of the piece's color.
+     * @param square The square.
+     * @return The piece's key.
+     */
+    public static long piece(int pieceType, int color, int square) {
+        return PIECE_KEYS[pieceType][color][square];
+    }
+
+    /**
+     * Get the key that is toggled every time the side to move changes.
+     * The key is only present in positions where black is the side to move.
+     * @return The side to move key.
+     */
+    public static long blackToMove() {
+        return BLACK_TO_MOVE_KEY;
+    }
+
+    public static long castlingRights(CastlingRights rights) {
+        var key = 0L;
+
+        if (rights.whiteShort()) {
+            key ^= WHITE_SHORT_KEY;
+        }
+
+        if (rights.whiteLong()) {
+            key ^= WHITE_LONG_KEY;
+        }
+
+        if (rights.blackShort()) {
+            key ^= BLACK_SHORT_KEY;
+        }
+
+        if (rights.blackLong()) {
+            key ^= BLACK_LONG_KEY;
+        }
+
+        return key;
+    }
+
+    /**
+     * Get the key of an en passant target. Only the target's file is considered.
+     * @param enPassantTarget The en passant target, or {@link SearchBoard#NO_EN_PASSANT_TARGET} if there isn't one.
+     * @return The en passant key, which is 0 if there isn't an en passant target.
+     */
+    public static long enPassant(int enPassantTarget) {
+        if (enPassantTarget == SearchBoard.NO_EN_PASSANT_TARGET) {
+            return 0L;
+        }
+
+        return EN_PASSANT_KEYS[AlgebraicConverter.fileIndex(enPassantTarget)];
+    }
+
+    /* Hashing from scratch */
+
+    /**
+     * Calculate the key of a position from scratch.
+     * @param board The board.
+     * @param sideToMove The side to move.
+     * @param castlingRights The castling rights.
+     * @param enPassantTarget The en passant target, if any.
+     * @return The position's key.
+     */
+    public static long hash(
+            Board board, Color sideToMove, CastlingRights castlingRights, @Nullable Integer enPassantTarget) {
+        var target = enPassantTarget == null ? SearchBoard.NO_EN_PASSANT_TARGET : enPassantTarget;
+        return hash(board::bitboard, sideToMove, castlingRights, target);
+    }
+
+    /**
+     * Calculate the key of a search board's current position from scratch.
+     * Meant to verify the incrementally updated key, so it shouldn't be used in performance-critical code.
+     * @param board The search board.
+     * @return The position's key.
+     */
+    public static long hash(SearchBoard board) {
+        return hash(board::bitboard, board.sideToMove(), board.castlingRights(), board.enPassantTarget());
+    }
+
+    /**
+     * Calculate the pawn key of a search board's current position from scratch: the XOR of the keys of its pawns.
+     * Meant to verify the incrementally updated key, so it shouldn't be used in performance-critical code.
+     * @param board The search board.
+     * @return The position's pawn key.
+     */
+    public static long pawnHash(SearchBoard board) {
+        var key = 0L;
+
+        for (var color : COLORS) {
+            var bitboard = board.pawns(color);
+
+            while (bitboard != 0) {
+                var square = Long.numberOfTrailingZeros(bitboard);
+                key ^= piece(PieceType.PAWN.ordinal(), color.ordinal(), square);
+                bitboard &= bitboard - 1;
+            }
+        }
+
+        return key;
+    }
+
+    private static long hash(
+            BitboardSource bitboards, Color sideToMove, CastlingRights castlingRights, int enPassantTarget) {
+        var key = 0L;
+
+        for (var pieceType : PIECE_TYPES) {
+            for (var color : COLORS) {
+                var bitboard = bitboards.bitboard(pieceType, color);
+
+                while (bitboard != 0) {
+                    var square = Long.numberOfTrailingZeros(bitboard);
+                    key ^= piece(pieceType.ordinal(), color.ordinal(), square);
+                    bitboard &= bitboard - 1;
+                }
+            }
+        }
+
+        if (sideToMove.isBlack()) {
+            key ^= BLACK_TO_MOVE_KEY;
+        }
+
+        return key ^ castlingRights(castlingRights) ^ enPassant(enPassantTarget);
+    }
+
+    @FunctionalInterface
+    private interface BitboardSource {
+        long bitboard(PieceType pieceType, Color color);
+    }
+
+    private Zobrist() {}
+}
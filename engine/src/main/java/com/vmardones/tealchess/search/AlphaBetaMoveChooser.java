@@ -0,0 +1,259 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import java.util.ArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.evaluation.BoardEvaluator;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.position.Position;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Chooses moves with a negamax search that uses alpha-beta pruning, run inside an iterative deepening loop.
+ * Every iteration searches one ply deeper than the previous one, and starts with the best root move found so far.
+ * Searching the best move first lets alpha-beta prune most of the remaining moves, so the shallow iterations usually
+ * pay for themselves.
+ * The chosen move is always the best one of the last completed iteration.
+ * <p>
+ * The last ply is followed by a quiescence search that only tries captures and promotions, so the evaluator is never
+ * called in the middle of an exchange.
+ * <p>
+ * The results of every node are saved in a transposition table, so positions reached through different move orders are
+ * only searched once, and the best move of a previous visit (the hash move) is searched first.
+ * The remaining moves are searched in order: captures by MVV-LVA, then killer moves, then quiet moves by their history
+ * of beta cutoffs.
+ * <p>
+ * On top of that, the search uses principal variation search, aspiration windows, null move pruning and late move
+ * reductions. Each of them can be disabled with {@link #features(SearchFeatures)}.
+ * <p>
+ * The search can use more than one thread (Lazy SMP). Helper threads search the same root, at staggered depths, and
+ * only share the transposition table with the main thread. When the main thread finishes, the helpers are stopped and
+ * the result of the thread with the deepest completed iteration is chosen, preferring the main thread on ties.
+ * <p>
+ * A search can also be limited by time or nodes, and stopped from another thread. The node limit is shared by all the
+ * threads. In every case, the chosen move is the best one found so far.
+ * @see <a href="https://www.chessprogramming.org/Alpha-Beta">Alpha-Beta</a>
+ * @see <a href="https://www.chessprogramming.org/Iterative_Deepening">Iterative Deepening</a>
+ * @see <a href="https://www.chessprogramming.org/Lazy_SMP">Lazy SMP</a>
+ */
+public final class AlphaBetaMoveChooser implements MoveChooser {
+
+    /** The score of being checkmated at the root. Mates found deeper in the tree score closer to 0. */
+    public static final int MATE_SCORE = 100_000;
+
+    /** The deepest iteration that can be searched, used when the search is only limited by time or nodes. */
+    public static final int MAX_DEPTH = 64;
+
+    private static final int DEFAULT_TABLE_SIZE = 16;
+
+    private final int depth;
+    private final TranspositionTable table;
+    private final SearchWorker[] workers;
+    private SearchFeatures features = SearchFeatures.ALL;
+    // The stop flag of the running search. Every search gets its own, so a late stop can't abort the next search
+    private volatile @Nullable AtomicBoolean runningSearch;
+    private long nodes;
+    private int bestScore;
+
+    /**
+     * Create a single-threaded alpha-beta move chooser, with its own transposition table of 16 MB.
+     * @param evaluator The evaluator used at the leaves of the search.
+     * @param depth The depth of the last iteration, in plies.
+     */
+    public AlphaBetaMoveChooser(BoardEvaluator evaluator, int depth) {
+        this(evaluator, depth, new TranspositionTable(DEFAULT_TABLE_SIZE));
+    }
+
+    /**
+     * Create a single-threaded alpha-beta move chooser that uses an existing transposition table.
+     * @param evaluator The evaluator used at the leaves of the search.
+     * @param depth The depth of the last iteration, in plies.
+     * @param table The transposition table.
+     */
+    public AlphaBetaMoveChooser(BoardEvaluator evaluator, int depth, TranspositionTable table) {
+        this(evaluator, depth, table, 1);
+    }
+
+    /**
+     * Create an alpha-beta move chooser that searches with multiple threads.
+     * The evaluator is shared by all the threads, so it must be thread-safe.
+     * @param evaluator The evaluator used at the leaves of the search.
+     * @param depth The depth of the last iteration, in plies.
+     * @param table The transposition table, shared by all the threads.
+     * @param threads The number of search threads, including the caller's thread.
+     */
+    public AlphaBetaMoveChooser(BoardEvaluator evaluator, int depth, TranspositionTable table, int threads) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException(
+                    "The search depth must be between 1 and " + MAX_DEPTH + ", got " + depth);
+        }
+
+        if (threads < 1) {
+            throw new IllegalArgumentException("The search needs at least 1 thread, got " + threads);
+        }
+
+        this.depth = depth;
+        this.table = table;
+
+        workers = new SearchWorker[threads];
+
+        for (var i = 0; i < threads; i++) {
+            workers[i] = new SearchWorker(i, evaluator, table);
+        }
+    }
+
+    @Override
+    public Move chooseMove(GameMemento state) {
+        return chooseMove(state, SearchLimits.NONE);
+    }
+
+    /**
+     * Search until one of the limits is reached, or until the search is stopped.
+     * If the limits don't include a depth, time, node count or infinite search, the default depth of this chooser is
+     * used. The time and node limits are checked every few nodes, so they can be exceeded by a small amount.
+     * The node limit counts the nodes of every thread, like {@link #nodes()}.
+     * @param state The state of the game.
+     * @param limits The conditions that end the search.
+     * @return The best move found.
+     */
+    public Move chooseMove(GameMemento state, SearchLimits limits) {
+        var stop = new AtomicBoolean();
+        runningSearch = stop;
+
+        try {
+            return search(state.position(), limits, stop);
+        } finally {
+            runningSearch = null;
+        }
+    }
+
+    /* Setters */
+
+    /**
+     * Choose which techniques the following searches use.
+     * @param value The enabled search features.
+     * @return This move chooser.
+     */
+    public AlphaBetaMoveChooser features(SearchFeatures value) {
+        features = value;
+
+        for (var worker : workers) {
+            worker.features(value);
+        }
+
+        return this;
+    }
+
+    /**
+     * Stop the current search as soon as possible, from any thread.
+     * The search then returns the best move of its last completed iteration.
+     * If no search is running, this does nothing, so it can't affect a search started later.
+     */
+    public void stop() {
+        var stop = runningSearch;
+
+        if (stop != null) {
+            stop.set(true);
+        }
+    }
+
+    /* Getters */
+
+    /**
+     * Get the number of nodes visited by the last search, counting every iteration and every thread.
+     * @return The node count.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    /**
+     * Get the score of the move chosen by the last search, from the point of view of the side that moved.
+     * @return The best score.
+     */
+    public int bestScore() {
+        return bestScore;
+    }
+
+    public SearchFeatures features() {
+        return features;
+    }
+
+    public TranspositionTable transpositionTable() {
+        return table;
+    }
+
+    public int threads() {
+        return workers.length;
+    }
+
+    private Move search(Position position, SearchLimits limits, AtomicBoolean stop) {
+        var mainWorker = workers[0];
+        var timeManager = new TimeManager(limits, position.sideToMove());
+        var nodeLimit = limits.nodes() > 0 ? limits.nodes() : SearchWorker.NO_NODE_LIMIT;
+        var searchNodes = new AtomicLong();
+
+        if (!mainWorker.prepare(position, maxDepth(limits, position.sideToMove()), stop, searchNodes, timeManager, nodeLimit)) {
+            throw new IllegalStateException("There are no legal moves to choose from");
+        }
+
+        table.newSearch();
+
+        var helpers = new ArrayList<Thread>();
+
+        for (var i = 1; i < workers.length; i++) {
+            workers[i].prepare(position, maxDepth(limits, position.sideToMove()), stop, searchNodes, null, nodeLimit);
+            helpers.add(Thread.ofPlatform().name("search-helper-" + i).daemon().start(workers[i]));
+        }
+
+        mainWorker.run();
+        stop.set(true);
+
+        for (var helper : helpers) {
+            joinHelper(helper);
+        }
+
+        var best = mainWorker;
+        nodes = 0;
+
+        for (var worker : workers) {
+            nodes += worker.nodes();
+
+            if (worker.completedDepth() > best.completedDepth()) {
+                best = worker;
+            }
+        }
+
+        bestScore = best.bestScore();
+        return EncodedMove.decode(best.bestMove());
+    }
+
+    private int maxDepth(SearchLimits limits, Color sideToMove) {
+        if (limits.depth() > 0) {
+            return Math.min(limits.depth(), MAX_DEPTH);
+        }
+
+        if (limits.isTimed(sideToMove) || limits.infinite() || limits.nodes() > 0) {
+            return MAX_DEPTH;
+        }
+
+        return depth;
+    }
+
+    private static void joinHelper(Thread helper) {
+        try {
+            helper.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import java.util.Random;
+import java.util.random.RandomGenerator;
+
+import com.vmardones.tealchess.book.PolyglotBook;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.Move;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * Plays the moves of an opening book while the game is still in the book, and lets another move chooser search once
+ * it leaves the book.
+ * @see <a href="https://www.chessprogramming.org/Opening_Book">Opening Book</a>
+ */
+public final class BookMoveChooser implements MoveChooser {
+
+    private final PolyglotBook book;
+    private final MoveChooser fallback;
+    private final RandomGenerator random;
+
+    public BookMoveChooser(PolyglotBook book, MoveChooser fallback) {
+        this(book, fallback, new Random());
+    }
+
+    public BookMoveChooser(PolyglotBook book, MoveChooser fallback, RandomGenerator random) {
+        this.book = book;
+        this.fallback = fallback;
+        this.random = random;
+    }
+
+    @Override
+    public Move chooseMove(GameMemento state) {
+        var bookMove = bookMove(state);
+        return bookMove != null ? bookMove : fallback.chooseMove(state);
+    }
+
+    /**
+     * Choose a move from the book only, for callers that search the position with their own limits when it's out of
+     * the book.
+     * @param state The state of the game.
+     * @return A book move, or null if the position isn't in the book.
+     */
+    public @Nullable Move bookMove(GameMemento state) {
+        return book.chooseMove(state, random);
+    }
+}
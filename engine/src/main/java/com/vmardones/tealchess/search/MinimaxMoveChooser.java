@@ -7,22 +7,19 @@ package com.vmardones.tealchess.search;
 
 import java.util.Random;
 
-import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.evaluation.BoardEvaluator;
 import com.vmardones.tealchess.game.GameMemento;
-import com.vmardones.tealchess.generator.AttackGenerator;
-import com.vmardones.tealchess.generator.LegalGenerator;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
 import com.vmardones.tealchess.generator.MoveGenerator;
 import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.move.MoveMaker;
-import com.vmardones.tealchess.player.PlayerFactory;
+import com.vmardones.tealchess.move.MoveList;
 
 public final class MinimaxMoveChooser implements MoveChooser {
 
     private final Random random = new Random();
-    private final MoveGenerator moveGenerator = new LegalGenerator();
-    private final MoveMaker moveMaker = new MoveMaker();
-    private final PlayerFactory playerFactory = new PlayerFactory(new AttackGenerator(), moveGenerator);
+    private final MoveGenerator moveGenerator = new MaskedLegalGenerator();
+    private final MoveList[] moveLists = new MoveList[SearchBoard.MAX_PLY];
     private final BoardEvaluator evaluator;
     private final int depth;
 
@@ -36,20 +33,16 @@ public final class MinimaxMoveChooser implements MoveChooser {
 
         var legals = state.player().legals();
         var bestMove = legals.getFirst();
+        var board = new SearchBoard(state.position());
 
         var highest = Integer.MIN_VALUE;
         var lowest = Integer.MAX_VALUE;
 
         for (var move : legals) {
-            // TODO: Encapsulate this into a method
-            var position = moveMaker.make(state.position(), move);
-            var whitePlayer = playerFactory.create(position, Color.WHITE);
-            var blackPlayer = playerFactory.create(position, Color.BLACK);
+            board.make(move);
 
-            var nextState = new GameMemento(position, whitePlayer, blackPlayer, move);
-
-            if (position.sideToMove().isWhite()) {
-                var score = min(nextState, depth - 1);
+            if (board.sideToMove().isWhite()) {
+                var score = min(board, depth - 1);
 
                 if (score > highest) {
                     highest = score;
@@ -58,7 +51,7 @@ public final class MinimaxMoveChooser implements MoveChooser {
                     bestMove = move;
                 }
             } else {
-                var score = max(nextState, depth - 1);
+                var score = max(board, depth - 1);
 
                 if (score < lowest) {
                     lowest = score;
@@ -67,28 +60,30 @@ public final class MinimaxMoveChooser implements MoveChooser {
                     bestMove = move;
                 }
             }
+
+            board.unmake();
         }
 
         return bestMove;
     }
 
-    private int min(GameMemento state, int depth) {
-        var legals = state.player().legals();
-
-        if (depth == 0 || legals.isEmpty()) {
-            return evaluator.evaluate(state);
+    private int min(SearchBoard board, int depth) {
+        if (depth == 0) {
+            return evaluator.evaluate(board);
         }
 
-        var lowest = Integer.MAX_VALUE;
+        var legals = generateMoves(board);
 
-        for (var move : legals) {
-            var position = moveMaker.make(state.position(), move);
-            var whitePlayer = playerFactory.create(position, Color.WHITE);
-            var blackPlayer = playerFactory.create(position, Color.BLACK);
+        if (legals.isEmpty()) {
+            return evaluator.evaluate(board);
+        }
 
-            var nextState = new GameMemento(position, whitePlayer, blackPlayer, move);
+        var lowest = Integer.MAX_VALUE;
 
-            var score = max(nextState, depth - 1);
+        for (var i = 0; i < legals.size(); i++) {
+            board.make(legals.get(i));
+            var score = max(board, depth - 1);
+            board.unmake();
 
             if (score < lowest) {
                 lowest = score;
@@ -98,23 +93,23 @@ public final class MinimaxMoveChooser implements MoveChooser {
         return lowest;
     }
 
-    private int max(GameMemento state, int depth) {
-        var legals = state.player().legals();
-
-        if (depth == 0 || legals.isEmpty()) {
-            return evaluator.evaluate(state);
+    private int max(SearchBoard board, int depth) {
+        if (depth == 0) {
+            return evaluator.evaluate(board);
         }
 
-        var highest = Integer.MIN_VALUE;
+        var legals = generateMoves(board);
 
-        for (var move : legals) {
-            var position = moveMaker.make(state.position(), move);
-            var whitePlayer = playerFactory.create(position, Color.WHITE);
-            var blackPlayer = playerFactory.create(position, Color.BLACK);
+        if (legals.isEmpty()) {
+            return evaluator.evaluate(board);
+        }
 
-            var nextState = new GameMemento(position, whitePlayer, blackPlayer, move);
+        var highest = Integer.MIN_VALUE;
 
-            var score = min(nextState, depth - 1);
+        for (var i = 0; i < legals.size(); i++) {
+            board.make(legals.get(i));
+            var score = min(board, depth - 1);
+            board.unmake();
 
             if (score > highest) {
                 highest = score;
@@ -123,4 +118,18 @@ public final class MinimaxMoveChooser implements MoveChooser {
 
         return highest;
     }
+
+    private MoveList generateMoves(SearchBoard board) {
+        var ply = board.ply();
+
+        if (moveLists[ply] == null) {
+            moveLists[ply] = new MoveList();
+        }
+
+        var moves = moveLists[ply];
+        moves.clear();
+        moveGenerator.generate(board, moves);
+
+        return moves;
+    }
 }
@@ -8,6 +8,7 @@ package com.vmardones.tealchess.search;
 import com.vmardones.tealchess.game.GameMemento;
 import com.vmardones.tealchess.move.Move;
 
-public sealed interface MoveChooser permits MinimaxMoveChooser, NegamaxMoveChooser, RandomMoveChooser {
+public sealed interface MoveChooser
+        permits AlphaBetaMoveChooser, BookMoveChooser, MinimaxMoveChooser, NegamaxMoveChooser, RandomMoveChooser {
     Move chooseMove(GameMemento state);
 }
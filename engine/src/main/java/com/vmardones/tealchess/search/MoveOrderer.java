@@ -0,0 +1,187 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.move.MoveType;
+import com.vmardones.tealchess.piece.PieceType;
+
+/**
+ * Decides in which order the moves of a node are searched, since alpha-beta prunes the most when the best move is
+ * searched first.
+ * <p>
+ * Every move gets a score, in this order of priority:
+ * <ol>
+ *     <li>The hash move, which was the best move the last time this position was searched.</li>
+ *     <li>Captures and promotions, by MVV-LVA.</li>
+ *     <li>The killer moves of the current ply: quiet moves that caused a beta cutoff in a sibling node.</li>
+ *     <li>Other quiet moves, by how often they caused beta cutoffs anywhere in the tree (history heuristic).</li>
+ * </ol>
+ * The moves aren't sorted. Instead, {@link #pick(MoveList, int[], int)} selects the best remaining move every time,
+ * so no work is wasted ordering the moves that a cutoff never lets the search reach.
+ * <p>
+ * The killers and the history are learned during the search, so every search thread needs its own orderer.
+ * @see <a href="https://www.chessprogramming.org/Move_Ordering">Move Ordering</a>
+ * @see <a href="https://www.chessprogramming.org/Killer_Heuristic">Killer Heuristic</a>
+ * @see <a href="https://www.chessprogramming.org/History_Heuristic">History Heuristic</a>
+ */
+final class MoveOrderer {
+
+    private static final int HASH_MOVE_SCORE = Integer.MAX_VALUE;
+    private static final int CAPTURE_SCORE = 1 << 30;
+    private static final int KILLER_SCORE = 1 << 29;
+    // When any history score reaches this limit, all of them are halved, so they never reach the killers
+    private static final int HISTORY_LIMIT = 1 << 28;
+    private static final int KILLERS_PER_PLY = 2;
+    private static final int PIECE_TYPES = PieceType.values().length;
+
+    private final int[][] killers = new int[SearchBoard.MAX_PLY][KILLERS_PER_PLY];
+    private final int[][] history = new int[2][Board.NUMBER_OF_SQUARES * Board.NUMBER_OF_SQUARES];
+
+    /**
+     * Forget the killers of the previous search, and reduce the weight of its history.
+     */
+    void newSearch() {
+        for (var plyKillers : killers) {
+            plyKillers[0] = EncodedMove.NONE;
+            plyKillers[1] = EncodedMove.NONE;
+        }
+
+        ageHistory();
+    }
+
+    /**
+     * Score every move of a node, so they can be picked in order.
+     * @param board The board, at the node's position.
+     * @param moves The node's moves.
+     * @param scores Where the scores are saved, at the same indices as the moves.
+     * @param hashMove The move saved in the transposition table, or {@link EncodedMove#NONE}.
+     */
+    void score(SearchBoard board, MoveList moves, int[] scores, int hashMove) {
+        var plyKillers = killers[board.ply()];
+        var sideHistory = history[board.sideToMove().ordinal()];
+
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+
+            if (move == hashMove) {
+                scores[i] = HASH_MOVE_SCORE;
+            } else if (isTactical(move)) {
+                scores[i] = CAPTURE_SCORE + mvvLva(board, move);
+            } else if (move == plyKillers[0]) {
+                scores[i] = KILLER_SCORE + 1;
+            } else if (move == plyKillers[1]) {
+                scores[i] = KILLER_SCORE;
+            } else {
+                scores[i] = sideHistory[butterflyIndex(move)];
+            }
+        }
+    }
+
+    /**
+     * Score captures and promotions only, by MVV-LVA. Meant for quiescence search, where there are no quiet moves.
+     * @param board The board, at the node's position.
+     * @param moves The node's moves.
+     * @param scores Where the scores are saved, at the same indices as the moves.
+     */
+    void scoreCaptures(SearchBoard board, MoveList moves, int[] scores) {
+        for (var i = 0; i < moves.size(); i++) {
+            scores[i] = mvvLva(board, moves.get(i));
+        }
+    }
+
+    /**
+     * Move the best remaining move to an index, one step of a selection sort.
+     * @param moves The node's moves.
+     * @param scores The moves' scores.
+     * @param index The index of the next move to search. All the moves before it were already picked.
+     * @return The move to search next.
+     */
+    static int pick(MoveList moves, int[] scores, int index) {
+        var best = index;
+
+        for (var i = index + 1; i < moves.size(); i++) {
+            if (scores[i] > scores[best]) {
+                best = i;
+            }
+        }
+
+        var move = moves.get(best);
+
+        if (best != index) {
+            moves.set(best, moves.get(index));
+            moves.set(index, move);
+
+            var score = scores[best];
+            scores[best] = scores[index];
+            scores[index] = score;
+        }
+
+        return move;
+    }
+
+    /**
+     * Learn from a move that caused a beta cutoff. Captures are already searched early, so only quiet moves are saved.
+     * @param board The board, at the node's position.
+     * @param move The move that caused the cutoff.
+     * @param depth The remaining depth of the node. Deeper cutoffs save more work, so they weigh more.
+     */
+    void cutoff(SearchBoard board, int move, int depth) {
+        if (isTactical(move)) {
+            return;
+        }
+
+        var plyKillers = killers[board.ply()];
+
+        if (plyKillers[0] != move) {
+            plyKillers[1] = plyKillers[0];
+            plyKillers[0] = move;
+        }
+
+        var sideHistory = history[board.sideToMove().ordinal()];
+        var index = butterflyIndex(move);
+        sideHistory[index] += depth * depth;
+
+        if (sideHistory[index] >= HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Score a capture or promotion by its most valuable victim first and, for the same victim, its least valuable
+     * attacker.
+     * @see <a href="https://www.chessprogramming.org/MVV-LVA">MVV-LVA</a>
+     */
+    private static int mvvLva(SearchBoard board, int move) {
+        // The captured pawn isn't on the destination square of en passant captures
+        var victim = EncodedMove.type(move) == MoveType.EN_PASSANT
+                ? PieceType.PAWN.ordinal()
+                : board.pieceTypeAt(EncodedMove.destination(move));
+        var attacker = board.pieceTypeAt(EncodedMove.source(move));
+
+        // Pushes to the last rank capture nothing, but still gain the promoted piece
+        return (victim + 1 + EncodedMove.promotionType(move)) * PIECE_TYPES - attacker;
+    }
+
+    private static boolean isTactical(int move) {
+        return EncodedMove.isCapture(move) || EncodedMove.isPromotion(move);
+    }
+
+    private static int butterflyIndex(int move) {
+        return EncodedMove.source(move) * Board.NUMBER_OF_SQUARES + EncodedMove.destination(move);
+    }
+
+    private void ageHistory() {
+        for (var sideHistory : history) {
+            for (var i = 0; i < sideHistory.length; i++) {
+                sideHistory[i] /= 2;
+            }
+        }
+    }
+}
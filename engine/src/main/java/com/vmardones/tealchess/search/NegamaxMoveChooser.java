@@ -7,24 +7,22 @@ package com.vmardones.tealchess.search;
 
 import java.util.Random;
 
-import com.vmardones.tealchess.color.Color;
+import com.vmardones.tealchess.board.SearchBoard;
 import com.vmardones.tealchess.evaluation.BoardEvaluator;
 import com.vmardones.tealchess.game.GameMemento;
-import com.vmardones.tealchess.generator.AttackGenerator;
-import com.vmardones.tealchess.generator.LegalGenerator;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
 import com.vmardones.tealchess.generator.MoveGenerator;
 import com.vmardones.tealchess.move.Move;
-import com.vmardones.tealchess.move.MoveMaker;
-import com.vmardones.tealchess.player.PlayerFactory;
+import com.vmardones.tealchess.move.MoveList;
 
 public final class NegamaxMoveChooser implements MoveChooser {
 
     private final Random random = new Random();
-    private final MoveGenerator moveGenerator = new LegalGenerator();
-    private final MoveMaker moveMaker = new MoveMaker();
-    private final PlayerFactory playerFactory = new PlayerFactory(new AttackGenerator(), moveGenerator);
+    private final MoveGenerator moveGenerator = new MaskedLegalGenerator();
+    private final MoveList[] moveLists = new MoveList[SearchBoard.MAX_PLY];
     private final BoardEvaluator evaluator;
     private final int depth;
+    private long nodes;
 
     public NegamaxMoveChooser(BoardEvaluator evaluator, int depth) {
         this.evaluator = evaluator;
@@ -36,19 +34,17 @@ public final class NegamaxMoveChooser implements MoveChooser {
 
         var legals = state.player().legals();
         var bestMove = legals.getFirst();
+        var board = new SearchBoard(state.position());
+        nodes = 0;
 
         var highest = Integer.MIN_VALUE;
         var lowest = Integer.MAX_VALUE;
 
         for (var move : legals) {
-            var position = moveMaker.make(state.position(), move);
-            var whitePlayer = playerFactory.create(position, Color.WHITE);
-            var blackPlayer = playerFactory.create(position, Color.BLACK);
+            board.make(move);
 
-            var nextState = new GameMemento(position, whitePlayer, blackPlayer, move);
-
-            if (position.sideToMove().isWhite()) {
-                var score = -negamax(nextState, depth - 1);
+            if (board.sideToMove().isWhite()) {
+                var score = -negamax(board, depth - 1);
 
                 if (score > highest) {
                     highest = score;
@@ -57,7 +53,7 @@ public final class NegamaxMoveChooser implements MoveChooser {
                     bestMove = move;
                 }
             } else {
-                var score = negamax(nextState, depth - 1);
+                var score = negamax(board, depth - 1);
 
                 if (score < lowest) {
                     lowest = score;
@@ -66,28 +62,42 @@ public final class NegamaxMoveChooser implements MoveChooser {
                     bestMove = move;
                 }
             }
+
+            board.unmake();
         }
 
         return bestMove;
     }
 
-    private int negamax(GameMemento state, int depth) {
-        var legals = state.player().legals();
+    /* Getters */
+
+    /**
+     * Get the number of nodes visited by the last search.
+     * @return The node count.
+     */
+    public long nodes() {
+        return nodes;
+    }
+
+    private int negamax(SearchBoard board, int depth) {
+        nodes++;
 
-        if (depth == 0 || legals.isEmpty()) {
-            return evaluator.evaluate(state);
+        if (depth == 0) {
+            return evaluator.evaluate(board);
         }
 
-        var highest = Integer.MIN_VALUE;
+        var legals = generateMoves(board);
 
-        for (var move : legals) {
-            var position = moveMaker.make(state.position(), move);
-            var whitePlayer = playerFactory.create(position, Color.WHITE);
-            var blackPlayer = playerFactory.create(position, Color.BLACK);
+        if (legals.isEmpty()) {
+            return evaluator.evaluate(board);
+        }
 
-            var nextState = new GameMemento(position, whitePlayer, blackPlayer, move);
+        var highest = Integer.MIN_VALUE;
 
-            var score = -negamax(nextState, depth - 1);
+        for (var i = 0; i < legals.size(); i++) {
+            board.make(legals.get(i));
+            var score = -negamax(board, depth - 1);
+            board.unmake();
 
             if (score > highest) {
                 highest = score;
@@ -96,4 +106,18 @@ public final class NegamaxMoveChooser implements MoveChooser {
 
         return highest;
     }
+
+    private MoveList generateMoves(SearchBoard board) {
+        var ply = board.ply();
+
+        if (moveLists[ply] == null) {
+            moveLists[ply] = new MoveList();
+        }
+
+        var moves = moveLists[ply];
+        moves.clear();
+        moveGenerator.generate(board, moves);
+
+        return moves;
+    }
 }
@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+/**
+ * The techniques that the alpha-beta search can use on top of plain alpha-beta pruning.
+ * Every one of them can be disabled, so its effect on the node count and the playing strength can be measured.
+ * @param principalVariationSearch Search every move after the first one with a zero window, and only search it again
+ *     with the full window if it turns out to be better.
+ * @param aspirationWindows Start every iteration with a narrow window around the previous iteration's score.
+ * @param nullMovePruning Skip a node if passing the turn to the opponent still gives a beta cutoff in a reduced search.
+ * @param lateMoveReductions Search quiet moves ordered late with less depth, and search them again if they raise alpha.
+ * @see <a href="https://www.chessprogramming.org/Principal_Variation_Search">Principal Variation Search</a>
+ * @see <a href="https://www.chessprogramming.org/Aspiration_Windows">Aspiration Windows</a>
+ * @see <a href="https://www.chessprogramming.org/Null_Move_Pruning">Null Move Pruning</a>
+ * @see <a href="https://www.chessprogramming.org/Late_Move_Reductions">Late Move Reductions</a>
+ */
+public record SearchFeatures(
+        boolean principalVariationSearch,
+        boolean aspirationWindows,
+        boolean nullMovePruning,
+        boolean lateMoveReductions) {
+
+    public static final SearchFeatures ALL = new SearchFeatures(true, true, true, true);
+    public static final SearchFeatures NONE = new SearchFeatures(false, false, false, false);
+
+    public SearchFeatures withPrincipalVariationSearch(boolean value) {
+        return new SearchFeatures(value, aspirationWindows, nullMovePruning, lateMoveReductions);
+    }
+
+    public SearchFeatures withAspirationWindows(boolean value) {
+        return new SearchFeatures(principalVariationSearch, value, nullMovePruning, lateMoveReductions);
+    }
+
+    public SearchFeatures withNullMovePruning(boolean value) {
+        return new SearchFeatures(principalVariationSearch, aspirationWindows, value, lateMoveReductions);
+    }
+
+    public SearchFeatures withLateMoveReductions(boolean value) {
+        return new SearchFeatures(principalVariationSearch, aspirationWindows, nullMovePruning, value);
+    }
+}
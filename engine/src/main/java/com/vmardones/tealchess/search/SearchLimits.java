@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import com.vmardones.tealchess.color.Color;
+
+/**
+ * The conditions that end a search, as given by the parameters of the UCI go command.
+ * Every time is in milliseconds, and every parameter that wasn't given is 0 (or false).
+ * @param whiteTime The time left on white's clock.
+ * @param blackTime The time left on black's clock.
+ * @param whiteIncrement The time added to white's clock after every move.
+ * @param blackIncrement The time added to black's clock after every move.
+ * @param movesToGo The number of moves until the next time control. If not given, the game ends with the clock.
+ * @param moveTime The exact time to search for.
+ * @param depth The maximum depth of the search, in plies.
+ * @param nodes The maximum number of nodes to search.
+ * @param infinite Whether to search until explicitly stopped.
+ * @see <a href="https://www.chessprogramming.org/UCI#go">UCI go</a>
+ */
+public record SearchLimits(
+        long whiteTime,
+        long blackTime,
+        long whiteIncrement,
+        long blackIncrement,
+        int movesToGo,
+        long moveTime,
+        int depth,
+        long nodes,
+        boolean infinite) {
+
+    /** No limits at all. The move chooser decides when to stop. */
+    public static final SearchLimits NONE = new SearchLimits(0, 0, 0, 0, 0, 0, 0, 0, false);
+
+    public SearchLimits {
+        if (whiteTime < 0
+                || blackTime < 0
+                || whiteIncrement < 0
+                || blackIncrement < 0
+                || movesToGo < 0
+                || moveTime < 0
+                || depth < 0
+                || nodes < 0) {
+            throw new IllegalArgumentException("Search limits can't be negative");
+        }
+    }
+
+    public static SearchLimits ofDepth(int depth) {
+        return new SearchLimits(0, 0, 0, 0, 0, 0, depth, 0, false);
+    }
+
+    public static SearchLimits ofMoveTime(long moveTime) {
+        return new SearchLimits(0, 0, 0, 0, 0, moveTime, 0, 0, false);
+    }
+
+    public long time(Color color) {
+        return color.isWhite() ? whiteTime : blackTime;
+    }
+
+    public long increment(Color color) {
+        return color.isWhite() ? whiteIncrement : blackIncrement;
+    }
+
+    /**
+     * Check whether the game is played with a clock.
+     * A clock that has run out is 0, just like one that wasn't given, so the game has a clock if either side has time.
+     * @return True if the clocks were given.
+     */
+    public boolean hasClock() {
+        return whiteTime > 0 || blackTime > 0;
+    }
+
+    /**
+     * Check whether the search has time to manage, either because of a fixed move time or the mover's clock.
+     * @param sideToMove The side whose clock is running.
+     * @return True if the search has a time limit.
+     */
+    public boolean isTimed(Color sideToMove) {
+        return moveTime > 0 || time(sideToMove) > 0;
+    }
+}
@@ -0,0 +1,554 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.search.AlphaBetaMoveChooser.MATE_SCORE;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.evaluation.BoardEvaluator;
+import com.vmardones.tealchess.generator.AttackGenerator;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.generator.MoveGenerator;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.position.Position;
+import com.vmardones.tealchess.search.TranspositionTable.Bound;
+import org.jspecify.annotations.Nullable;
+
+/**
+ * The state of one search thread: its own search board, move lists and counters.
+ * Workers only communicate through the shared transposition table and the stop flag.
+ */
+final class SearchWorker implements Runnable {
+
+    static final long NO_NODE_LIMIT = Long.MAX_VALUE;
+
+    private static final int INFINITY = MATE_SCORE + 1;
+    private static final int MATE_THRESHOLD = MATE_SCORE - SearchBoard.MAX_PLY;
+    // The stop flag and the limits are checked every 1024 nodes, so reading them doesn't slow down the search
+    private static final int STOP_CHECK_MASK = 1023;
+    // In the evaluator's units, half a pawn for evaluators that score in centipawns
+    private static final int ASPIRATION_WINDOW = 50;
+    private static final int NULL_MOVE_MIN_DEPTH = 3;
+    private static final int NULL_MOVE_REDUCTION = 2;
+    private static final int DEEP_NULL_MOVE_REDUCTION = 3;
+    private static final int DEEP_NULL_MOVE_DEPTH = 7;
+    private static final int LATE_MOVE_MIN_DEPTH = 3;
+    // Moves ordered before this index (hash move, best captures and killers) are never reduced
+    private static final int LATE_MOVE_INDEX = 3;
+    private static final int VERY_LATE_MOVE_INDEX = 8;
+
+    private final int index;
+    private final MoveGenerator moveGenerator = new MaskedLegalGenerator();
+    private final AttackGenerator attackGenerator = new AttackGenerator();
+    private final MoveList[] moveLists = new MoveList[SearchBoard.MAX_PLY];
+    private final int[][] moveScores = new int[SearchBoard.MAX_PLY][];
+    private final MoveOrderer moveOrderer = new MoveOrderer();
+    private final BoardEvaluator evaluator;
+    private final TranspositionTable table;
+
+    private SearchBoard board = new SearchBoard(Position.INITIAL_POSITION);
+    private SearchFeatures features = SearchFeatures.ALL;
+    private AtomicBoolean stop = new AtomicBoolean();
+    private AtomicLong searchNodes = new AtomicLong();
+    private int maxDepth;
+    private @Nullable TimeManager timeManager;
+    private long nodeLimit;
+    private boolean aborted;
+    private long nodes;
+    private int completedDepth;
+    private int bestMove;
+    private int bestScore;
+    private int rootScore;
+
+    SearchWorker(int index, BoardEvaluator evaluator, TranspositionTable table) {
+        this.index = index;
+        this.evaluator = evaluator;
+        this.table = table;
+    }
+
+    /**
+     * Reset this worker to search a new position.
+     * Only the main worker should get a time manager, since it decides when the helpers stop. The node limit applies to
+     * the nodes of all the workers together.
+     * @param position The root position.
+     * @param depth The depth of the last iteration.
+     * @param stop The stop flag of this search, shared by all the workers.
+     * @param searchNodes The node count of this search, shared by all the workers.
+     * @param timeManager The time limits, or null if this worker doesn't manage the time.
+     * @param nodeLimit The maximum number of nodes all the workers can visit, or {@link #NO_NODE_LIMIT}.
+     * @return False if the side to move has no legal moves, so there's nothing to search.
+     */
+    boolean prepare(
+            Position position,
+            int depth,
+            AtomicBoolean stop,
+            AtomicLong searchNodes,
+            @Nullable TimeManager timeManager,
+            long nodeLimit) {
+        board = new SearchBoard(position);
+        maxDepth = depth;
+        this.stop = stop;
+        this.searchNodes = searchNodes;
+        this.timeManager = timeManager;
+        this.nodeLimit = nodeLimit;
+        aborted = false;
+        nodes = 0;
+        completedDepth = 0;
+        bestScore = -INFINITY;
+        moveOrderer.newSearch();
+
+        var rootMoves = generateMoves(board);
+        bestMove = rootMoves.isEmpty() ? EncodedMove.NONE : rootMoves.get(0);
+
+        return !rootMoves.isEmpty();
+    }
+
+    /**
+     * Run the iterative deepening loop, until the last iteration completes or the search is stopped.
+     * The main worker (index 0) searches every depth in order.
+     * Odd helpers search one ply deeper than the current iteration, so the threads don't all do the same work at the
+     * same time. They fill the transposition table with results the main worker can reuse.
+     */
+    @Override
+    public void run() {
+        var rootMoves = moveLists[0];
+        var skip = index % 2;
+
+        for (var iteration = 1; iteration <= maxDepth && !aborted; iteration++) {
+            var depth = Math.min(maxDepth, iteration + skip);
+
+            if (depth <= completedDepth) {
+                continue;
+            }
+
+            var move = aspirationSearch(rootMoves, depth);
+
+            if (aborted) {
+                break;
+            }
+
+            bestMove = move;
+            bestScore = rootScore;
+            completedDepth = depth;
+            moveToFront(rootMoves, move);
+
+            // The next iteration would probably take longer than all the previous ones, so don't start it
+            if (timeManager != null && timeManager.isSoftLimitReached()) {
+                break;
+            }
+        }
+    }
+
+    /* Setters */
+
+    void features(SearchFeatures value) {
+        features = value;
+    }
+
+    /* Getters */
+
+    long nodes() {
+        return nodes;
+    }
+
+    int completedDepth() {
+        return completedDepth;
+    }
+
+    int bestMove() {
+        return bestMove;
+    }
+
+    int bestScore() {
+        return bestScore;
+    }
+
+    /**
+     * Search the root with a narrow window around the score of the previous iteration, since the score usually changes
+     * little from one iteration to the next, and a narrow window prunes more.
+     * If the score falls outside the window, the window is widened on that side and the root is searched again.
+     */
+    private int aspirationSearch(MoveList rootMoves, int depth) {
+        if (!features.aspirationWindows() || completedDepth == 0 || Math.abs(bestScore) >= MATE_THRESHOLD) {
+            return searchRoot(rootMoves, depth, -INFINITY, INFINITY);
+        }
+
+        var window = ASPIRATION_WINDOW;
+        var alpha = Math.max(bestScore - window, -INFINITY);
+        var beta = Math.min(bestScore + window, INFINITY);
+
+        while (true) {
+            var move = searchRoot(rootMoves, depth, alpha, beta);
+
+            if (aborted) {
+                return move;
+            }
+
+            if (rootScore <= alpha) {
+                alpha = Math.max(alpha - window, -INFINITY);
+            } else if (rootScore >= beta) {
+                beta = Math.min(beta + window, INFINITY);
+            } else {
+                return move;
+            }
+
+            window *= 2;
+        }
+    }
+
+    private int searchRoot(MoveList moves, int depth, int alpha, int beta) {
+        var highest = -INFINITY;
+        var rootBest = moves.get(0);
+
+        for (var i = 0; i < moves.size(); i++) {
+            var move = moves.get(i);
+
+            board.make(move);
+            var score = searchChild(depth, alpha, beta, i, 0);
+            board.unmake();
+
+            if (aborted) {
+                return rootBest;
+            }
+
+            if (score > highest) {
+                highest = score;
+
+                if (score > alpha) {
+                    alpha = score;
+                    rootBest = move;
+                }
+
+                if (score >= beta) {
+                    break;
+                }
+            }
+        }
+
+        rootScore = highest;
+        return rootBest;
+    }
+
+    private int alphaBeta(int depth, int alpha, int beta, boolean nullMoveAllowed) {
+        if (depth == 0) {
+            return quiescence(alpha, beta);
+        }
+
+        if (visitNode()) {
+            return 0;
+        }
+
+        var key = board.hash();
+        var entry = table.probe(key);
+        var hashMove = EncodedMove.NONE;
+
+        if (entry != TranspositionTable.MISS) {
+            hashMove = TranspositionTable.move(entry);
+
+            if (TranspositionTable.depth(entry) >= depth) {
+                var score = scoreFromTable(TranspositionTable.score(entry), board.ply());
+
+                var cutoff =
+                        switch (TranspositionTable.bound(entry)) {
+                            case EXACT -> true;
+                            case LOWER -> score >= beta;
+                            case UPPER -> score <= alpha;
+                        };
+
+                if (cutoff) {
+                    return score;
+                }
+            }
+        }
+
+        var inCheck = attackGenerator.isKingAttacked(board, board.sideToMove());
+
+        if (nullMoveAllowed && canPruneNullMove(depth, beta, inCheck)) {
+            var reduction = depth >= DEEP_NULL_MOVE_DEPTH ? DEEP_NULL_MOVE_REDUCTION : NULL_MOVE_REDUCTION;
+
+            board.makeNullMove();
+            var score = -alphaBeta(depth - 1 - reduction, -beta, -beta + 1, false);
+            board.unmakeNullMove();
+
+            if (aborted) {
+                return 0;
+            }
+
+            if (score >= beta) {
+                // Passing isn't legal, so mates found after it aren't real
+                return score >= MATE_THRESHOLD ? beta : score;
+            }
+        }
+
+        var moves = generateMoves(board);
+
+        if (moves.isEmpty()) {
+            return inCheck ? board.ply() - MATE_SCORE : 0;
+        }
+
+        var scores = moveScores[board.ply()];
+        moveOrderer.score(board, moves, scores, hashMove);
+
+        var originalAlpha = alpha;
+        var highest = -INFINITY;
+        var nodeBest = EncodedMove.NONE;
+
+        for (var i = 0; i < moves.size(); i++) {
+            var move = MoveOrderer.pick(moves, scores, i);
+            var quiet = !EncodedMove.isCapture(move) && !EncodedMove.isPromotion(move);
+
+            board.make(move);
+            var reduction = lateMoveReduction(depth, i, quiet, inCheck);
+            var score = searchChild(depth, alpha, beta, i, reduction);
+            board.unmake();
+
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > highest) {
+                highest = score;
+
+                if (score > alpha) {
+                    alpha = score;
+                    nodeBest = move;
+                }
+
+                if (score >= beta) {
+                    moveOrderer.cutoff(board, move, depth);
+                    break;
+                }
+            }
+        }
+
+        var bound = bound(highest, originalAlpha, beta);
+        table.store(key, scoreToTable(highest, board.ply()), depth, bound, nodeBest);
+        return highest;
+    }
+
+    /**
+     * Search the position after a move, which must already be made on the board.
+     * The first move of a node is always searched with the full window. With principal variation search, the others
+     * are first searched with a zero window, just to prove they're not better than alpha. Reduced moves are also
+     * searched with a zero window first. A move is only searched again, with more depth or a wider window, if that
+     * search shows it could be better than alpha.
+     * @param depth The remaining depth of the parent node.
+     * @param alpha The parent's alpha.
+     * @param beta The parent's beta.
+     * @param moveIndex The position of the move in the parent's move order.
+     * @param reduction How many plies less to search the move, at first.
+     * @return The move's score, from the point of view of the parent.
+     */
+    private int searchChild(int depth, int alpha, int beta, int moveIndex, int reduction) {
+        if (reduction > 0) {
+            var score = -alphaBeta(depth - 1 - reduction, -alpha - 1, -alpha, true);
+
+            if (score <= alpha) {
+                return score;
+            }
+        }
+
+        if (moveIndex > 0 && features.principalVariationSearch()) {
+            var score = -alphaBeta(depth - 1, -alpha - 1, -alpha, true);
+
+            if (score <= alpha || score >= beta) {
+                return score;
+            }
+        }
+
+        return -alphaBeta(depth - 1, -beta, -alpha, true);
+    }
+
+    /**
+     * Check whether null move pruning can be tried in this node.
+     * It's only worth trying when the static evaluation already beats beta, and never when in check, since passing
+     * would be illegal. It's also avoided when the side to move only has pawns, because those are the positions where
+     * zugzwang is common, and a null move would wrongly show that the side isn't forced to make a bad move.
+     */
+    private boolean canPruneNullMove(int depth, int beta, boolean inCheck) {
+        return features.nullMovePruning()
+                && depth >= NULL_MOVE_MIN_DEPTH
+                && !inCheck
+                && Math.abs(beta) < MATE_THRESHOLD
+                && board.hasNonPawnMaterial(board.sideToMove())
+                && evaluator.evaluate(board) >= beta;
+    }
+
+    /**
+     * Decide how much to reduce a move, which must already be made on the board.
+     * Only quiet moves ordered late are reduced, since good moves are usually ordered first. Moves that escape from
+     * check or give check are never reduced.
+     */
+    private int lateMoveReduction(int depth, int moveIndex, boolean quiet, boolean inCheck) {
+        if (!features.lateMoveReductions()
+                || depth < LATE_MOVE_MIN_DEPTH
+                || moveIndex < LATE_MOVE_INDEX
+                || !quiet
+                || inCheck
+                || attackGenerator.isKingAttacked(board, board.sideToMove())) {
+            return 0;
+        }
+
+        return moveIndex >= VERY_LATE_MOVE_INDEX && depth > LATE_MOVE_MIN_DEPTH ? 2 : 1;
+    }
+
+    /**
+     * Keep searching captures and promotions after the last ply, until the position is quiet.
+     * The side to move can always decline to capture, so the static evaluation (stand pat) is a lower bound of the
+     * score. If it's already good enough to fail high, no move is searched.
+     * Checks aren't extended, since searching every evasion makes the quiescence tree many times bigger. Mates are
+     * only found by the main search.
+     * @see <a href="https://www.chessprogramming.org/Quiescence_Search">Quiescence Search</a>
+     */
+    private int quiescence(int alpha, int beta) {
+        if (visitNode()) {
+            return 0;
+        }
+
+        var highest = evaluator.evaluate(board);
+
+        if (highest >= beta || board.ply() >= SearchBoard.MAX_PLY - 1) {
+            return highest;
+        }
+
+        alpha = Math.max(alpha, highest);
+
+        var moves = generateCaptures(board);
+        var scores = moveScores[board.ply()];
+        moveOrderer.scoreCaptures(board, moves, scores);
+
+        for (var i = 0; i < moves.size(); i++) {
+            var move = MoveOrderer.pick(moves, scores, i);
+
+            board.make(move);
+            var score = -quiescence(-beta, -alpha);
+            board.unmake();
+
+            if (aborted) {
+                return 0;
+            }
+
+            if (score > highest) {
+                highest = score;
+
+                if (score > alpha) {
+                    alpha = score;
+                }
+
+                if (score >= beta) {
+                    break;
+                }
+            }
+        }
+
+        return highest;
+    }
+
+    /**
+     * Count a new node, and check the stop flag and the limits every few nodes.
+     * @return True if the search has been stopped.
+     */
+    private boolean visitNode() {
+        nodes++;
+
+        if ((nodes & STOP_CHECK_MASK) == 0 && (stop.get() || isLimitReached())) {
+            aborted = true;
+        }
+
+        return aborted;
+    }
+
+    /**
+     * Check the limits, adding the nodes visited since the last check to the shared node count.
+     * Every worker can exceed the node limit by up to one check interval.
+     */
+    private boolean isLimitReached() {
+        var totalNodes = searchNodes.addAndGet(STOP_CHECK_MASK + 1);
+        return totalNodes >= nodeLimit || timeManager != null && timeManager.isHardLimitReached();
+    }
+
+    private MoveList generateMoves(SearchBoard board) {
+        var moves = moveList(board.ply());
+        moveGenerator.generate(board, moves);
+        return moves;
+    }
+
+    private MoveList generateCaptures(SearchBoard board) {
+        var moves = moveList(board.ply());
+        moveGenerator.generateCaptures(board, moves);
+        return moves;
+    }
+
+    private MoveList moveList(int ply) {
+        if (moveLists[ply] == null) {
+            moveLists[ply] = new MoveList();
+            moveScores[ply] = new int[MoveList.MAX_MOVES];
+        }
+
+        var moves = moveLists[ply];
+        moves.clear();
+        return moves;
+    }
+
+    private static Bound bound(int score, int alpha, int beta) {
+        if (score >= beta) {
+            return Bound.LOWER;
+        }
+
+        if (score > alpha) {
+            return Bound.EXACT;
+        }
+
+        return Bound.UPPER;
+    }
+
+    /**
+     * Convert a mate score from "distance to the root" to "distance to this node", so it can be reused anywhere.
+     * @param score The score, relative to the root.
+     * @param ply The node's ply.
+     * @return The score to save in the table.
+     */
+    private static int scoreToTable(int score, int ply) {
+        if (score >= MATE_THRESHOLD) {
+            return score + ply;
+        }
+
+        if (score <= -MATE_THRESHOLD) {
+            return score - ply;
+        }
+
+        return score;
+    }
+
+    private static int scoreFromTable(int score, int ply) {
+        if (score >= MATE_THRESHOLD) {
+            return score - ply;
+        }
+
+        if (score <= -MATE_THRESHOLD) {
+            return score + ply;
+        }
+
+        return score;
+    }
+
+    private static void moveToFront(MoveList moves, int move) {
+        for (var i = 0; i < moves.size(); i++) {
+            if (moves.get(i) == move) {
+                for (var j = i; j > 0; j--) {
+                    moves.set(j, moves.get(j - 1));
+                }
+
+                moves.set(0, move);
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import java.util.concurrent.TimeUnit;
+
+import com.vmardones.tealchess.color.Color;
+
+/**
+ * Decides how long a search can take, from the search limits and the clock of the side to move.
+ * <p>
+ * There are two budgets. The soft limit is the time the search should aim for: once it has passed, no new iteration
+ * is started. The hard limit is the time the search can never exceed: once it has passed, the search is aborted in the
+ * middle of an iteration. With a clock, the soft limit is an even share of the remaining time plus most of the
+ * increment, and the hard limit is a few times the soft limit, but always less than the whole clock. Even when the
+ * mover's clock has run out, both limits are at least 1 millisecond.
+ * @see <a href="https://www.chessprogramming.org/Time_Management">Time Management</a>
+ */
+public final class TimeManager {
+
+    /** The budget of a search without a time limit. */
+    public static final long NO_LIMIT = Long.MAX_VALUE;
+
+    // Time kept in reserve on every move, for the communication with the GUI
+    private static final long MOVE_OVERHEAD = 20;
+    // When the moves until the next time control are unknown, assume the game lasts this many more moves
+    private static final int DEFAULT_MOVES_TO_GO = 30;
+    private static final int HARD_LIMIT_FACTOR = 4;
+
+    private final long start;
+    private final long softLimit;
+    private final long hardLimit;
+
+    /**
+     * Start measuring the time of a new search.
+     * @param limits The search limits.
+     * @param sideToMove The side whose clock is running.
+     */
+    public TimeManager(SearchLimits limits, Color sideToMove) {
+        start = System.nanoTime();
+
+        if (limits.infinite()) {
+            softLimit = NO_LIMIT;
+            hardLimit = NO_LIMIT;
+        } else if (limits.moveTime() > 0) {
+            softLimit = Math.max(1, limits.moveTime() - MOVE_OVERHEAD);
+            hardLimit = softLimit;
+        } else if (limits.hasClock()) {
+            // A clock that has run out still gets a minimal budget, instead of no limit at all
+            var available = Math.max(1, limits.time(sideToMove) - MOVE_OVERHEAD);
+            var movesToGo = limits.movesToGo() > 0 ? limits.movesToGo() : DEFAULT_MOVES_TO_GO;
+            var share = limits.time(sideToMove) / movesToGo + limits.increment(sideToMove) * 3 / 4;
+
+            softLimit = Math.min(Math.max(1, share), available);
+            hardLimit = Math.min(softLimit * HARD_LIMIT_FACTOR, available);
+        } else {
+            softLimit = NO_LIMIT;
+            hardLimit = NO_LIMIT;
+        }
+    }
+
+    /* Getters */
+
+    /**
+     * Get the time the search should aim for.
+     * @return The soft limit, in milliseconds, or {@link #NO_LIMIT}.
+     */
+    public long softLimit() {
+        return softLimit;
+    }
+
+    /**
+     * Get the time the search can never exceed.
+     * @return The hard limit, in milliseconds, or {@link #NO_LIMIT}.
+     */
+    public long hardLimit() {
+        return hardLimit;
+    }
+
+    /**
+     * Get the time passed since the search started.
+     * @return The elapsed time, in milliseconds.
+     */
+    public long elapsed() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    public boolean isSoftLimitReached() {
+        return softLimit != NO_LIMIT && elapsed() >= softLimit;
+    }
+
+    public boolean isHardLimitReached() {
+        return hardLimit != NO_LIMIT && elapsed() >= hardLimit;
+    }
+}
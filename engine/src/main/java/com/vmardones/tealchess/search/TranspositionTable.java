@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.vmardones.tealchess.move.EncodedMove;
+
+/**
+ * A fixed-size hash table that remembers the results of previous searches, indexed by Zobrist key.
+ * <p>
+ * Every entry takes two longs of a flat array: the position's key XORed with the entry's data, followed by the data.
+ * The data packs the best move, the score, the depth, the bound type and the search generation.
+ * When probing, the key is recovered by XORing both longs again, so an entry torn by two threads writing at the same
+ * time fails verification and is treated as a miss. This lets many search threads share the table without locks.
+ * <p>
+ * The replacement policy prefers depth: an entry is only replaced by a shallower result if it belongs to a previous
+ * search, or to the same position.
+ * @see <a href="https://www.chessprogramming.org/Transposition_Table">Transposition Table</a>
+ * @see <a href="https://www.chessprogramming.org/Shared_Hash_Table#Lockless">Lockless Hashing</a>
+ */
+public final class TranspositionTable {
+
+    /** The value returned by {@link #probe(long)} when the position isn't in the table. */
+    public static final long MISS = 0L;
+
+    /** The largest table that can be created, in megabytes. */
+    public static final int MAX_MEGABYTES = 8192;
+
+    private static final int BYTES_PER_ENTRY = 2 * Long.BYTES;
+    private static final int SAMPLE_SIZE = 1000;
+
+    private static final int MOVE_MASK = (1 << 18) - 1;
+    private static final int SCORE_SHIFT = 18;
+    private static final int SCORE_BITS = 18;
+    private static final int DEPTH_SHIFT = 36;
+    private static final int DEPTH_MASK = 0xff;
+    private static final int BOUND_SHIFT = 44;
+    private static final int BOUND_MASK = 0b11;
+    private static final int GENERATION_SHIFT = 46;
+    private static final int GENERATION_MASK = 0x3f;
+    private static final Bound[] BOUNDS = Bound.values();
+
+    private final long[] slots;
+    private final int indexMask;
+    private final LongAdder probes = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private volatile int generation;
+
+    /**
+     * Create a transposition table.
+     * The number of entries is rounded down to a power of two, so the table may use less memory than asked for.
+     * @param megabytes The maximum size of the table, in megabytes.
+     */
+    public TranspositionTable(int megabytes) {
+        if (megabytes < 1 || megabytes > MAX_MEGABYTES) {
+            throw new IllegalArgumentException(
+                    "The table size must be between 1 and " + MAX_MEGABYTES + " MB, got " + megabytes);
+        }
+
+        var entries = Long.highestOneBit((long) megabytes * 1024 * 1024 / BYTES_PER_ENTRY);
+        slots = new long[(int) (entries * 2)];
+        indexMask = (int) entries - 1;
+    }
+
+    /* Using the table */
+
+    /**
+     * Look up a position.
+     * @param key The position's Zobrist key.
+     * @return The entry's data, which can be read with the static methods of this class, or {@link #MISS}.
+     */
+    public long probe(long key) {
+        var index = index(key);
+        var data = slots[index + 1];
+        probes.increment();
+
+        if ((slots[index] ^ data) != key || data == MISS) {
+            return MISS;
+        }
+
+        hits.increment();
+        return data;
+    }
+
+    /**
+     * Save the result of searching a position.
+     * @param key The position's Zobrist key.
+     * @param score The score, relative to the searched node.
+     * @param depth The remaining depth of the search, between 0 and 255.
+     * @param bound Whether the score is exact or a bound.
+     * @param move The best move found, or {@link EncodedMove#NONE}.
+     */
+    public void store(long key, int score, int depth, Bound bound, int move) {
+        var index = index(key);
+        var oldData = slots[index + 1];
+        var oldKey = slots[index] ^ oldData;
+
+        var replace = oldData == MISS
+                || oldKey == key
+                || generation(oldData) != generation
+                || depth >= depth(oldData);
+
+        if (!replace) {
+            return;
+        }
+
+        // Keep the old move if there's no new one for the same position, since it's still the best guess
+        var bestMove = move == EncodedMove.NONE && oldKey == key ? move(oldData) : move;
+
+        var data = (bestMove & MOVE_MASK)
+                | (score & ((1L << SCORE_BITS) - 1)) << SCORE_SHIFT
+                | (long) (depth & DEPTH_MASK) << DEPTH_SHIFT
+                | (long) (bound.ordinal() + 1) << BOUND_SHIFT
+                | (long) generation << GENERATION_SHIFT;
+
+        slots[index] = key ^ data;
+        slots[index + 1] = data;
+    }
+
+    /**
+     * Start a new search. Entries from previous searches are kept, but they can be replaced by any new entry.
+     */
+    public void newSearch() {
+        generation = (generation + 1) & GENERATION_MASK;
+    }
+
+    /**
+     * Remove all the entries and reset the statistics.
+     */
+    public void clear() {
+        Arrays.fill(slots, 0L);
+        probes.reset();
+        hits.reset();
+    }
+
+    /* Reading entries */
+
+    public static int move(long entry) {
+        return (int) (entry & MOVE_MASK);
+    }
+
+    public static int score(long entry) {
+        return (int) (entry << (Long.SIZE - SCORE_SHIFT - SCORE_BITS) >> (Long.SIZE - SCORE_BITS));
+    }
+
+    public static int depth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    public static Bound bound(long entry) {
+        return BOUNDS[((int) (entry >>> BOUND_SHIFT) & BOUND_MASK) - 1];
+    }
+
+    /* Statistics */
+
+    /**
+     * Get the number of entries of this table.
+     * @return The table's capacity.
+     */
+    public int capacity() {
+        return slots.length / 2;
+    }
+
+    /**
+     * Get the fraction of probes that found their position, since the table was created or cleared.
+     * @return The hit rate, between 0 and 1.
+     */
+    public double hitRate() {
+        var probeCount = probes.sum();
+        return probeCount == 0 ? 0 : (double) hits.sum() / probeCount;
+    }
+
+    /**
+     * Estimate the fraction of entries used by the current search, by sampling the first entries of the table.
+     * @return The fill ratio, between 0 and 1.
+     * @see <a href="https://www.chessprogramming.org/UCI#Info">UCI hashfull</a>
+     */
+    public double fillRatio() {
+        var sample = Math.min(SAMPLE_SIZE, capacity());
+        var used = 0;
+
+        for (var entry = 0; entry < sample; entry++) {
+            var data = slots[2 * entry + 1];
+
+            if (data != MISS && generation(data) == generation) {
+                used++;
+            }
+        }
+
+        return (double) used / sample;
+    }
+
+    private int index(long key) {
+        return ((int) key & indexMask) << 1;
+    }
+
+    private static int generation(long entry) {
+        return (int) (entry >>> GENERATION_SHIFT) & GENERATION_MASK;
+    }
+
+    /**
+     * The kind of score saved in an entry, which depends on how it compared to the search window.
+     * @see <a href="https://www.chessprogramming.org/Node_Types">Node Types</a>
+     */
+    public enum Bound {
+        /** The score is exact, because it fell inside the window (PV node). */
+        EXACT,
+        /** The real score is at least this one, because it caused a beta cutoff (cut node). */
+        LOWER,
+        /** The real score is at most this one, because no move raised alpha (all node). */
+        UPPER
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.uci;
+
+import com.vmardones.tealchess.search.SearchLimits;
+
+/**
+ * Parser of the parameters of the UCI go command.
+ * Like the rest of the protocol, parsing is lenient: unknown parameters and values that aren't numbers are ignored.
+ * Negative times, which some GUIs send when a clock runs out, are treated as 0.
+ * @see <a href="https://www.chessprogramming.org/UCI#go">UCI go</a>
+ */
+final class GoParser {
+
+    static SearchLimits parse(String arguments) {
+        var whiteTime = 0L;
+        var blackTime = 0L;
+        var whiteIncrement = 0L;
+        var blackIncrement = 0L;
+        var movesToGo = 0;
+        var moveTime = 0L;
+        var depth = 0;
+        var nodes = 0L;
+        var infinite = false;
+
+        var tokens = arguments.strip().split("\\s+");
+
+        for (var i = 0; i < tokens.length; i++) {
+            var value = i + 1 < tokens.length ? parseValue(tokens[i + 1]) : -1;
+
+            switch (tokens[i]) {
+                case "wtime" -> whiteTime = value;
+                case "btime" -> blackTime = value;
+                case "winc" -> whiteIncrement = value;
+                case "binc" -> blackIncrement = value;
+                case "movestogo" -> movesToGo = (int) Math.min(value, Integer.MAX_VALUE);
+                case "movetime" -> moveTime = value;
+                case "depth" -> depth = (int) Math.min(value, Integer.MAX_VALUE);
+                case "nodes" -> nodes = value;
+                case "infinite" -> {
+                    infinite = true;
+                    continue;
+                }
+                default -> {
+                    continue;
+                }
+            }
+
+            if (value >= 0) {
+                i++;
+            }
+        }
+
+        return new SearchLimits(
+                Math.max(0, whiteTime),
+                Math.max(0, blackTime),
+                Math.max(0, whiteIncrement),
+                Math.max(0, blackIncrement),
+                Math.max(0, movesToGo),
+                Math.max(0, moveTime),
+                Math.max(0, depth),
+                Math.max(0, nodes),
+                infinite);
+    }
+
+    /**
+     * Parse the value of a parameter.
+     * @param token The token after the parameter's name.
+     * @return The value, clamped to 0 if negative, or -1 if the token isn't a number.
+     */
+    private static long parseValue(String token) {
+        try {
+            return Math.max(0, Long.parseLong(token));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private GoParser() {}
+}
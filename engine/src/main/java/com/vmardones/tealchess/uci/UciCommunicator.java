@@ -10,16 +10,20 @@ import static java.util.Collections.emptyMap;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.nio.file.Path;
 
-import com.vmardones.tealchess.board.Mailbox;
+import com.vmardones.tealchess.book.PolyglotBook;
+import com.vmardones.tealchess.evaluation.MaterialEvaluator;
 import com.vmardones.tealchess.game.Game;
 import com.vmardones.tealchess.move.Move;
 import com.vmardones.tealchess.move.MoveType;
 import com.vmardones.tealchess.parser.fen.FenParser;
 import com.vmardones.tealchess.piece.PromotionChoice;
-import com.vmardones.tealchess.search.MoveChooser;
-import com.vmardones.tealchess.search.RandomMoveChooser;
+import com.vmardones.tealchess.search.AlphaBetaMoveChooser;
+import com.vmardones.tealchess.search.BookMoveChooser;
+import com.vmardones.tealchess.search.TranspositionTable;
 import com.vmardones.tealchess.square.AlgebraicConverter;
+import org.jspecify.annotations.Nullable;
 
 // TODO: Also use GameState here, to pass the memento
 final class UciCommunicator {
@@ -27,9 +31,24 @@ final class UciCommunicator {
     private static final BufferedReader READER = new BufferedReader(new InputStreamReader(System.in));
     private static final String ENGINE_NAME = "TealChess v0.0";
     private static final String AUTHOR = "Víctor M.";
-
-    private final MoveChooser moveChooser = new RandomMoveChooser();
+    // Used when go has no parameters
+    private static final int DEFAULT_DEPTH = 6;
+    private static final int STOP_RETRY_MILLIS = 10;
+    private static final int DEFAULT_HASH = 16;
+    private static final int MAX_THREADS = 256;
+    private static final String HASH_OPTION = "setoption name Hash value ";
+    private static final String THREADS_OPTION = "setoption name Threads value ";
+    private static final String OWN_BOOK_OPTION = "setoption name OwnBook value ";
+    private static final String BOOK_FILE_OPTION = "setoption name BookFile value ";
+
+    private TranspositionTable table = new TranspositionTable(DEFAULT_HASH);
+    private int threads = 1;
+    private AlphaBetaMoveChooser moveChooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), DEFAULT_DEPTH, table);
     private Game game = new Game(emptyMap()).whiteAi(moveChooser).blackAi(moveChooser);
+    private @Nullable Thread searchThread;
+    private boolean ownBook;
+    private @Nullable PolyglotBook openedBook;
+    private @Nullable BookMoveChooser book;
 
     UciCommunicator() {}
 
@@ -40,6 +59,7 @@ final class UciCommunicator {
             var input = READER.readLine();
 
             if (input.equals("quit") || input.equals("exit")) {
+                stopSearch();
                 break;
             }
 
@@ -53,8 +73,10 @@ final class UciCommunicator {
                 sendUciNewGame();
             } else if (input.startsWith("position ")) {
                 sendPosition(input.substring("position".length() + 1));
-            } else if (input.equals("go")) {
-                sendGo();
+            } else if (input.equals("go") || input.startsWith("go ")) {
+                sendGo(input.substring("go".length()));
+            } else if (input.equals("stop")) {
+                stopSearch();
             } else if (input.equals("d")) {
                 sendPrint();
             }
@@ -68,17 +90,100 @@ final class UciCommunicator {
         System.out.println("uciok");
     }
 
-    private void sendOptions() {}
+    private void sendOptions() {
+        System.out.println("option name Hash type spin default " + DEFAULT_HASH + " min 1 max "
+                + TranspositionTable.MAX_MEGABYTES);
+        System.out.println("option name Threads type spin default 1 min 1 max " + MAX_THREADS);
+        System.out.println("option name OwnBook type check default false");
+        System.out.println("option name BookFile type string default <empty>");
+    }
+
+    private void sendSetOption(String input) {
+        if (input.startsWith(HASH_OPTION)) {
+            var megabytes = parseSpin(input.substring(HASH_OPTION.length()), 1, TranspositionTable.MAX_MEGABYTES);
+
+            if (megabytes > 0) {
+                stopSearch();
+                table = new TranspositionTable(megabytes);
+                createMoveChooser();
+            }
+        } else if (input.startsWith(THREADS_OPTION)) {
+            var value = parseSpin(input.substring(THREADS_OPTION.length()), 1, MAX_THREADS);
+
+            if (value > 0) {
+                stopSearch();
+                threads = value;
+                createMoveChooser();
+            }
+        } else if (input.startsWith(OWN_BOOK_OPTION)) {
+            ownBook = Boolean.parseBoolean(input.substring(OWN_BOOK_OPTION.length()).strip());
+        } else if (input.startsWith(BOOK_FILE_OPTION)) {
+            openBook(input.substring(BOOK_FILE_OPTION.length()).strip());
+        }
+    }
+
+    /**
+     * Parse the value of a spin option.
+     * @return The value, or 0 if it isn't a number between the bounds.
+     */
+    private int parseSpin(String value, int min, int max) {
+        try {
+            var number = Integer.parseInt(value.strip());
 
-    private void sendSetOption(String input) {}
+            if (number >= min && number <= max) {
+                return number;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below, like a number out of bounds
+        }
+
+        System.out.println("info string Expected a number between " + min + " and " + max + ", got " + value.strip());
+        return 0;
+    }
+
+    /**
+     * Create the move chooser again, after the transposition table or the number of threads changed.
+     * The game's AIs and the book use the new chooser too.
+     */
+    private void createMoveChooser() {
+        moveChooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), DEFAULT_DEPTH, table, threads);
+        game.whiteAi(moveChooser).blackAi(moveChooser);
+        book = openedBook != null ? new BookMoveChooser(openedBook, moveChooser) : null;
+    }
+
+    /**
+     * Open a Polyglot book, which is probed before searching when the OwnBook option is on.
+     * An empty path or {@code <empty>} closes the current book.
+     */
+    private void openBook(String path) {
+        stopSearch();
+        openedBook = null;
+        book = null;
+
+        if (path.isEmpty() || path.equals("<empty>")) {
+            return;
+        }
+
+        try {
+            openedBook = PolyglotBook.open(Path.of(path));
+            book = new BookMoveChooser(openedBook, moveChooser);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("info string Couldn't open the book: " + e.getMessage());
+        }
+    }
 
     private void sendReadyOk() {
         System.out.println("readyok");
     }
 
-    private void sendUciNewGame() {}
+    private void sendUciNewGame() {
+        stopSearch();
+        moveChooser.transpositionTable().clear();
+    }
 
     private void sendPosition(String input) {
+        stopSearch();
+
         String positionInput;
         String movesInput;
 
@@ -127,11 +232,12 @@ final class UciCommunicator {
 
     // TODO: Move this method to a parser class
     private MoveType inferMoveType(int source, int destination) {
-        var mailbox = new Mailbox(game.board());
+        var board = game.board();
+        var piece = board.pieceAt(source);
 
-        if (mailbox.pieceAt(source).isPawn()) {
+        if (piece != null && piece.isPawn()) {
 
-            if (mailbox.pieceAt(destination) != null) {
+            if (!board.isEmpty(destination)) {
                 return MoveType.PAWN_CAPTURE;
             }
 
@@ -149,7 +255,7 @@ final class UciCommunicator {
             return MoveType.PAWN_PUSH;
         }
 
-        if (mailbox.pieceAt(source).isKing()) {
+        if (piece != null && piece.isKing()) {
             if (destination - source == 2) {
                 return MoveType.SHORT_CASTLE;
             }
@@ -159,16 +265,55 @@ final class UciCommunicator {
             }
         }
 
-        return mailbox.isEmpty(destination) ? MoveType.NORMAL : MoveType.CAPTURE;
+        return board.isEmpty(destination) ? MoveType.NORMAL : MoveType.CAPTURE;
     }
 
-    private void sendGo() {
-        var legalMoves = game.legalMoves();
+    /**
+     * Start searching in another thread, so the stop command can still be read while the search runs.
+     * If the engine plays from its own book and the position is in it, the book move is sent right away instead.
+     * The best move is sent when the search ends, either by reaching its limits or by being stopped.
+     */
+    private void sendGo(String arguments) {
+        stopSearch();
+
+        if (game.legalMoves().isEmpty()) {
+            return;
+        }
+
+        var limits = GoParser.parse(arguments);
+        var memento = game.memento();
 
-        if (!legalMoves.isEmpty()) {
-            var move = game.chooseAiMove();
+        var bookMove = ownBook && book != null ? book.bookMove(memento) : null;
+        if (bookMove != null) {
+            System.out.println("bestmove " + bookMove);
+            return;
+        }
+
+        searchThread = Thread.ofPlatform().name("uci-search").start(() -> {
+            var move = moveChooser.chooseMove(memento, limits);
             System.out.println("bestmove " + move);
+        });
+    }
+
+    /**
+     * Stop the search and wait for its best move to be sent.
+     * The stop is repeated until the search thread ends, in case the search hadn't started yet when it was first sent.
+     */
+    private void stopSearch() {
+        if (searchThread == null) {
+            return;
         }
+
+        try {
+            while (searchThread.isAlive()) {
+                moveChooser.stop();
+                searchThread.join(STOP_RETRY_MILLIS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        searchThread = null;
     }
 
     private void sendPrint() {
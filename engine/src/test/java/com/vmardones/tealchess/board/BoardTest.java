@@ -18,6 +18,7 @@ import java.util.stream.IntStream;
 
 import com.vmardones.tealchess.board.Board.BoardBuilder;
 import com.vmardones.tealchess.piece.Piece;
+import com.vmardones.tealchess.square.Coordinate;
 import com.vmardones.tealchess.square.Square;
 import nl.jqno.equalsverifier.EqualsVerifier;
 import org.junit.jupiter.api.BeforeEach;
@@ -35,7 +36,10 @@ final class BoardTest {
 
     @Test
     void equalsContract() {
-        EqualsVerifier.forClass(Board.class).verify();
+        // The aggregated bitboards are derived from the piece bitboards
+        EqualsVerifier.forClass(Board.class)
+                .withIgnoredFields("pieces", "occupiedSquares", "mailbox")
+                .verify();
     }
 
     @Test
@@ -224,6 +228,54 @@ final class BoardTest {
         assertThat(mailbox.pieceAt(a5)).isNull();
     }
 
+    @Test
+    void pieceAt() {
+        var piece = new Piece(BISHOP, BLACK, f5);
+        var newBoard = builder.with(piece).build();
+
+        assertThat(newBoard.pieceAt(f5)).isEqualTo(piece).isSameAs(Piece.of(BISHOP, BLACK, f5));
+        assertThat(newBoard.pieceAt(e1)).isSameAs(newBoard.pieceAt(Coordinate.forSquare(e1)));
+        assertThat(newBoard.pieceAt(f6)).isNull();
+        assertThat(newBoard.isEmpty(f6)).isTrue();
+    }
+
+    @Test
+    void replacedPieceIsRemoved() {
+        var newBoard = builder.with(new Piece(ROOK, WHITE, a1))
+                .with(new Piece(PAWN, WHITE, a1))
+                .build();
+
+        assertThat(newBoard.pieceAt(a1)).isEqualTo(new Piece(PAWN, WHITE, a1));
+        assertThat(newBoard.rooks(WHITE)).isZero();
+    }
+
+    @Test
+    void mailboxFromBitboards() {
+        var fromBitboards = Board.fromBitboards(INITIAL_BOARD.bitboards());
+
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            assertThat(fromBitboards.pieceAt(square)).isEqualTo(INITIAL_BOARD.pieceAt(square));
+        }
+    }
+
+    @Test
+    void aggregatedBitboards() {
+        var newBoard = builder.with(new Piece(PAWN, WHITE, a2))
+                .with(new Piece(KNIGHT, BLACK, c6))
+                .with(new Piece(ROOK, BLACK, h8))
+                .without(h8)
+                .build();
+
+        var whitePieces = BitboardManipulator.singleBit(a2) | BitboardManipulator.singleBit(e1);
+        var blackPieces = BitboardManipulator.singleBit(c6) | BitboardManipulator.singleBit(e8);
+
+        assertThat(newBoard.pieces(WHITE)).isEqualTo(whitePieces);
+        assertThat(newBoard.pieces(BLACK)).isEqualTo(blackPieces);
+        assertThat(newBoard.occupiedSquares()).isEqualTo(whitePieces | blackPieces);
+        assertThat(Board.fromBitboards(newBoard.bitboards())).isEqualTo(newBoard);
+        assertThat(Board.fromBitboards(newBoard.bitboards()).occupiedSquares()).isEqualTo(whitePieces | blackPieces);
+    }
+
     @Test
     void withoutNonExistantPiece() {
         var board1 = builder.build();
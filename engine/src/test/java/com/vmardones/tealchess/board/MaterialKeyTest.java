@@ -0,0 +1,43 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.piece.PieceType.*;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class MaterialKeyTest {
+
+    @Test
+    void counts() {
+        var key = MaterialKey.key(new SearchBoard(INITIAL_POSITION));
+
+        assertThat(MaterialKey.count(key, PAWN.ordinal(), WHITE.ordinal())).isEqualTo(8);
+        assertThat(MaterialKey.count(key, KNIGHT.ordinal(), BLACK.ordinal())).isEqualTo(2);
+        assertThat(MaterialKey.count(key, QUEEN.ordinal(), WHITE.ordinal())).isEqualTo(1);
+        assertThat(MaterialKey.count(key, KING.ordinal(), BLACK.ordinal())).isEqualTo(1);
+    }
+
+    @Test
+    void sameMaterialSameKey() {
+        var first = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/R3K3 w - - 0 1"));
+        var second = new SearchBoard(FenParser.parse("8/8/3k4/8/8/8/R7/7K b - - 0 1"));
+        var third = new SearchBoard(FenParser.parse("r3k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+
+        assertThat(first.materialKey()).isEqualTo(second.materialKey()).isNotEqualTo(third.materialKey());
+    }
+
+    @Test
+    void manyPromotedPieces() {
+        var board = new SearchBoard(FenParser.parse("QQQQQQQk/QQ6/8/8/8/8/8/K7 w - - 0 1"));
+        assertThat(MaterialKey.count(board.materialKey(), QUEEN.ordinal(), WHITE.ordinal())).isEqualTo(9);
+    }
+}
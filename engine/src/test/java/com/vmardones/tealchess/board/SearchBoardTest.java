@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.board;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.move.Move.*;
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.piece.PieceType.BISHOP;
+import static com.vmardones.tealchess.piece.PieceType.PAWN;
+import static com.vmardones.tealchess.piece.PieceType.QUEEN;
+import static com.vmardones.tealchess.piece.PieceType.ROOK;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import com.vmardones.tealchess.piece.Piece;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import com.vmardones.tealchess.position.Zobrist;
+import org.junit.jupiter.api.Test;
+
+final class SearchBoardTest {
+
+    @Test
+    void copyPosition() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        assertThat(board.toPosition()).isEqualTo(INITIAL_POSITION);
+    }
+
+    @Test
+    void makeMove() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(DOUBLE_PUSH, e2, e4));
+
+        var expected = FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        assertThat(board.toPosition()).isEqualTo(expected);
+        assertThat(board.ply()).isOne();
+    }
+
+    @Test
+    void unmakeMove() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(DOUBLE_PUSH, e2, e4));
+        board.unmake();
+
+        assertThat(board.toPosition()).isEqualTo(INITIAL_POSITION);
+        assertThat(board.ply()).isZero();
+    }
+
+    @Test
+    void unmakeCapture() {
+        var position = FenParser.parse("r3k3/8/8/8/8/8/8/B3K3 b q - 4 30");
+        var board = new SearchBoard(position);
+
+        board.make(new Move(CAPTURE, a8, a1));
+        assertThat(board.rooks(BLACK)).isEqualTo(BitboardManipulator.singleBit(a1));
+        assertThat(board.bishops(WHITE)).isZero();
+        assertThat(board.pieces(WHITE)).isEqualTo(BitboardManipulator.singleBit(e1));
+        assertThat(board.occupiedSquares())
+                .isEqualTo(BitboardManipulator.singleBit(a1)
+                        | BitboardManipulator.singleBit(e1)
+                        | BitboardManipulator.singleBit(e8));
+        assertThat(board.halfmoveClock()).isZero();
+
+        board.unmake();
+        assertThat(board.toPosition()).isEqualTo(position);
+        assertThat(board.toPosition().board().pieceAt(a1)).isEqualTo(new Piece(BISHOP, WHITE, a1));
+    }
+
+    @Test
+    void pieceTypeAt() {
+        var board = new SearchBoard(FenParser.parse("r3k3/8/8/8/8/8/8/B3K3 b q - 4 30"));
+        assertThat(board.pieceTypeAt(a8)).isEqualTo(ROOK.ordinal());
+
+        board.make(new Move(CAPTURE, a8, a1));
+        assertThat(board.pieceTypeAt(a1)).isEqualTo(ROOK.ordinal());
+        assertThat(board.pieceTypeAt(a8)).isEqualTo(SearchBoard.NO_PIECE);
+    }
+
+    @Test
+    void unmakeCastle() {
+        var position = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        var board = new SearchBoard(position);
+
+        board.make(WHITE_SHORT_CASTLE_STEPS.getFirst());
+        board.make(BLACK_LONG_CASTLE_STEPS.getFirst());
+
+        var expected = FenParser.parse("2kr3r/8/8/8/8/8/8/R4RK1 w - - 2 2");
+        assertThat(board.toPosition()).isEqualTo(expected);
+        assertThat(new Mailbox(board.toPosition().board()).pieces())
+                .isEqualTo(new Mailbox(expected.board()).pieces());
+
+        board.unmake();
+        board.unmake();
+        assertThat(board.toPosition()).isEqualTo(position);
+    }
+
+    @Test
+    void unmakeEnPassant() {
+        var position = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - e6 0 2");
+        var board = new SearchBoard(position);
+
+        board.make(new Move(EN_PASSANT, d5, e6));
+        assertThat(board.pawns(WHITE)).isEqualTo(BitboardManipulator.singleBit(e6));
+        assertThat(board.pawns(BLACK)).isZero();
+
+        board.unmake();
+        assertThat(board.toPosition()).isEqualTo(position);
+    }
+
+    @Test
+    void unmakePromotion() {
+        var position = FenParser.parse("1b2k3/2P5/8/8/8/8/8/4K3 w - - 0 1");
+        var board = new SearchBoard(position);
+
+        board.make(new Move(PAWN_CAPTURE, c7, b8, PromotionChoice.KNIGHT));
+        assertThat(board.knights(WHITE)).isEqualTo(BitboardManipulator.singleBit(b8));
+        assertThat(board.pawns(WHITE)).isZero();
+        assertThat(board.bishops(BLACK)).isZero();
+
+        board.unmake();
+        assertThat(board.toPosition()).isEqualTo(position);
+    }
+
+    @Test
+    void unmakeWithoutMoves() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        assertThatThrownBy(board::unmake).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void nullMove() {
+        var position = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - e6 0 2");
+        var board = new SearchBoard(position);
+
+        board.makeNullMove();
+        var expected = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 b - - 1 2");
+        assertThat(board.toPosition()).isEqualTo(expected);
+        assertThat(board.hash()).isEqualTo(expected.hash());
+
+        board.unmakeNullMove();
+        assertThat(board.toPosition()).isEqualTo(position);
+        assertThat(board.hash()).isEqualTo(position.hash());
+    }
+
+    @Test
+    void unmakeNullMoveAfterMove() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(DOUBLE_PUSH, e2, e4));
+
+        assertThatThrownBy(board::unmakeNullMove).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void nonPawnMaterial() {
+        var board = new SearchBoard(FenParser.parse("4k3/pppp4/8/8/8/8/4P3/4KN2 w - - 0 1"));
+
+        assertThat(board.hasNonPawnMaterial(WHITE)).isTrue();
+        assertThat(board.hasNonPawnMaterial(BLACK)).isFalse();
+    }
+
+    @Test
+    void initialScores() {
+        var board = new SearchBoard(INITIAL_POSITION);
+
+        assertThat(board.material(WHITE)).isEqualTo(239).isEqualTo(board.material(BLACK));
+        assertThat(board.middlegameScore(WHITE)).isEqualTo(3905).isEqualTo(board.middlegameScore(BLACK));
+        assertThat(board.endgameScore(WHITE)).isEqualTo(3865).isEqualTo(board.endgameScore(BLACK));
+        assertThat(board.phase()).isEqualTo(24);
+    }
+
+    @Test
+    void incrementalScores() {
+        var position = FenParser.parse("r3k3/1P6/8/8/8/8/8/R3K2R w KQq - 0 1");
+        var board = new SearchBoard(position);
+
+        board.make(new Move(PAWN_CAPTURE, b7, a8, PromotionChoice.QUEEN));
+        board.make(new Move(NORMAL, e8, d7));
+        board.make(new Move(SHORT_CASTLE, e1, g1));
+
+        var expected = new SearchBoard(board.toPosition());
+
+        assertThat(board.material(WHITE)).isEqualTo(expected.material(WHITE)).isEqualTo(200 + 9 + 5 + 5);
+        assertThat(board.material(BLACK)).isEqualTo(expected.material(BLACK)).isEqualTo(200);
+        assertThat(board.middlegameScore(WHITE)).isEqualTo(expected.middlegameScore(WHITE));
+        assertThat(board.middlegameScore(BLACK)).isEqualTo(expected.middlegameScore(BLACK));
+        assertThat(board.endgameScore(WHITE)).isEqualTo(expected.endgameScore(WHITE));
+        assertThat(board.endgameScore(BLACK)).isEqualTo(expected.endgameScore(BLACK));
+        assertThat(board.phase()).isEqualTo(expected.phase());
+
+        board.unmake();
+        board.unmake();
+        board.unmake();
+
+        var original = new SearchBoard(position);
+
+        assertThat(board.material(WHITE)).isEqualTo(original.material(WHITE));
+        assertThat(board.material(BLACK)).isEqualTo(original.material(BLACK));
+        assertThat(board.middlegameScore(WHITE)).isEqualTo(original.middlegameScore(WHITE));
+        assertThat(board.middlegameScore(BLACK)).isEqualTo(original.middlegameScore(BLACK));
+        assertThat(board.endgameScore(WHITE)).isEqualTo(original.endgameScore(WHITE));
+        assertThat(board.endgameScore(BLACK)).isEqualTo(original.endgameScore(BLACK));
+        assertThat(board.phase()).isEqualTo(original.phase());
+    }
+
+    @Test
+    void incrementalPawnHash() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        var initialPawnHash = board.pawnHash();
+
+        assertThat(initialPawnHash).isEqualTo(Zobrist.pawnHash(board));
+
+        board.make(new Move(NORMAL, g1, f3));
+        assertThat(board.pawnHash()).isEqualTo(initialPawnHash);
+
+        board.make(new Move(DOUBLE_PUSH, d7, d5));
+        assertThat(board.pawnHash()).isNotEqualTo(initialPawnHash).isEqualTo(Zobrist.pawnHash(board));
+
+        board.unmake();
+        board.unmake();
+        assertThat(board.pawnHash()).isEqualTo(initialPawnHash);
+    }
+
+    @Test
+    void incrementalMaterialKey() {
+        var position = FenParser.parse("r3k3/1P6/8/8/8/8/8/R3K2R w KQq - 0 1");
+        var board = new SearchBoard(position);
+        var initialKey = board.materialKey();
+
+        assertThat(initialKey).isEqualTo(MaterialKey.key(board));
+
+        board.make(new Move(NORMAL, e1, f1));
+        assertThat(board.materialKey()).isEqualTo(initialKey);
+
+        board.unmake();
+        board.make(new Move(PAWN_CAPTURE, b7, a8, PromotionChoice.QUEEN));
+
+        var key = board.materialKey();
+        assertThat(MaterialKey.count(key, QUEEN.ordinal(), WHITE.ordinal())).isEqualTo(1);
+        assertThat(MaterialKey.count(key, PAWN.ordinal(), WHITE.ordinal())).isZero();
+        assertThat(MaterialKey.count(key, ROOK.ordinal(), BLACK.ordinal())).isZero();
+
+        board.unmake();
+        assertThat(board.materialKey()).isEqualTo(initialKey);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.book;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static com.vmardones.tealchess.square.Square.*;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.game.Game;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class PolyglotBookTest {
+
+    PolyglotKey key = new PolyglotKey(new SplittableRandom(781).longs(PolyglotKey.RANDOM_NUMBERS).toArray());
+    GameMemento initialState = new Game(emptyMap()).memento();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void findsMoves() throws IOException {
+        var initialKey = key.hash(INITIAL_POSITION);
+        var book = writeBook(
+                entry(initialKey - 1, encode(g1, f3, 0), 5),
+                entry(initialKey, encode(e2, e4, 0), 3),
+                entry(initialKey, encode(d2, d4, 0), 1),
+                entry(initialKey + 1, encode(c2, c4, 0), 5));
+
+        assertThat(book.size()).isEqualTo(4);
+        assertThat(book.moves(initialState))
+                .containsExactly(
+                        new BookMove(new Move(DOUBLE_PUSH, e2, e4), 3), new BookMove(new Move(DOUBLE_PUSH, d2, d4), 1));
+    }
+
+    @Test
+    void keysAreUnsigned() throws IOException {
+        var position = FenParser.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        var positionKey = key.hash(position);
+        var positiveKey = positionKey & Long.MAX_VALUE;
+        var negativeKey = positionKey | Long.MIN_VALUE;
+
+        // Sorted as unsigned numbers, the key with the sign bit set goes last
+        var book = writeBook(entry(positiveKey, encode(e1, d1, 0), 1), entry(negativeKey, encode(e1, e2, 0), 1));
+        var expected = positionKey < 0 ? new Move(NORMAL, e1, e2) : new Move(NORMAL, e1, d1);
+
+        assertThat(book.moves(new Game(emptyMap(), position).memento()))
+                .extracting(BookMove::move)
+                .containsExactly(expected);
+    }
+
+    @Test
+    void missingPosition() throws IOException {
+        var book = writeBook(entry(key.hash(INITIAL_POSITION) + 1, encode(e2, e4, 0), 1));
+
+        assertThat(book.moves(initialState)).isEmpty();
+        assertThat(book.chooseMove(initialState, new SplittableRandom())).isNull();
+    }
+
+    @Test
+    void emptyBook() throws IOException {
+        var book = writeBook();
+
+        assertThat(book.size()).isZero();
+        assertThat(book.moves(initialState)).isEmpty();
+    }
+
+    @Test
+    void castling() throws IOException {
+        var position = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        var positionKey = key.hash(position);
+        var book = writeBook(entry(positionKey, encode(e1, h1, 0), 1), entry(positionKey, encode(e1, a1, 0), 1));
+
+        assertThat(book.moves(new Game(emptyMap(), position).memento()))
+                .extracting(BookMove::move)
+                .containsExactly(new Move(SHORT_CASTLE, e1, g1), new Move(LONG_CASTLE, e1, c1));
+    }
+
+    @Test
+    void promotion() throws IOException {
+        var position = FenParser.parse("k7/4P3/8/8/8/8/8/4K3 w - - 0 1");
+        var book = writeBook(entry(key.hash(position), encode(e7, e8, 1), 1));
+
+        assertThat(book.moves(new Game(emptyMap(), position).memento()))
+                .extracting(BookMove::move)
+                .containsExactly(new Move(PAWN_PUSH, e7, e8, PromotionChoice.KNIGHT));
+    }
+
+    @Test
+    void skipsIllegalMoves() throws IOException {
+        var initialKey = key.hash(INITIAL_POSITION);
+        var book = writeBook(entry(initialKey, encode(e2, e5, 0), 1), entry(initialKey, encode(e2, e4, 0), 1));
+
+        assertThat(book.moves(initialState))
+                .extracting(BookMove::move)
+                .containsExactly(new Move(DOUBLE_PUSH, e2, e4));
+    }
+
+    @Test
+    void weightedChoice() throws IOException {
+        var initialKey = key.hash(INITIAL_POSITION);
+        var book = writeBook(
+                entry(initialKey, encode(e2, e4, 0), 0),
+                entry(initialKey, encode(d2, d4, 0), 1),
+                entry(initialKey, encode(c2, c4, 0), 3));
+        var random = new SplittableRandom(0);
+        var queenPawn = 0;
+        var english = 0;
+
+        for (var i = 0; i < 400; i++) {
+            var move = book.chooseMove(initialState, random);
+
+            if (new Move(DOUBLE_PUSH, d2, d4).equals(move)) {
+                queenPawn++;
+            } else if (new Move(DOUBLE_PUSH, c2, c4).equals(move)) {
+                english++;
+            }
+        }
+
+        assertThat(queenPawn + english).isEqualTo(400);
+        assertThat(english).isGreaterThan(queenPawn);
+    }
+
+    @Test
+    void zeroWeights() throws IOException {
+        var book = writeBook(entry(key.hash(INITIAL_POSITION), encode(e2, e4, 0), 0));
+
+        assertThat(book.moves(initialState)).hasSize(1);
+        assertThat(book.chooseMove(initialState, new SplittableRandom())).isNull();
+    }
+
+    @Test
+    void incompleteEntries() throws IOException {
+        var file = Files.write(directory.resolve("broken.bin"), new byte[20]);
+
+        assertThatThrownBy(() -> PolyglotBook.open(file, key)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private PolyglotBook writeBook(byte[]... entries) throws IOException {
+        var buffer = ByteBuffer.allocate(entries.length * 16);
+
+        for (var entry : entries) {
+            buffer.put(entry);
+        }
+
+        var file = Files.write(directory.resolve("book.bin"), buffer.array());
+        return PolyglotBook.open(file, key);
+    }
+
+    private byte[] entry(long positionKey, int move, int weight) {
+        return ByteBuffer.allocate(16)
+                .putLong(positionKey)
+                .putShort((short) move)
+                .putShort((short) weight)
+                .putInt(0)
+                .array();
+    }
+
+    private int encode(int source, int destination, int promotion) {
+        return promotion << 12 | source << 6 | destination;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.book;
+
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class PolyglotKeyTest {
+
+    long[] randoms = new SplittableRandom(781).longs(PolyglotKey.RANDOM_NUMBERS).toArray();
+    PolyglotKey key = new PolyglotKey(randoms);
+
+    @Test
+    void pieceKeys() {
+        var empty = FenParser.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        var whitePawn = FenParser.parse("4k3/8/8/8/8/8/4P3/4K3 w - - 0 1");
+        var blackQueen = FenParser.parse("4k3/8/8/8/8/8/8/q3K3 w - - 0 1");
+
+        assertThat(key.hash(whitePawn) ^ key.hash(empty)).isEqualTo(randoms[64 + e2]);
+        assertThat(key.hash(blackQueen) ^ key.hash(empty)).isEqualTo(randoms[64 * 8 + a1]);
+    }
+
+    @Test
+    void castlingKeys() {
+        var allRights = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        var withoutWhiteShort = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w Qkq - 0 1");
+        var withoutBlackLong = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQk - 0 1");
+
+        assertThat(key.hash(allRights) ^ key.hash(withoutWhiteShort)).isEqualTo(randoms[768]);
+        assertThat(key.hash(allRights) ^ key.hash(withoutBlackLong)).isEqualTo(randoms[771]);
+    }
+
+    @Test
+    void whiteToMoveKey() {
+        var white = FenParser.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        var black = FenParser.parse("4k3/8/8/8/8/8/8/4K3 b - - 0 1");
+
+        assertThat(key.hash(white) ^ key.hash(black)).isEqualTo(randoms[780]);
+    }
+
+    @Test
+    void enPassantOnlyIfCapturable() {
+        var uncapturable = FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+        var withoutTarget = FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq - 0 1");
+        var capturable = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - e6 0 2");
+        var capturableWithoutTarget = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - - 0 2");
+
+        assertThat(key.hash(uncapturable)).isEqualTo(key.hash(withoutTarget));
+        assertThat(key.hash(capturable) ^ key.hash(capturableWithoutTarget)).isEqualTo(randoms[772 + 4]);
+    }
+
+    @Test
+    void standardKeys() {
+        var standard = PolyglotKey.STANDARD;
+
+        // Keys published with the Polyglot book format
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/pppppppp/8/8/8/8/PPPPPPPP/RNBQKBNR w KQkq - 0 1")))
+                .isEqualTo(0x463b96181691fc9cL);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1")))
+                .isEqualTo(0x823c9b50fd114196L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/ppp1pppp/8/3p4/4P3/8/PPPP1PPP/RNBQKBNR w KQkq d6 0 2")))
+                .isEqualTo(0x0756b94461c50fb0L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/ppp1pppp/8/3pP3/8/8/PPPP1PPP/RNBQKBNR b KQkq - 0 2")))
+                .isEqualTo(0x662fafb965db29d4L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPP1PPP/RNBQKBNR w KQkq f6 0 3")))
+                .isEqualTo(0x22a48b5a8e47ff78L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/ppp1p1pp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR b kq - 0 3")))
+                .isEqualTo(0x652a607ca3f242c1L);
+        assertThat(standard.hash(FenParser.parse("rnbq1bnr/ppp1pkpp/8/3pPp2/8/8/PPPPKPPP/RNBQ1BNR w - - 0 4")))
+                .isEqualTo(0x00fdd303c946bdd9L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/p1pppppp/8/8/PpP4P/8/1P1PPPP1/RNBQKBNR b KQkq c3 0 3")))
+                .isEqualTo(0x3c8123ea7b067637L);
+        assertThat(standard.hash(FenParser.parse("rnbqkbnr/p1pppppp/8/8/P6P/R1p5/1P1PPPP1/1NBQKBNR b Kkq - 0 4")))
+                .isEqualTo(0x5c3f9b829b279560L);
+    }
+
+    @Test
+    void wrongAmountOfRandoms() {
+        assertThatThrownBy(() -> new PolyglotKey(new long[780])).isInstanceOf(IllegalArgumentException.class);
+    }
+}
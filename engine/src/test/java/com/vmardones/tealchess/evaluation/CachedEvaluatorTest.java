@@ -0,0 +1,126 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class CachedEvaluatorTest {
+
+    static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    @Test
+    void capacity() {
+        var evaluator = new MaterialEvaluator();
+
+        assertThat(new CachedEvaluator(evaluator, 1).capacity()).isEqualTo(1 << 17);
+        assertThatThrownBy(() -> new CachedEvaluator(evaluator, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void cachesScores() {
+        var board = new SearchBoard(FenParser.parse(KIWIPETE));
+        var evaluator = new TaperedEvaluator();
+        var cachedEvaluator = new CachedEvaluator(evaluator, 1);
+
+        assertThat(cachedEvaluator.evaluate(board)).isEqualTo(evaluator.evaluate(board));
+        assertThat(cachedEvaluator.hitRate()).isZero();
+
+        assertThat(cachedEvaluator.evaluate(board)).isEqualTo(evaluator.evaluate(board));
+        assertThat(cachedEvaluator.hitRate()).isEqualTo(0.5);
+
+        cachedEvaluator.clear();
+        assertThat(cachedEvaluator.hitRate()).isZero();
+    }
+
+    @Test
+    void negativeScores() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 b - - 0 1"));
+        var evaluator = new TaperedEvaluator();
+        var cachedEvaluator = new CachedEvaluator(evaluator, 1);
+
+        cachedEvaluator.evaluate(board);
+
+        assertThat(cachedEvaluator.evaluate(board)).isNegative().isEqualTo(evaluator.evaluate(board));
+    }
+
+    @Test
+    void sideToMoveIsPartOfTheKey() {
+        var whiteToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 w - - 0 1"));
+        var blackToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 b - - 0 1"));
+        var cachedEvaluator = new CachedEvaluator(new TaperedEvaluator(), 1);
+
+        var whiteScore = cachedEvaluator.evaluate(whiteToMove);
+
+        assertThat(cachedEvaluator.evaluate(blackToMove)).isEqualTo(-whiteScore);
+    }
+
+    @Test
+    void sharedBetweenThreads() throws Exception {
+        var evaluator = new TaperedEvaluator();
+        // Every thread evaluates the same positions, so they keep reading and overwriting each other's entries
+        var cachedEvaluator = new CachedEvaluator(evaluator, 1);
+        var tasks = new ArrayList<Callable<Boolean>>();
+
+        for (var thread = 0; thread < 4; thread++) {
+            tasks.add(() -> evaluateTree(cachedEvaluator, evaluator));
+        }
+
+        try (var executor = Executors.newFixedThreadPool(tasks.size())) {
+            for (var result : executor.invokeAll(tasks)) {
+                assertThat(result.get()).isTrue();
+            }
+        }
+
+        assertThat(cachedEvaluator.hitRate()).isPositive();
+    }
+
+    @Test
+    void initialPosition() {
+        var cachedEvaluator = new CachedEvaluator(new MaterialEvaluator(), 1);
+        assertThat(cachedEvaluator.evaluate(new SearchBoard(INITIAL_POSITION))).isZero();
+    }
+
+    private boolean evaluateTree(CachedEvaluator cachedEvaluator, BoardEvaluator evaluator) {
+        var board = new SearchBoard(FenParser.parse(KIWIPETE));
+        var generator = new MaskedLegalGenerator();
+        var moves = new MoveList();
+        var replies = new MoveList();
+
+        generator.generate(board, moves);
+
+        for (var i = 0; i < moves.size(); i++) {
+            board.make(moves.get(i));
+            replies.clear();
+            generator.generate(board, replies);
+
+            for (var j = 0; j < replies.size(); j++) {
+                board.make(replies.get(j));
+
+                if (cachedEvaluator.evaluate(board) != evaluator.evaluate(board)) {
+                    return false;
+                }
+
+                board.unmake();
+            }
+
+            board.unmake();
+        }
+
+        return true;
+    }
+}
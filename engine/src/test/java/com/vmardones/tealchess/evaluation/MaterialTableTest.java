@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.move.MoveType.NORMAL;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static com.vmardones.tealchess.square.Square.f3;
+import static com.vmardones.tealchess.square.Square.g1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vmardones.tealchess.board.PieceSquareTables;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class MaterialTableTest {
+
+    @Test
+    void capacity() {
+        assertThat(new MaterialTable(100).capacity()).isEqualTo(64);
+        assertThatThrownBy(() -> new MaterialTable(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void initialPosition() {
+        var entry = MaterialTable.analyze(new SearchBoard(INITIAL_POSITION).materialKey());
+
+        assertThat(MaterialTable.score(entry)).isZero();
+        assertThat(MaterialTable.phase(entry)).isEqualTo(PieceSquareTables.MAX_PHASE);
+        assertThat(MaterialTable.endgame(entry)).isEqualTo(Endgame.NONE);
+    }
+
+    @Test
+    void imbalance() {
+        // White has the bishop pair, black has a knight and a rook with 6 pawns
+        var board = new SearchBoard(FenParser.parse("r3k1n1/pppppp2/8/8/8/8/8/2B1KB2 w - - 0 1"));
+        var score = MaterialTable.score(MaterialTable.analyze(board.materialKey()));
+
+        assertThat(PawnStructure.middlegame(score)).isEqualTo(30 - 6 + 12);
+        assertThat(PawnStructure.endgame(score)).isEqualTo(50 - 6 + 12);
+    }
+
+    @Test
+    void endgames() {
+        assertThat(endgame("4k3/8/8/8/8/8/8/4K3 w - - 0 1")).isEqualTo(Endgame.DRAW);
+        assertThat(endgame("4k3/8/8/8/8/8/8/1N2KB2 w - - 0 1")).isEqualTo(Endgame.NONE);
+        assertThat(endgame("4k3/8/8/8/8/8/8/1N2K1N1 w - - 0 1")).isEqualTo(Endgame.DRAW);
+        assertThat(endgame("4kb2/8/8/8/8/8/8/1N2K3 w - - 0 1")).isEqualTo(Endgame.DRAW);
+        assertThat(endgame("4k3/8/8/8/8/8/P7/1N2K3 w - - 0 1")).isEqualTo(Endgame.NONE);
+        assertThat(endgame("4k3/8/8/8/8/8/8/4K2R w - - 0 1")).isEqualTo(Endgame.WHITE_MATES);
+        assertThat(endgame("3qk3/8/8/8/8/8/8/4K3 w - - 0 1")).isEqualTo(Endgame.BLACK_MATES);
+    }
+
+    @Test
+    void cachesEntries() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        var table = new MaterialTable(64);
+
+        var entry = table.probe(board);
+        assertThat(entry).isEqualTo(MaterialTable.analyze(board.materialKey()));
+        assertThat(table.hitRate()).isZero();
+
+        board.make(new Move(NORMAL, g1, f3));
+        assertThat(table.probe(board)).isEqualTo(entry);
+        assertThat(table.hitRate()).isEqualTo(0.5);
+
+        table.clear();
+        assertThat(table.hitRate()).isZero();
+    }
+
+    private Endgame endgame(String fen) {
+        var board = new SearchBoard(FenParser.parse(fen));
+        return MaterialTable.endgame(MaterialTable.analyze(board.materialKey()));
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.piece.PieceType.QUEEN;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class NnueEvaluatorTest {
+
+    static final String KIWIPETE = "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1";
+
+    // Not a multiple of any vector size, so the scalar tail of the vectorized loops is used too
+    NnueNetwork network = randomNetwork(37);
+
+    @Test
+    void queenNetwork() {
+        // A single neuron that only sees queens, worth 100 for each of ours
+        var featureWeights = new short[NnueNetwork.FEATURES];
+        for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+            featureWeights[QUEEN.ordinal() * Board.NUMBER_OF_SQUARES + square] = 100;
+        }
+
+        var outputWeights = new short[] {NnueNetwork.OUTPUT_SCALE, -NnueNetwork.OUTPUT_SCALE};
+        var queenNetwork = new NnueNetwork(1, featureWeights, new short[1], outputWeights, (short) 0);
+        var evaluator = new NnueEvaluator(queenNetwork, false);
+
+        var whiteToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 w - - 0 1"));
+        var blackToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 b - - 0 1"));
+        var expected = 100 * NnueNetwork.OUTPUT_SCALE * NnueNetwork.EVALUATION_SCALE
+                / (NnueNetwork.HIDDEN_SCALE * NnueNetwork.OUTPUT_SCALE);
+
+        assertThat(evaluator.evaluate(whiteToMove)).isEqualTo(expected);
+        assertThat(evaluator.evaluate(blackToMove)).isEqualTo(-expected);
+    }
+
+    @Test
+    void colorSymmetry() {
+        var evaluator = new NnueEvaluator(network, false);
+        var board = new SearchBoard(INITIAL_POSITION);
+        var accumulator = evaluator.accumulator(board);
+
+        assertThat(accumulator.hiddenLayer(WHITE)).isEqualTo(accumulator.hiddenLayer(BLACK));
+    }
+
+    @Test
+    void attachesToBoard() {
+        var evaluator = new NnueEvaluator(network, false);
+        var board = new SearchBoard(INITIAL_POSITION);
+
+        assertThat(board.pieceListener()).isNull();
+
+        evaluator.evaluate(board);
+        var accumulator = board.pieceListener();
+        evaluator.evaluate(board);
+
+        assertThat(accumulator).isNotNull().isSameAs(board.pieceListener());
+    }
+
+    @Test
+    void scalarIncrementalUpdates() {
+        checkIncrementalUpdates(new NnueEvaluator(network, false));
+    }
+
+    @Test
+    void vectorizedIncrementalUpdates() {
+        assumeTrue(NnueEvaluator.VECTOR_API_AVAILABLE);
+        checkIncrementalUpdates(new NnueEvaluator(network, true));
+    }
+
+    @Test
+    void vectorizedMatchesScalar() {
+        assumeTrue(NnueEvaluator.VECTOR_API_AVAILABLE);
+
+        var scalar = new NnueEvaluator(network, false);
+        var vectorized = new NnueEvaluator(network, true);
+        var board = new SearchBoard(FenParser.parse(KIWIPETE));
+        var generator = new MaskedLegalGenerator();
+        var moves = new MoveList();
+
+        generator.generate(board, moves);
+
+        for (var i = 0; i < moves.size(); i++) {
+            board.make(moves.get(i));
+
+            var position = board.toPosition();
+            assertThat(vectorized.evaluate(new SearchBoard(position)))
+                    .isEqualTo(scalar.evaluate(new SearchBoard(position)));
+
+            board.unmake();
+        }
+    }
+
+    private void checkIncrementalUpdates(NnueEvaluator evaluator) {
+        var reference = new NnueEvaluator(network, false);
+        var board = new SearchBoard(FenParser.parse(KIWIPETE));
+        var accumulator = evaluator.accumulator(board);
+        var initialLayer = accumulator.hiddenLayer(WHITE);
+
+        var generator = new MaskedLegalGenerator();
+        var moves = new MoveList();
+        var replies = new MoveList();
+
+        generator.generate(board, moves);
+
+        for (var i = 0; i < moves.size(); i++) {
+            board.make(moves.get(i));
+            replies.clear();
+            generator.generate(board, replies);
+
+            for (var j = 0; j < replies.size(); j++) {
+                board.make(replies.get(j));
+                var fresh = new SearchBoard(board.toPosition());
+                assertThat(evaluator.evaluate(board)).isEqualTo(reference.evaluate(fresh));
+                board.unmake();
+            }
+
+            board.unmake();
+        }
+
+        assertThat(board.pieceListener()).isSameAs(accumulator);
+        assertThat(accumulator.hiddenLayer(WHITE)).isEqualTo(initialLayer);
+    }
+
+    private static NnueNetwork randomNetwork(int hiddenSize) {
+        var random = new SplittableRandom(0x22ea);
+        var featureWeights = randomWeights(random, NnueNetwork.FEATURES * hiddenSize, 64);
+        var hiddenBiases = randomWeights(random, hiddenSize, 128);
+        var outputWeights = randomWeights(random, 2 * hiddenSize, 128);
+
+        return new NnueNetwork(hiddenSize, featureWeights, hiddenBiases, outputWeights, (short) 100);
+    }
+
+    private static short[] randomWeights(SplittableRandom random, int length, int bound) {
+        var weights = new short[length];
+
+        for (var i = 0; i < length; i++) {
+            weights[i] = (short) random.nextInt(-bound, bound);
+        }
+
+        return weights;
+    }
+}
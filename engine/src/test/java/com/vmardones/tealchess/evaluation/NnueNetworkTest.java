@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.piece.PieceType.PAWN;
+import static com.vmardones.tealchess.square.Square.e2;
+import static com.vmardones.tealchess.square.Square.e7;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class NnueNetworkTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readFile() throws IOException {
+        var hiddenSize = 4;
+        var weightCount = hiddenSize * (NnueNetwork.FEATURES + 3) + 1;
+        // Padded to a multiple of 64 bytes
+        var buffer = ByteBuffer.allocate((weightCount * Short.BYTES + 63) / 64 * 64).order(ByteOrder.LITTLE_ENDIAN);
+
+        for (var i = 0; i < weightCount; i++) {
+            buffer.putShort((short) i);
+        }
+
+        var file = directory.resolve("network.bin");
+        Files.write(file, buffer.array());
+
+        var network = NnueNetwork.read(file);
+
+        assertThat(network.hiddenSize()).isEqualTo(hiddenSize);
+        assertThat(network.featureWeights()[5]).isEqualTo((short) 5);
+        assertThat(network.hiddenBiases()[0]).isEqualTo((short) (NnueNetwork.FEATURES * hiddenSize));
+        assertThat(network.outputWeights()[0]).isEqualTo((short) (NnueNetwork.FEATURES * hiddenSize + hiddenSize));
+        assertThat(network.outputBias()).isEqualTo((short) (weightCount - 1));
+    }
+
+    @Test
+    void invalidFile() throws IOException {
+        var file = directory.resolve("network.bin");
+        Files.write(file, new byte[1000]);
+
+        assertThatThrownBy(() -> NnueNetwork.read(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidWeights() {
+        var featureWeights = new short[NnueNetwork.FEATURES * 2];
+        var hiddenBiases = new short[2];
+        var outputWeights = new short[2];
+
+        assertThatThrownBy(() -> new NnueNetwork(2, featureWeights, hiddenBiases, outputWeights, (short) 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void perspectives() {
+        var network = new NnueNetwork(1, new short[NnueNetwork.FEATURES], new short[1], new short[2], (short) 0);
+
+        var whitePawn = network.featureOffset(WHITE.ordinal(), PAWN.ordinal(), WHITE.ordinal(), e2);
+        var blackPawn = network.featureOffset(BLACK.ordinal(), PAWN.ordinal(), BLACK.ordinal(), e7);
+        var theirPawn = network.featureOffset(BLACK.ordinal(), PAWN.ordinal(), WHITE.ordinal(), e2);
+
+        assertThat(whitePawn).isEqualTo(blackPawn).isEqualTo(e2);
+        assertThat(theirPawn).isEqualTo(NnueNetwork.FEATURES / 2 + e7);
+    }
+}
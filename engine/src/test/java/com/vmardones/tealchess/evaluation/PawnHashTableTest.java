@@ -0,0 +1,77 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.move.MoveType.NORMAL;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static com.vmardones.tealchess.square.Square.f3;
+import static com.vmardones.tealchess.square.Square.g1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class PawnHashTableTest {
+
+    @Test
+    void capacity() {
+        assertThat(new PawnHashTable(1000).capacity()).isEqualTo(512);
+        assertThatThrownBy(() -> new PawnHashTable(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void storesPawnStructure() {
+        var board = new SearchBoard(FenParser.parse("4k3/2p5/8/3P4/8/8/P7/4K3 w - - 0 1"));
+        var whitePawns = board.pawns(WHITE);
+        var blackPawns = board.pawns(BLACK);
+        var table = new PawnHashTable(1024);
+
+        var entry = table.probe(board);
+
+        assertThat(table.score(entry, WHITE)).isEqualTo(PawnStructure.score(whitePawns, blackPawns, WHITE.ordinal()));
+        assertThat(table.score(entry, BLACK)).isEqualTo(PawnStructure.score(blackPawns, whitePawns, BLACK.ordinal()));
+        assertThat(table.passedPawns(entry, WHITE))
+                .isEqualTo(PawnStructure.passedPawns(whitePawns, blackPawns, WHITE.ordinal()));
+        assertThat(table.passedPawns(entry, BLACK))
+                .isEqualTo(PawnStructure.passedPawns(blackPawns, whitePawns, BLACK.ordinal()));
+    }
+
+    @Test
+    void hitRate() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        var table = new PawnHashTable(1024);
+
+        table.probe(board);
+        assertThat(table.hitRate()).isZero();
+
+        // Knight moves keep the pawn structure
+        board.make(new Move(NORMAL, g1, f3));
+        table.probe(board);
+        assertThat(table.hitRate()).isEqualTo(0.5);
+
+        table.clear();
+        assertThat(table.hitRate()).isZero();
+    }
+
+    @Test
+    void positionWithoutPawns() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1"));
+        var table = new PawnHashTable(1024);
+
+        assertThat(board.pawnHash()).isZero();
+
+        var entry = table.probe(board);
+
+        assertThat(table.hitRate()).isZero();
+        assertThat(table.score(entry, WHITE)).isZero();
+        assertThat(table.passedPawns(entry, BLACK)).isZero();
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.square.Square.a2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.board.BitboardManipulator;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class PawnStructureTest {
+
+    @Test
+    void passedPawns() {
+        var board = new SearchBoard(FenParser.parse("4k3/2p5/8/3P4/8/8/P7/4K3 w - - 0 1"));
+        var whitePawns = board.pawns(WHITE);
+        var blackPawns = board.pawns(BLACK);
+
+        assertThat(PawnStructure.passedPawns(whitePawns, blackPawns, WHITE.ordinal()))
+                .isEqualTo(BitboardManipulator.singleBit(a2));
+        assertThat(PawnStructure.passedPawns(blackPawns, whitePawns, BLACK.ordinal())).isZero();
+    }
+
+    @Test
+    void doubledIsolatedPawns() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/8/8/P7/P7/4K3 w - - 0 1"));
+        var score = PawnStructure.score(board.pawns(WHITE), board.pawns(BLACK), WHITE.ordinal());
+
+        // One doubled pawn, two isolated pawns and a passed pawn on the third rank
+        assertThat(PawnStructure.middlegame(score)).isEqualTo(-10 - 2 * 10 + 5);
+        assertThat(PawnStructure.endgame(score)).isEqualTo(-25 - 2 * 15 + 15);
+    }
+
+    @Test
+    void backwardPawn() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/4p3/4P3/3P4/8/4K3 w - - 0 1"));
+        var whitePawns = board.pawns(WHITE);
+        var blackPawns = board.pawns(BLACK);
+
+        var white = PawnStructure.score(whitePawns, blackPawns, WHITE.ordinal());
+        assertThat(PawnStructure.middlegame(white)).isEqualTo(-8);
+        assertThat(PawnStructure.endgame(white)).isEqualTo(-10);
+
+        // The black pawn is isolated, which isn't also counted as backward
+        var black = PawnStructure.score(blackPawns, whitePawns, BLACK.ordinal());
+        assertThat(PawnStructure.middlegame(black)).isEqualTo(-10);
+        assertThat(PawnStructure.endgame(black)).isEqualTo(-15);
+    }
+
+    @Test
+    void unblockedPassers() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/P6P/4K2N w - - 0 1"));
+        var whitePawns = board.pawns(WHITE);
+        var passed = PawnStructure.passedPawns(whitePawns, board.pawns(BLACK), WHITE.ordinal());
+
+        assertThat(passed).isEqualTo(whitePawns);
+        assertThat(PawnStructure.unblockedPasserBonus(passed, board.occupiedSquares(), WHITE.ordinal()))
+                .isEqualTo(2 * 10);
+
+        var blocked = new SearchBoard(FenParser.parse("4k3/8/8/8/8/7n/P6P/4K3 w - - 0 1"));
+        assertThat(PawnStructure.unblockedPasserBonus(passed, blocked.occupiedSquares(), WHITE.ordinal()))
+                .isEqualTo(10);
+    }
+
+    @Test
+    void packedScores() {
+        var board = new SearchBoard(FenParser.parse("4k3/p7/8/8/8/8/8/4K3 b - - 0 1"));
+        var black = PawnStructure.score(board.pawns(BLACK), board.pawns(WHITE), BLACK.ordinal());
+        var white = PawnStructure.score(board.pawns(WHITE), board.pawns(BLACK), WHITE.ordinal());
+
+        // An isolated passed pawn on its second rank
+        assertThat(PawnStructure.middlegame(white - black)).isEqualTo(10);
+        assertThat(PawnStructure.endgame(white - black)).isEqualTo(15 - 10);
+    }
+}
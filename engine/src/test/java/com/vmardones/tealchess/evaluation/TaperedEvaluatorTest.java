@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.evaluation;
+
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class TaperedEvaluatorTest {
+
+    TaperedEvaluator evaluator = new TaperedEvaluator();
+    IncrementalTaperedEvaluator incrementalEvaluator = new IncrementalTaperedEvaluator();
+
+    @Test
+    void initialPosition() {
+        var board = new SearchBoard(INITIAL_POSITION);
+
+        assertThat(evaluator.evaluate(board)).isZero();
+        assertThat(incrementalEvaluator.evaluate(board)).isZero();
+    }
+
+    @Test
+    void sideToMovePointOfView() {
+        var whiteToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 w - - 0 1"));
+        var blackToMove = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/3QK3 b - - 0 1"));
+
+        assertThat(evaluator.evaluate(whiteToMove)).isPositive().isEqualTo(-evaluator.evaluate(blackToMove));
+    }
+
+    @Test
+    void centralizedKingInEndgame() {
+        // The pawns cancel out, and keep the position from being scored as a draw
+        var board = new SearchBoard(FenParser.parse("8/p7/8/4k3/8/8/P7/K7 w - - 0 1"));
+
+        assertThat(board.phase()).isZero();
+        assertThat(evaluator.evaluate(board)).isEqualTo(-50 - 40);
+    }
+
+    @Test
+    void shelteredKingInMiddlegame() {
+        var castled = new SearchBoard(FenParser.parse("r2qk2r/8/8/8/8/8/8/R2Q1RK1 w kq - 0 1"));
+        var centralized = new SearchBoard(FenParser.parse("r2qk2r/8/8/8/4K3/8/8/R2Q3R w kq - 0 1"));
+
+        assertThat(evaluator.evaluate(castled)).isGreaterThan(evaluator.evaluate(centralized));
+    }
+
+    @Test
+    void incrementalMatchesFromScratch() {
+        var board = new SearchBoard(
+                FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1"));
+        var generator = new MaskedLegalGenerator();
+        var moves = new MoveList();
+        var replies = new MoveList();
+
+        generator.generate(board, moves);
+
+        for (var i = 0; i < moves.size(); i++) {
+            board.make(moves.get(i));
+            replies.clear();
+            generator.generate(board, replies);
+
+            for (var j = 0; j < replies.size(); j++) {
+                board.make(replies.get(j));
+                assertThat(incrementalEvaluator.evaluate(board)).isEqualTo(evaluator.evaluate(board));
+                board.unmake();
+            }
+
+            assertThat(incrementalEvaluator.evaluate(board)).isEqualTo(evaluator.evaluate(board));
+            board.unmake();
+        }
+    }
+
+    @Test
+    void drawnEndgame() {
+        var board = new SearchBoard(FenParser.parse("4k3/8/8/8/8/8/8/2B1K3 w - - 0 1"));
+
+        assertThat(evaluator.evaluate(board)).isZero();
+        assertThat(incrementalEvaluator.evaluate(board)).isZero();
+    }
+
+    @Test
+    void mopUpEndgame() {
+        var cornered = new SearchBoard(FenParser.parse("k7/8/1K6/8/8/8/8/7R w - - 0 1"));
+        var centralized = new SearchBoard(FenParser.parse("8/8/8/3k4/8/8/8/K6R w - - 0 1"));
+
+        assertThat(evaluator.evaluate(cornered)).isGreaterThan(evaluator.evaluate(centralized));
+        assertThat(incrementalEvaluator.evaluate(cornered)).isEqualTo(evaluator.evaluate(cornered));
+    }
+}
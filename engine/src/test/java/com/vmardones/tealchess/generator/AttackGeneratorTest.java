@@ -10,6 +10,9 @@ import static com.vmardones.tealchess.color.Color.WHITE;
 import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.vmardones.tealchess.board.Board;
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.color.Color;
 import com.vmardones.tealchess.parser.fen.FenParser;
 import org.junit.jupiter.api.Test;
 
@@ -98,4 +101,19 @@ final class AttackGeneratorTest {
         var position = FenParser.parse("rnb1kbnr/pppp1ppp/8/4p3/6Pq/5P2/PPPPP2P/RNBQKBNR w KQkq - 1 3");
         assertThat(generator.isKingAttacked(position, WHITE)).isTrue();
     }
+
+    @Test
+    void squareAttackedMatchesAttackMap() {
+        var position = FenParser.parse("4k3/p7/5B2/6r1/3n4/R5p1/r1b2Q2/3nK3 b - - 0 1");
+        var board = new SearchBoard(position);
+
+        for (var attacker : Color.values()) {
+            var attacks = generator.generate(board, attacker);
+
+            for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+                var expected = (attacks & 1L << square) != 0;
+                assertThat(generator.isSquareAttacked(board, square, attacker)).isEqualTo(expected);
+            }
+        }
+    }
 }
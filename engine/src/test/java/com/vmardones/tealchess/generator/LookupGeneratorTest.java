@@ -0,0 +1,45 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import static com.vmardones.tealchess.generator.LookupGenerator.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.color.Color;
+import org.junit.jupiter.api.Test;
+
+final class LookupGeneratorTest {
+
+    @Test
+    void knightAttacksDontWrap() {
+        assertThat(KNIGHT_ATTACKS[a1]).isEqualTo(1L << b3 | 1L << c2);
+        assertThat(KNIGHT_ATTACKS[h8]).isEqualTo(1L << g6 | 1L << f7);
+    }
+
+    @Test
+    void knightAttacksInCenter() {
+        assertThat(Long.bitCount(KNIGHT_ATTACKS[e4])).isEqualTo(8);
+    }
+
+    @Test
+    void kingAttacksDontWrap() {
+        assertThat(KING_ATTACKS[h1]).isEqualTo(1L << g1 | 1L << g2 | 1L << h2);
+        assertThat(KING_ATTACKS[a8]).isEqualTo(1L << a7 | 1L << b7 | 1L << b8);
+    }
+
+    @Test
+    void pawnAttacks() {
+        assertThat(PAWN_ATTACKS[Color.WHITE.ordinal()][e4]).isEqualTo(1L << d5 | 1L << f5);
+        assertThat(PAWN_ATTACKS[Color.BLACK.ordinal()][e4]).isEqualTo(1L << d3 | 1L << f3);
+    }
+
+    @Test
+    void pawnAttacksDontWrap() {
+        assertThat(PAWN_ATTACKS[Color.WHITE.ordinal()][a2]).isEqualTo(1L << b3);
+        assertThat(PAWN_ATTACKS[Color.BLACK.ordinal()][h7]).isEqualTo(1L << g6);
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+final class MaskedLegalGeneratorTest {
+
+    MoveGenerator generator = new MaskedLegalGenerator();
+    MoveGenerator reference = new LegalGenerator();
+
+    @Test
+    void pinnedPieceMovesAlongPin() {
+        var position = FenParser.parse("4k3/4r3/8/8/8/8/4R3/4K3 w - - 0 1");
+        var rookMoves = generator.generate(position).stream()
+                .filter(move -> move.source() == e2)
+                .toList();
+
+        assertThat(rookMoves)
+                .hasSize(5)
+                .contains(new Move(CAPTURE, e2, e7))
+                .allSatisfy(move -> assertThat(move.destination() % 8).isEqualTo(e1 % 8));
+    }
+
+    @Test
+    void pinnedKnightCantMove() {
+        var position = FenParser.parse("4k3/4r3/8/8/8/8/4N3/4K3 w - - 0 1");
+        assertThat(generator.generate(position)).noneMatch(move -> move.source() == e2);
+    }
+
+    @Test
+    void blockOrCaptureChecker() {
+        var position = FenParser.parse("4k3/8/8/8/1b6/8/8/R3K3 w - - 0 1");
+
+        var expectedMoves = new Move[] {
+            new Move(NORMAL, e1, d1),
+            new Move(NORMAL, e1, e2),
+            new Move(NORMAL, e1, f1),
+            new Move(NORMAL, e1, f2),
+        };
+
+        // Neither rook move blocks the check, and the king can't stay on the bishop's diagonal
+        assertThat(generator.generate(position)).containsExactlyInAnyOrder(expectedMoves);
+    }
+
+    @Test
+    void doubleCheckOnlyAllowsKingMoves() {
+        var position = FenParser.parse("4k3/8/8/8/8/5n2/8/R3K2r w Q - 0 1");
+        assertThat(generator.generate(position)).allSatisfy(move -> assertThat(move.source())
+                .isEqualTo(e1));
+    }
+
+    @Test
+    void illegalEnPassant() {
+        var position = FenParser.parse("8/8/8/KPp4r/8/8/8/4k3 w - c6 0 2");
+        assertThat(generator.generate(position)).noneMatch(move -> move.type() == EN_PASSANT);
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+            })
+    void matchesReferenceGenerator(String fen) {
+        var board = new SearchBoard(FenParser.parse(fen));
+        assertSameMoves(board, 2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(
+            strings = {
+                "r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1",
+                "8/2p5/3p4/KP5r/1R3p1k/8/4P1P1/8 w - - 0 1",
+                "r3k2r/Pppp1ppp/1b3nbN/nP6/BBP1P3/q4N2/Pp1P2PP/R2Q1RK1 w kq - 0 1",
+                "rnbq1k1r/pp1Pbppp/2p5/8/2B5/8/PPP1NnPP/RNBQK2R w KQ - 1 8"
+            })
+    void capturesMatchFilteredMoves(String fen) {
+        var board = new SearchBoard(FenParser.parse(fen));
+        assertSameCaptures(board, 2);
+    }
+
+    private void assertSameMoves(SearchBoard board, int depth) {
+        var moves = generator.generate(board);
+        assertThat(moves).containsExactlyInAnyOrderElementsOf(reference.generate(board));
+
+        if (depth == 1) {
+            return;
+        }
+
+        for (var move : moves) {
+            board.make(move);
+            assertSameMoves(board, depth - 1);
+            board.unmake();
+        }
+    }
+
+    private void assertSameCaptures(SearchBoard board, int depth) {
+        var captures = new MoveList();
+        generator.generateCaptures(board, captures);
+
+        var expectedCaptures = generator.generate(board).stream()
+                .filter(move -> move.type() == CAPTURE
+                        || move.type() == PAWN_CAPTURE
+                        || move.type() == EN_PASSANT
+                        || move.promotionChoice() != null)
+                .toList();
+
+        assertThat(captures.toList()).containsExactlyInAnyOrderElementsOf(expectedCaptures);
+
+        if (depth == 1) {
+            return;
+        }
+
+        for (var move : generator.generate(board)) {
+            board.make(move);
+            assertSameCaptures(board, depth - 1);
+            board.unmake();
+        }
+    }
+}
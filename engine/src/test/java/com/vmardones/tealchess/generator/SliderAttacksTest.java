@@ -0,0 +1,66 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.generator;
+
+import static com.vmardones.tealchess.generator.SliderAttacks.HYPERBOLA_QUINTESSENCE;
+import static com.vmardones.tealchess.generator.SliderAttacks.MAGIC_BITBOARDS;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.board.Board;
+import org.junit.jupiter.api.Test;
+
+final class SliderAttacksTest {
+
+    @Test
+    void magicBitboardsMatchHyperbolaQuintessence() {
+        var random = new SplittableRandom(0);
+
+        for (var i = 0; i < 1000; i++) {
+            // Sparse occupancies are closer to real positions
+            var occupiedSquares = random.nextLong() & random.nextLong();
+
+            for (var square = 0; square < Board.NUMBER_OF_SQUARES; square++) {
+                assertThat(MAGIC_BITBOARDS.diagonalAttacks(square, occupiedSquares))
+                        .isEqualTo(HYPERBOLA_QUINTESSENCE.diagonalAttacks(square, occupiedSquares));
+                assertThat(MAGIC_BITBOARDS.orthogonalAttacks(square, occupiedSquares))
+                        .isEqualTo(HYPERBOLA_QUINTESSENCE.orthogonalAttacks(square, occupiedSquares));
+            }
+        }
+    }
+
+    @Test
+    void emptyBoard() {
+        var expectedRookAttacks = 0x01_01_01_01_01_01_01_feL;
+        var expectedBishopAttacks = 0x80_40_20_10_08_04_02_00L;
+
+        assertThat(MAGIC_BITBOARDS.orthogonalAttacks(a1, 0)).isEqualTo(expectedRookAttacks);
+        assertThat(MAGIC_BITBOARDS.diagonalAttacks(a1, 0)).isEqualTo(expectedBishopAttacks);
+    }
+
+    @Test
+    void blockedAttacks() {
+        var blockers = 0x10_00_00_00_10_00_00_00L;
+        var fileE = 0x10_10_10_10_10_10_10_10L;
+        var expectedAttacks = 0x10_10_10_00_10_00_00_00L;
+
+        assertThat(MAGIC_BITBOARDS.orthogonalAttacks(e5, blockers) & fileE).isEqualTo(expectedAttacks);
+    }
+
+    @Test
+    void selectByName() {
+        assertThat(SliderAttacks.fromName("hyperbola_quintessence")).isEqualTo(HYPERBOLA_QUINTESSENCE);
+        assertThat(SliderAttacks.fromName("MAGIC_BITBOARDS")).isEqualTo(MAGIC_BITBOARDS);
+    }
+
+    @Test
+    void unknownNameFallsBack() {
+        assertThat(SliderAttacks.fromName("pext")).isEqualTo(MAGIC_BITBOARDS);
+        assertThat(SliderAttacks.fromName(null)).isEqualTo(MAGIC_BITBOARDS);
+    }
+}
@@ -0,0 +1,17 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.integration;
+
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.generator.MoveGenerator;
+
+final class MaskedLegalPerftResultsTest extends PerftResultsTest {
+
+    @Override
+    MoveGenerator generator() {
+        return new MaskedLegalGenerator();
+    }
+}
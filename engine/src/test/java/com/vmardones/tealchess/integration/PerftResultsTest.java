@@ -10,16 +10,20 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.vmardones.tealchess.generator.AttackGenerator;
 import com.vmardones.tealchess.generator.LegalGenerator;
-import com.vmardones.tealchess.move.MoveMaker;
+import com.vmardones.tealchess.generator.MoveGenerator;
 import com.vmardones.tealchess.parser.fen.FenParser;
 import com.vmardones.tealchess.perft.Perft;
 import com.vmardones.tealchess.player.PlayerFactory;
 import org.junit.jupiter.api.Test;
 
-final class PerftResultsTest {
+class PerftResultsTest {
 
-    Perft perft = new Perft(
-            new LegalGenerator(), new MoveMaker(), new PlayerFactory(new AttackGenerator(), new LegalGenerator()));
+    Perft perft = new Perft(generator(), new PlayerFactory(new AttackGenerator(), generator()));
+
+    // The generator under test, overridden to run the same results against other generators
+    MoveGenerator generator() {
+        return new LegalGenerator();
+    }
 
     // https://www.chessprogramming.org/Perft_Results#Initial_Position
     @Test
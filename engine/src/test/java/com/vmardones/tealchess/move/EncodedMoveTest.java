@@ -0,0 +1,53 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.move;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.piece.PieceType;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import org.junit.jupiter.api.Test;
+
+final class EncodedMoveTest {
+
+    @Test
+    void encode() {
+        var move = EncodedMove.encode(DOUBLE_PUSH, e2, e4);
+
+        assertThat(EncodedMove.source(move)).isEqualTo(e2);
+        assertThat(EncodedMove.destination(move)).isEqualTo(e4);
+        assertThat(EncodedMove.type(move)).isEqualTo(DOUBLE_PUSH);
+        assertThat(EncodedMove.isPromotion(move)).isFalse();
+        assertThat(EncodedMove.promotionChoice(move)).isNull();
+    }
+
+    @Test
+    void encodePromotion() {
+        var move = EncodedMove.encode(PAWN_CAPTURE, g7, h8, PromotionChoice.ROOK);
+
+        assertThat(EncodedMove.isPromotion(move)).isTrue();
+        assertThat(EncodedMove.promotionType(move)).isEqualTo(PieceType.ROOK.ordinal());
+        assertThat(EncodedMove.promotionChoice(move)).isEqualTo(PromotionChoice.ROOK);
+    }
+
+    @Test
+    void roundTrip() {
+        for (var choice : PromotionChoice.values()) {
+            var move = new Move(PAWN_PUSH, a7, a8, choice);
+            assertThat(EncodedMove.decode(EncodedMove.encode(move))).isEqualTo(move);
+        }
+
+        var castle = Move.BLACK_LONG_CASTLE_STEPS.getFirst();
+        assertThat(EncodedMove.decode(EncodedMove.encode(castle))).isEqualTo(castle);
+    }
+
+    @Test
+    void noneIsNotAMove() {
+        assertThat(EncodedMove.source(EncodedMove.NONE)).isEqualTo(EncodedMove.destination(EncodedMove.NONE));
+    }
+}
@@ -10,7 +10,6 @@ import static org.assertj.core.api.Assertions.assertThat;
 
 import com.vmardones.tealchess.generator.AttackGenerator;
 import com.vmardones.tealchess.generator.LegalGenerator;
-import com.vmardones.tealchess.move.MoveMaker;
 import com.vmardones.tealchess.player.PlayerFactory;
 import org.junit.jupiter.api.Test;
 
@@ -18,8 +17,7 @@ import org.junit.jupiter.api.Test;
 // TODO: Test more perft functions in trivial cases
 final class PerftTest {
 
-    Perft perft = new Perft(
-            new LegalGenerator(), new MoveMaker(), new PlayerFactory(new AttackGenerator(), new LegalGenerator()));
+    Perft perft = new Perft(new LegalGenerator(), new PlayerFactory(new AttackGenerator(), new LegalGenerator()));
 
     @Test
     void simplePerft() {
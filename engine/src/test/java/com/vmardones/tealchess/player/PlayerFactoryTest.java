@@ -32,4 +32,12 @@ final class PlayerFactoryTest {
         assertThat(blackPlayer.status()).isEqualTo(PlayerStatus.OK);
         assertThat(blackPlayer.legals()).isEmpty();
     }
+
+    @Test
+    void samePositionSamePlayers() {
+        var position = FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+
+        assertThat(playerFactory.create(position, BLACK)).isEqualTo(playerFactory.create(position, BLACK));
+        assertThat(playerFactory.create(position, BLACK)).isNotEqualTo(playerFactory.create(position, WHITE));
+    }
 }
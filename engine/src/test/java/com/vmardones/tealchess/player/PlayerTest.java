@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.player;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.move.MoveType.DOUBLE_PUSH;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import com.vmardones.tealchess.move.Move;
+import org.junit.jupiter.api.Test;
+
+final class PlayerTest {
+
+    int generations;
+    int attackChecks;
+
+    @Test
+    void lazyLegals() {
+        var player = createPlayer(List.of(new Move(DOUBLE_PUSH, e2, e4)), false);
+        assertThat(generations).isZero();
+
+        assertThat(player.legals()).hasSize(1);
+        assertThat(player.legals()).hasSize(1);
+        assertThat(generations).isOne();
+        assertThat(attackChecks).isZero();
+    }
+
+    @Test
+    void lazyStatus() {
+        var player = createPlayer(List.of(), true);
+        assertThat(attackChecks).isZero();
+
+        assertThat(player.status()).isEqualTo(PlayerStatus.CHECKMATED);
+        assertThat(player.status()).isEqualTo(PlayerStatus.CHECKMATED);
+        assertThat(attackChecks).isOne();
+        assertThat(generations).isOne();
+    }
+
+    @Test
+    void waitingPlayer() {
+        var player = Player.waiting(WHITE);
+
+        assertThat(player.legals()).isEmpty();
+        assertThat(player.status()).isEqualTo(PlayerStatus.OK);
+        assertThat(player).hasToString("White player");
+    }
+
+    @Test
+    void equalsByValue() {
+        var legals = List.of(new Move(DOUBLE_PUSH, e2, e4));
+        var lazy = createPlayer(legals, false);
+        var known = new Player(WHITE, legals, PlayerStatus.OK);
+
+        assertThat(lazy).isEqualTo(known).hasSameHashCodeAs(known);
+        assertThat(lazy).isNotEqualTo(new Player(BLACK, legals, PlayerStatus.OK));
+        assertThat(lazy).isNotEqualTo(Player.waiting(WHITE));
+    }
+
+    private Player createPlayer(List<Move> legals, boolean attacked) {
+        return new Player(
+                WHITE,
+                () -> {
+                    generations++;
+                    return legals;
+                },
+                () -> {
+                    attackChecks++;
+                    return attacked;
+                });
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.position;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.position.Position.INITIAL_POSITION;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.move.MoveMaker;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class ZobristTest {
+
+    MoveMaker moveMaker = new MoveMaker();
+
+    @Test
+    void incrementalKey() {
+        var position = moveMaker.make(INITIAL_POSITION, new Move(DOUBLE_PUSH, e2, e4));
+        var parsed = FenParser.parse("rnbqkbnr/pppppppp/8/8/4P3/8/PPPP1PPP/RNBQKBNR b KQkq e3 0 1");
+
+        assertThat(position.hash()).isEqualTo(parsed.hash());
+    }
+
+    @Test
+    void transposition() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(NORMAL, g1, f3));
+        board.make(new Move(NORMAL, g8, f6));
+        board.make(new Move(NORMAL, b1, c3));
+        var firstKey = board.hash();
+
+        board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(NORMAL, b1, c3));
+        board.make(new Move(NORMAL, g8, f6));
+        board.make(new Move(NORMAL, g1, f3));
+
+        assertThat(board.hash()).isEqualTo(firstKey);
+    }
+
+    @Test
+    void unmakeRestoresKey() {
+        var board = new SearchBoard(INITIAL_POSITION);
+        board.make(new Move(NORMAL, g1, f3));
+        board.unmake();
+
+        assertThat(board.hash()).isEqualTo(INITIAL_POSITION.hash());
+    }
+
+    @Test
+    void sideToMoveChangesKey() {
+        var white = FenParser.parse("4k3/8/8/8/8/8/8/4K3 w - - 0 1");
+        var black = FenParser.parse("4k3/8/8/8/8/8/8/4K3 b - - 0 1");
+
+        assertThat(white.hash()).isNotEqualTo(black.hash());
+    }
+
+    @Test
+    void castlingRightsChangeKey() {
+        var withRights = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w KQkq - 0 1");
+        var withoutRights = FenParser.parse("r3k2r/8/8/8/8/8/8/R3K2R w Kkq - 0 1");
+
+        assertThat(withRights.hash()).isNotEqualTo(withoutRights.hash());
+    }
+
+    @Test
+    void enPassantChangesKey() {
+        var withTarget = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - e6 0 2");
+        var withoutTarget = FenParser.parse("4k3/8/8/3Pp3/8/8/8/4K3 w - - 0 2");
+
+        assertThat(withTarget.hash()).isNotEqualTo(withoutTarget.hash());
+    }
+}
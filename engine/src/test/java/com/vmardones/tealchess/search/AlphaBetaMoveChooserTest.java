@@ -0,0 +1,216 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vmardones.tealchess.evaluation.MaterialEvaluator;
+import com.vmardones.tealchess.game.Game;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class AlphaBetaMoveChooserTest {
+
+    GameMemento initialState = new Game(emptyMap()).memento();
+
+    @Test
+    void findsMateInOne() {
+        var position = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 3);
+
+        assertThat(chooser.chooseMove(state)).isEqualTo(new Move(NORMAL, a1, a8));
+        assertThat(chooser.bestScore()).isEqualTo(AlphaBetaMoveChooser.MATE_SCORE - 1);
+    }
+
+    @Test
+    void winsMaterial() {
+        var position = FenParser.parse("4k3/8/8/3q4/8/8/8/3RK3 w - - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2);
+
+        assertThat(chooser.chooseMove(state)).isEqualTo(new Move(CAPTURE, d1, d5));
+    }
+
+    @Test
+    void avoidsDefendedCaptures() {
+        var position = FenParser.parse("4k3/8/2p5/3p4/8/8/8/3QK3 w - - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 1);
+
+        // Without quiescence search, the queen would take the pawn and ignore the recapture
+        assertThat(chooser.chooseMove(state)).isNotEqualTo(new Move(CAPTURE, d1, d5));
+        assertThat(chooser.bestScore()).isPositive();
+    }
+
+    @Test
+    void visitsFewerNodesThanNegamax() {
+        var alphaBeta = new AlphaBetaMoveChooser(new MaterialEvaluator(), 3);
+        var negamax = new NegamaxMoveChooser(new MaterialEvaluator(), 3);
+
+        alphaBeta.chooseMove(initialState);
+        negamax.chooseMove(initialState);
+
+        assertThat(alphaBeta.nodes()).isPositive().isLessThan(negamax.nodes());
+    }
+
+    @Test
+    void featuresReduceNodes() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var plain = new AlphaBetaMoveChooser(new MaterialEvaluator(), 5).features(SearchFeatures.NONE);
+        var enhanced = new AlphaBetaMoveChooser(new MaterialEvaluator(), 5);
+
+        assertThat(enhanced.features()).isEqualTo(SearchFeatures.ALL);
+        assertThat(enhanced.chooseMove(state)).isEqualTo(plain.chooseMove(state));
+        assertThat(enhanced.bestScore()).isEqualTo(plain.bestScore());
+        assertThat(enhanced.nodes()).isLessThan(plain.nodes());
+    }
+
+    @Test
+    void findsMateWithEveryFeature() {
+        var position = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+
+        for (var features : new SearchFeatures[] {
+            SearchFeatures.NONE.withPrincipalVariationSearch(true),
+            SearchFeatures.NONE.withAspirationWindows(true),
+            SearchFeatures.NONE.withNullMovePruning(true),
+            SearchFeatures.NONE.withLateMoveReductions(true)
+        }) {
+            var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 4).features(features);
+
+            assertThat(chooser.chooseMove(state)).isEqualTo(new Move(NORMAL, a1, a8));
+            assertThat(chooser.bestScore()).isEqualTo(AlphaBetaMoveChooser.MATE_SCORE - 1);
+        }
+    }
+
+    @Test
+    void sharesTranspositionTable() {
+        var table = new TranspositionTable(1);
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 4, table);
+
+        chooser.chooseMove(initialState);
+
+        assertThat(chooser.transpositionTable()).isSameAs(table);
+        assertThat(table.hitRate()).isPositive();
+        assertThat(table.fillRatio()).isPositive();
+    }
+
+    @Test
+    void parallelSearch() {
+        var position = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 4, new TranspositionTable(1), 3);
+
+        assertThat(chooser.chooseMove(state)).isEqualTo(new Move(NORMAL, a1, a8));
+        assertThat(chooser.bestScore()).isEqualTo(AlphaBetaMoveChooser.MATE_SCORE - 1);
+        assertThat(chooser.threads()).isEqualTo(3);
+    }
+
+    @Test
+    void stopsAtNodeLimit() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2);
+        var limits = new SearchLimits(0, 0, 0, 0, 0, 0, 0, 5000, false);
+
+        assertThat(chooser.chooseMove(state, limits)).isNotNull();
+        assertThat(chooser.nodes()).isLessThan(5000 + 1024);
+    }
+
+    @Test
+    void parallelNodeLimit() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2, new TranspositionTable(1), 3);
+        var limits = new SearchLimits(0, 0, 0, 0, 0, 0, 0, 20_000, false);
+
+        assertThat(chooser.chooseMove(state, limits)).isNotNull();
+        assertThat(chooser.nodes()).isLessThan(20_000 + 3 * 1024);
+    }
+
+    @Test
+    void stopsAtMoveTime() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2);
+
+        var start = System.nanoTime();
+        chooser.chooseMove(state, SearchLimits.ofMoveTime(200));
+
+        assertThat(System.nanoTime() - start).isLessThan(2_000_000_000L);
+    }
+
+    @Test
+    void stopsWhenClockRanOut() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2);
+        var limits = new SearchLimits(0, 5000, 0, 0, 0, 0, 0, 0, false);
+
+        var start = System.nanoTime();
+        assertThat(chooser.chooseMove(state, limits)).isNotNull();
+
+        assertThat(System.nanoTime() - start).isLessThan(2_000_000_000L);
+    }
+
+    @Test
+    void stopFromOtherThread() throws InterruptedException {
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 2);
+        var infinite = new SearchLimits(0, 0, 0, 0, 0, 0, 0, 0, true);
+
+        var search = Thread.ofPlatform().start(() -> chooser.chooseMove(initialState, infinite));
+        Thread.sleep(100);
+        chooser.stop();
+        search.join(5000);
+
+        assertThat(search.isAlive()).isFalse();
+    }
+
+    @Test
+    void lateStopIsIgnored() {
+        var position = FenParser.parse("r3k2r/p1ppqpb1/bn2pnp1/3PN3/1p2P3/2N2Q1p/PPPBBPPP/R3K2R w KQkq - 0 1");
+        var state = new Game(emptyMap(), position).memento();
+        var stopped = new AlphaBetaMoveChooser(new MaterialEvaluator(), 4);
+        var fresh = new AlphaBetaMoveChooser(new MaterialEvaluator(), 4);
+
+        stopped.chooseMove(initialState, SearchLimits.ofDepth(1));
+        stopped.stop();
+        stopped.transpositionTable().clear();
+
+        assertThat(stopped.chooseMove(state)).isEqualTo(fresh.chooseMove(state));
+        assertThat(stopped.nodes()).isEqualTo(fresh.nodes());
+    }
+
+    @Test
+    void depthLimit() {
+        var chooser = new AlphaBetaMoveChooser(new MaterialEvaluator(), 5);
+        chooser.chooseMove(initialState, SearchLimits.ofDepth(1));
+
+        assertThat(chooser.nodes()).isLessThan(100);
+    }
+
+    @Test
+    void invalidThreads() {
+        var evaluator = new MaterialEvaluator();
+        var table = new TranspositionTable(1);
+        assertThatThrownBy(() -> new AlphaBetaMoveChooser(evaluator, 1, table, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void invalidDepth() {
+        var evaluator = new MaterialEvaluator();
+        assertThatThrownBy(() -> new AlphaBetaMoveChooser(evaluator, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
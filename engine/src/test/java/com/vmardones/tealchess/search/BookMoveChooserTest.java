@@ -0,0 +1,67 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.SplittableRandom;
+
+import com.vmardones.tealchess.book.PolyglotBook;
+import com.vmardones.tealchess.book.PolyglotKey;
+import com.vmardones.tealchess.evaluation.MaterialEvaluator;
+import com.vmardones.tealchess.game.Game;
+import com.vmardones.tealchess.game.GameMemento;
+import com.vmardones.tealchess.move.Move;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import com.vmardones.tealchess.position.Position;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+final class BookMoveChooserTest {
+
+    PolyglotKey key = new PolyglotKey(new SplittableRandom(781).longs(PolyglotKey.RANDOM_NUMBERS).toArray());
+    Position position = FenParser.parse("6k1/5ppp/8/8/8/8/8/R5K1 w - - 0 1");
+    GameMemento state = new Game(emptyMap(), position).memento();
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void playsBookMove() throws IOException {
+        // The book prefers a quiet move over the mate in one that the search would find
+        var chooser = new BookMoveChooser(
+                writeBook(key.hash(position), g1, f1), new AlphaBetaMoveChooser(new MaterialEvaluator(), 2));
+
+        assertThat(chooser.chooseMove(state)).isEqualTo(new Move(NORMAL, g1, f1));
+    }
+
+    @Test
+    void searchesOutOfBook() throws IOException {
+        var chooser = new BookMoveChooser(
+                writeBook(key.hash(position) + 1, g1, f1), new AlphaBetaMoveChooser(new MaterialEvaluator(), 2));
+
+        assertThat(chooser.chooseMove(state)).isEqualTo(new Move(NORMAL, a1, a8));
+        assertThat(chooser.bookMove(state)).isNull();
+    }
+
+    private PolyglotBook writeBook(long positionKey, int source, int destination) throws IOException {
+        var entry = ByteBuffer.allocate(16)
+                .putLong(positionKey)
+                .putShort((short) (source << 6 | destination))
+                .putShort((short) 1)
+                .putInt(0)
+                .array();
+
+        return PolyglotBook.open(Files.write(directory.resolve("book.bin"), entry), key);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.vmardones.tealchess.board.SearchBoard;
+import com.vmardones.tealchess.generator.MaskedLegalGenerator;
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.move.MoveList;
+import com.vmardones.tealchess.parser.fen.FenParser;
+import org.junit.jupiter.api.Test;
+
+final class MoveOrdererTest {
+
+    MoveOrderer orderer = new MoveOrderer();
+    SearchBoard board = new SearchBoard(FenParser.parse("4k3/8/1r3q2/3N4/8/8/3P4/4K3 w - - 0 1"));
+
+    @Test
+    void hashMoveFirst() {
+        var hashMove = EncodedMove.encode(NORMAL, e1, e2);
+        assertThat(pickAll(hashMove).getFirst()).isEqualTo(hashMove);
+    }
+
+    @Test
+    void capturesByMvvLva() {
+        var ordered = pickAll(EncodedMove.NONE);
+
+        // The queen is the most valuable victim, then the rook
+        assertThat(ordered.subList(0, 2))
+                .containsExactly(EncodedMove.encode(CAPTURE, d5, f6), EncodedMove.encode(CAPTURE, d5, b6));
+    }
+
+    @Test
+    void killersBeforeQuietMoves() {
+        var killer = EncodedMove.encode(NORMAL, e1, d1);
+        var otherKiller = EncodedMove.encode(NORMAL, d5, b4);
+
+        orderer.cutoff(board, otherKiller, 1);
+        orderer.cutoff(board, killer, 1);
+
+        assertThat(pickAll(EncodedMove.NONE).subList(2, 4)).containsExactly(killer, otherKiller);
+    }
+
+    @Test
+    void capturesAreNotLearned() {
+        var expected = pickAll(EncodedMove.NONE);
+        orderer.cutoff(board, EncodedMove.encode(CAPTURE, d5, b6), 5);
+
+        assertThat(pickAll(EncodedMove.NONE)).isEqualTo(expected);
+    }
+
+    @Test
+    void historyOrdersQuietMoves() {
+        var shallowCutoff = EncodedMove.encode(NORMAL, d5, e3);
+        var deepCutoff = EncodedMove.encode(NORMAL, d5, c3);
+
+        // Cutoffs at other plies update the history, but not the killers of this ply
+        board.make(EncodedMove.encode(NORMAL, e1, e2));
+        board.make(EncodedMove.encode(NORMAL, e8, d8));
+        orderer.cutoff(board, shallowCutoff, 1);
+        orderer.cutoff(board, deepCutoff, 3);
+        board.unmake();
+        board.unmake();
+
+        assertThat(pickAll(EncodedMove.NONE).subList(2, 4)).containsExactly(deepCutoff, shallowCutoff);
+    }
+
+    @Test
+    void newSearchForgetsKillers() {
+        var expected = pickAll(EncodedMove.NONE);
+        orderer.cutoff(board, EncodedMove.encode(NORMAL, e1, d1), 1);
+        orderer.newSearch();
+
+        assertThat(pickAll(EncodedMove.NONE)).isEqualTo(expected);
+    }
+
+    private List<Integer> pickAll(int hashMove) {
+        var moves = new MoveList();
+        new MaskedLegalGenerator().generate(board, moves);
+
+        var scores = new int[MoveList.MAX_MOVES];
+        orderer.score(board, moves, scores, hashMove);
+
+        var ordered = new ArrayList<Integer>();
+
+        for (var i = 0; i < moves.size(); i++) {
+            ordered.add(MoveOrderer.pick(moves, scores, i));
+        }
+
+        return ordered;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.color.Color.BLACK;
+import static com.vmardones.tealchess.color.Color.WHITE;
+import static com.vmardones.tealchess.search.TimeManager.NO_LIMIT;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+final class TimeManagerTest {
+
+    @Test
+    void noLimits() {
+        var timeManager = new TimeManager(SearchLimits.NONE, WHITE);
+
+        assertThat(timeManager.softLimit()).isEqualTo(NO_LIMIT);
+        assertThat(timeManager.hardLimit()).isEqualTo(NO_LIMIT);
+        assertThat(timeManager.isHardLimitReached()).isFalse();
+    }
+
+    @Test
+    void infiniteIgnoresClock() {
+        var limits = new SearchLimits(60_000, 60_000, 0, 0, 0, 0, 0, 0, true);
+        assertThat(new TimeManager(limits, WHITE).hardLimit()).isEqualTo(NO_LIMIT);
+    }
+
+    @Test
+    void moveTime() {
+        var timeManager = new TimeManager(SearchLimits.ofMoveTime(1000), WHITE);
+
+        assertThat(timeManager.softLimit()).isEqualTo(timeManager.hardLimit()).isBetween(900L, 1000L);
+    }
+
+    @Test
+    void clockOfSideToMove() {
+        var limits = new SearchLimits(60_000, 6000, 0, 0, 0, 0, 0, 0, false);
+
+        assertThat(new TimeManager(limits, WHITE).softLimit()).isEqualTo(2000);
+        assertThat(new TimeManager(limits, BLACK).softLimit()).isEqualTo(200);
+    }
+
+    @Test
+    void hardLimitIsLonger() {
+        var limits = new SearchLimits(60_000, 60_000, 1000, 1000, 0, 0, 0, 0, false);
+        var timeManager = new TimeManager(limits, WHITE);
+
+        assertThat(timeManager.softLimit()).isEqualTo(2750);
+        assertThat(timeManager.hardLimit()).isEqualTo(11_000);
+    }
+
+    @Test
+    void neverExceedsClock() {
+        var limits = new SearchLimits(1000, 1000, 5000, 5000, 1, 0, 0, 0, false);
+        var timeManager = new TimeManager(limits, WHITE);
+
+        assertThat(timeManager.softLimit()).isLessThan(1000);
+        assertThat(timeManager.hardLimit()).isLessThan(1000);
+    }
+
+    @Test
+    void clockRanOut() {
+        var limits = new SearchLimits(0, 5000, 0, 0, 0, 0, 0, 0, false);
+        var timeManager = new TimeManager(limits, WHITE);
+
+        assertThat(timeManager.softLimit()).isEqualTo(1);
+        assertThat(timeManager.hardLimit()).isEqualTo(1);
+        assertThat(limits.isTimed(WHITE)).isFalse();
+        assertThat(limits.isTimed(BLACK)).isTrue();
+    }
+
+    @Test
+    void elapsedTime() throws InterruptedException {
+        var timeManager = new TimeManager(SearchLimits.ofMoveTime(25), WHITE);
+        Thread.sleep(30);
+
+        assertThat(timeManager.elapsed()).isGreaterThanOrEqualTo(5);
+        assertThat(timeManager.isSoftLimitReached()).isTrue();
+        assertThat(timeManager.isHardLimitReached()).isTrue();
+    }
+}
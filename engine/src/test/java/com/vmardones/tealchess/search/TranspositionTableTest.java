@@ -0,0 +1,127 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.search;
+
+import static com.vmardones.tealchess.move.MoveType.*;
+import static com.vmardones.tealchess.search.TranspositionTable.MISS;
+import static com.vmardones.tealchess.square.Square.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.vmardones.tealchess.move.EncodedMove;
+import com.vmardones.tealchess.piece.PromotionChoice;
+import com.vmardones.tealchess.search.TranspositionTable.Bound;
+import org.junit.jupiter.api.Test;
+
+final class TranspositionTableTest {
+
+    TranspositionTable table = new TranspositionTable(1);
+
+    @Test
+    void capacity() {
+        assertThat(table.capacity()).isEqualTo(65536);
+    }
+
+    @Test
+    void invalidSize() {
+        assertThatThrownBy(() -> new TranspositionTable(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void storeAndProbe() {
+        var key = 0x1234_5678_9abc_def0L;
+        var move = EncodedMove.encode(PAWN_CAPTURE, g7, h8, PromotionChoice.QUEEN);
+        table.store(key, -99_950, 12, Bound.LOWER, move);
+
+        var entry = table.probe(key);
+
+        assertThat(entry).isNotEqualTo(MISS);
+        assertThat(TranspositionTable.move(entry)).isEqualTo(move);
+        assertThat(TranspositionTable.score(entry)).isEqualTo(-99_950);
+        assertThat(TranspositionTable.depth(entry)).isEqualTo(12);
+        assertThat(TranspositionTable.bound(entry)).isEqualTo(Bound.LOWER);
+    }
+
+    @Test
+    void missOnOtherKey() {
+        table.store(1L, 35, 3, Bound.EXACT, EncodedMove.NONE);
+
+        assertThat(table.probe(2L)).isEqualTo(MISS);
+        assertThat(table.probe(1L + table.capacity())).isEqualTo(MISS);
+    }
+
+    @Test
+    void keepsDeeperEntries() {
+        var key = 42L;
+        var otherKey = key + table.capacity();
+
+        table.store(key, 10, 6, Bound.EXACT, EncodedMove.NONE);
+        table.store(otherKey, 20, 2, Bound.EXACT, EncodedMove.NONE);
+
+        assertThat(table.probe(key)).isNotEqualTo(MISS);
+        assertThat(table.probe(otherKey)).isEqualTo(MISS);
+
+        table.store(otherKey, 20, 6, Bound.EXACT, EncodedMove.NONE);
+        assertThat(table.probe(key)).isEqualTo(MISS);
+        assertThat(table.probe(otherKey)).isNotEqualTo(MISS);
+    }
+
+    @Test
+    void replacesOldSearches() {
+        var key = 42L;
+        var otherKey = key + table.capacity();
+
+        table.store(key, 10, 6, Bound.EXACT, EncodedMove.NONE);
+        table.newSearch();
+        table.store(otherKey, 20, 2, Bound.EXACT, EncodedMove.NONE);
+
+        assertThat(table.probe(otherKey)).isNotEqualTo(MISS);
+    }
+
+    @Test
+    void keepsMoveOfSamePosition() {
+        var key = 42L;
+        var move = EncodedMove.encode(NORMAL, g1, f3);
+
+        table.store(key, 10, 4, Bound.LOWER, move);
+        table.store(key, 5, 5, Bound.UPPER, EncodedMove.NONE);
+
+        assertThat(TranspositionTable.move(table.probe(key))).isEqualTo(move);
+    }
+
+    @Test
+    void hitRate() {
+        table.store(1L, 0, 1, Bound.EXACT, EncodedMove.NONE);
+        table.probe(1L);
+        table.probe(2L);
+
+        assertThat(table.hitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void fillRatio() {
+        assertThat(table.fillRatio()).isZero();
+
+        for (var key = 0L; key < 100; key++) {
+            table.store(key, 0, 1, Bound.EXACT, EncodedMove.NONE);
+        }
+
+        assertThat(table.fillRatio()).isEqualTo(0.1);
+
+        table.newSearch();
+        assertThat(table.fillRatio()).isZero();
+    }
+
+    @Test
+    void clear() {
+        table.store(1L, 0, 1, Bound.EXACT, EncodedMove.NONE);
+        table.probe(1L);
+        table.clear();
+
+        assertThat(table.probe(1L)).isEqualTo(MISS);
+        assertThat(table.fillRatio()).isZero();
+    }
+}
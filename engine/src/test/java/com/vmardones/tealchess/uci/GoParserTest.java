@@ -0,0 +1,49 @@
+/*
+ * Copyright (C) 2023  Víctor Mardones
+ * The full notice can be found at README.md in the root directory.
+ */
+
+package com.vmardones.tealchess.uci;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.vmardones.tealchess.search.SearchLimits;
+import org.junit.jupiter.api.Test;
+
+final class GoParserTest {
+
+    @Test
+    void noParameters() {
+        assertThat(GoParser.parse("")).isEqualTo(SearchLimits.NONE);
+    }
+
+    @Test
+    void clock() {
+        var limits = GoParser.parse(" wtime 300000 btime 295000 winc 2000 binc 2000 movestogo 40");
+
+        assertThat(limits).isEqualTo(new SearchLimits(300_000, 295_000, 2000, 2000, 40, 0, 0, 0, false));
+    }
+
+    @Test
+    void fixedLimits() {
+        assertThat(GoParser.parse("movetime 500")).isEqualTo(SearchLimits.ofMoveTime(500));
+        assertThat(GoParser.parse("depth 7")).isEqualTo(SearchLimits.ofDepth(7));
+        assertThat(GoParser.parse("nodes 100000").nodes()).isEqualTo(100_000);
+    }
+
+    @Test
+    void infinite() {
+        assertThat(GoParser.parse("infinite").infinite()).isTrue();
+    }
+
+    @Test
+    void negativeTime() {
+        assertThat(GoParser.parse("wtime -150 btime 1000").whiteTime()).isZero();
+    }
+
+    @Test
+    void ignoresUnknownParameters() {
+        var limits = GoParser.parse("ponder searchmoves e2e4 depth x movetime 500");
+        assertThat(limits).isEqualTo(SearchLimits.ofMoveTime(500));
+    }
+}